@@ -1,8 +1,10 @@
 package bridge;
 
 import bridge.chat.ChatBridge;
+import bridge.chunks.ChunksBridge;
 import bridge.entities.EntitiesBridge;
 import bridge.materials.MaterialsBridge;
+import bridge.packets.PacketsBridge;
 
 /**
  * A basic bridge.
@@ -37,4 +39,18 @@ public interface Bridge {
      */
     EntitiesBridge entities();
 
+    /**
+     * The bridge for packets
+     *
+     * @return the {@link PacketsBridge}
+     */
+    PacketsBridge packets();
+
+    /**
+     * The bridge for chunks
+     *
+     * @return the {@link ChunksBridge}
+     */
+    ChunksBridge chunks();
+
 }
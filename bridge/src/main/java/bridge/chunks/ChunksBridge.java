@@ -0,0 +1,32 @@
+package bridge.chunks;
+
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+
+/**
+ * Reads blocks straight from the NMS chunk sections.
+ * Bukkit blocks go through the chunk provider, which waits on the main thread when read from another thread on newer versions.
+ * Reading the sections never loads a chunk or waits.
+ */
+public interface ChunksBridge {
+
+    /**
+     * Get the NMS handle of a chunk, main thread only.
+     *
+     * @param chunk the chunk
+     * @return the handle
+     */
+    Object handle(Chunk chunk);
+
+    /**
+     * Get the type of a block, safe to call from any thread.
+     *
+     * @param chunk the handle from {@link #handle(Chunk)}
+     * @param x     X within the chunk
+     * @param y     Y, within the world height
+     * @param z     Z within the chunk
+     * @return the type, {@link Material#AIR} if the section is empty.
+     */
+    Material type(Object chunk, int x, int y, int z);
+
+}
@@ -0,0 +1,82 @@
+package bridge.materials;
+
+/**
+ * Material property flags, precomputed per {@link org.bukkit.Material} by each {@link MaterialsBridge}.
+ */
+public final class MaterialFlags {
+
+    /**
+     * The material is considered solid, walls are never solid.
+     */
+    public static final short SOLID = 1;
+
+    /**
+     * The material is a liquid
+     */
+    public static final short LIQUID = 1 << 1;
+
+    /**
+     * The material is ice
+     */
+    public static final short ICE = 1 << 2;
+
+    /**
+     * The material can be climbed
+     */
+    public static final short CLIMBABLE = 1 << 3;
+
+    /**
+     * The material is a slab
+     */
+    public static final short SLAB = 1 << 4;
+
+    /**
+     * The material is a stair
+     */
+    public static final short STAIR = 1 << 5;
+
+    /**
+     * The material is a fence
+     */
+    public static final short FENCE = 1 << 6;
+
+    /**
+     * The material is a fence gate
+     */
+    public static final short FENCE_GATE = 1 << 7;
+
+    /**
+     * The material is a wall
+     */
+    public static final short WALL = 1 << 8;
+
+    /**
+     * The material is a trapdoor
+     */
+    public static final short TRAPDOOR = 1 << 9;
+
+    /**
+     * Check if the flags contain the flag
+     *
+     * @param flags the flags
+     * @param flag  the flag
+     * @return {@code true} if so
+     */
+    public static boolean has(int flags, int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Compute the {@link #SOLID} flag from the shape flags
+     *
+     * @param flags         the flags so far
+     * @param materialSolid if the material reports itself as solid
+     * @return the flags, including {@link #SOLID} if applicable.
+     */
+    public static short withSolid(short flags, boolean materialSolid) {
+        if (has(flags, WALL)) return flags;
+        if (materialSolid || has(flags, SLAB | STAIR | FENCE | FENCE_GATE | TRAPDOOR)) return (short) (flags | SOLID);
+        return flags;
+    }
+
+}
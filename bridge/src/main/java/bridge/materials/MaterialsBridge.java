@@ -9,13 +9,34 @@ import org.bukkit.inventory.ItemStack;
  */
 public interface MaterialsBridge {
 
+    /**
+     * Get the precomputed {@link MaterialFlags} for a material
+     *
+     * @param material the material
+     * @return the flags
+     */
+    short flags(Material material);
+
+    /**
+     * Get the precomputed {@link MaterialFlags} for a block.
+     * One lookup answers every material predicate.
+     *
+     * @param block the block
+     * @return the flags
+     */
+    default short flags(Block block) {
+        return flags(block.getType());
+    }
+
     /**
      * Check if a block is a fence
      *
      * @param block the block
      * @return {@code true} if so
      */
-    boolean isFence(Block block);
+    default boolean isFence(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.FENCE);
+    }
 
     /**
      * Check if a block is a slab
@@ -23,7 +44,9 @@ public interface MaterialsBridge {
      * @param block the block
      * @return {@code true} if so
      */
-    boolean isSlab(Block block);
+    default boolean isSlab(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.SLAB);
+    }
 
     /**
      * Check if a block is a stair
@@ -31,7 +54,9 @@ public interface MaterialsBridge {
      * @param block the block
      * @return {@code true} if so
      */
-    boolean isStair(Block block);
+    default boolean isStair(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.STAIR);
+    }
 
     /**
      * Check if a block is a fence gate
@@ -39,7 +64,9 @@ public interface MaterialsBridge {
      * @param block the block
      * @return {@code true} if so
      */
-    boolean isFenceGate(Block block);
+    default boolean isFenceGate(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.FENCE_GATE);
+    }
 
     /**
      * Check if this block is a climbable
@@ -47,7 +74,9 @@ public interface MaterialsBridge {
      * @param block the block
      * @return {@code true} if so
      */
-    boolean isClimbable(Block block);
+    default boolean isClimbable(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.CLIMBABLE);
+    }
 
     /**
      * Check if this block is a liquid
@@ -55,7 +84,9 @@ public interface MaterialsBridge {
      * @param block the block
      * @return {@code true} if so
      */
-    boolean isLiquid(Block block);
+    default boolean isLiquid(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.LIQUID);
+    }
 
     /**
      * Check if the block is a trapdoor
@@ -63,7 +94,9 @@ public interface MaterialsBridge {
      * @param block the block
      * @return {@code true} if so
      */
-    boolean isTrapdoor(Block block);
+    default boolean isTrapdoor(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.TRAPDOOR);
+    }
 
     /**
      * Check if the block is ice
@@ -71,7 +104,9 @@ public interface MaterialsBridge {
      * @param block the ice
      * @return {@code true} if so
      */
-    boolean isIce(Block block);
+    default boolean isIce(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.ICE);
+    }
 
     /**
      * Check if the block is a wall block
@@ -79,7 +114,9 @@ public interface MaterialsBridge {
      * @param block the block
      * @return {@code true} if so
      */
-    boolean isWall(Block block);
+    default boolean isWall(Block block) {
+        return MaterialFlags.has(flags(block), MaterialFlags.WALL);
+    }
 
     /**
      * Get a material
@@ -117,8 +154,7 @@ public interface MaterialsBridge {
      * @return {@code true} if so
      */
     default boolean isSolid(Block block) {
-        if (isWall(block)) return false;
-        return block.getType().isSolid() || isSlab(block) || isStair(block) || isFence(block) || isFenceGate(block) || isTrapdoor(block);
+        return MaterialFlags.has(flags(block), MaterialFlags.SOLID);
     }
 
 }
@@ -0,0 +1,44 @@
+package bridge.packets;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Resolves field getters for NMS packets.
+ * Fields are found by type and declaration order, the same way ProtocolLib indexes them,
+ * so obfuscated names do not matter.
+ * Store the result in a {@code final} field, resolved once, rather than looking it up per packet.
+ */
+public final class FieldAccessors {
+
+    /**
+     * Get a getter for a field, the returned handle accepts an {@link Object}
+     *
+     * @param owner the class declaring the field
+     * @param type  the field type
+     * @param index the index of the field among fields of the same type
+     * @return the getter
+     * @throws IllegalStateException if the field does not exist
+     */
+    public static MethodHandle getter(Class<?> owner, Class<?> type, int index) {
+        int current = 0;
+        for (Field field : owner.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.getType() != type) continue;
+            if (current++ != index) continue;
+
+            try {
+                field.setAccessible(true);
+                return MethodHandles.lookup()
+                        .unreflectGetter(field)
+                        .asType(MethodType.methodType(type, Object.class));
+            } catch (IllegalAccessException exception) {
+                throw new IllegalStateException("Cannot access " + owner.getSimpleName() + "." + field.getName(), exception);
+            }
+        }
+        throw new IllegalStateException("No " + type.getSimpleName() + " field at index " + index + " in " + owner.getSimpleName());
+    }
+
+}
@@ -0,0 +1,84 @@
+package bridge.packets;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Reads the fields of the NMS {@code PacketPlayInFlying}, shared by every version.
+ * Each bridge passes its own NMS class, the getters are resolved once per server version.
+ */
+public final class FlyingPackets implements PacketsBridge {
+
+    /**
+     * Getters for the flying packet fields.
+     */
+    private final MethodHandle x, y, z, yaw, pitch, onGround;
+
+    /**
+     * Initialize
+     *
+     * @param flying the NMS {@code PacketPlayInFlying} class
+     */
+    public FlyingPackets(Class<?> flying) {
+        x = FieldAccessors.getter(flying, double.class, 0);
+        y = FieldAccessors.getter(flying, double.class, 1);
+        z = FieldAccessors.getter(flying, double.class, 2);
+        yaw = FieldAccessors.getter(flying, float.class, 0);
+        pitch = FieldAccessors.getter(flying, float.class, 1);
+        onGround = FieldAccessors.getter(flying, boolean.class, 0);
+    }
+
+    @Override
+    public double x(Object packet) {
+        try {
+            return (double) x.invokeExact(packet);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    @Override
+    public double y(Object packet) {
+        try {
+            return (double) y.invokeExact(packet);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    @Override
+    public double z(Object packet) {
+        try {
+            return (double) z.invokeExact(packet);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    @Override
+    public float yaw(Object packet) {
+        try {
+            return (float) yaw.invokeExact(packet);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    @Override
+    public float pitch(Object packet) {
+        try {
+            return (float) pitch.invokeExact(packet);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    @Override
+    public boolean onGround(Object packet) {
+        try {
+            return (boolean) onGround.invokeExact(packet);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+}
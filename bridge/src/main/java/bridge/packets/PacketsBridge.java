@@ -0,0 +1,45 @@
+package bridge.packets;
+
+/**
+ * Reads fields straight from NMS packets, without a wrapper or ProtocolLib reflection.
+ * Every method accepts the NMS handle of any flying packet, flying, position, position look or look.
+ */
+public interface PacketsBridge {
+
+    /**
+     * @param packet the NMS packet
+     * @return X
+     */
+    double x(Object packet);
+
+    /**
+     * @param packet the NMS packet
+     * @return Y
+     */
+    double y(Object packet);
+
+    /**
+     * @param packet the NMS packet
+     * @return Z
+     */
+    double z(Object packet);
+
+    /**
+     * @param packet the NMS packet
+     * @return yaw
+     */
+    float yaw(Object packet);
+
+    /**
+     * @param packet the NMS packet
+     * @return pitch
+     */
+    float pitch(Object packet);
+
+    /**
+     * @param packet the NMS packet
+     * @return the client ground state
+     */
+    boolean onGround(Object packet);
+
+}
@@ -1,8 +1,9 @@
 package bridge1_15.materials;
 
+import bridge.materials.MaterialFlags;
 import bridge.materials.MaterialsBridge;
 import org.bukkit.Material;
-import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.*;
 import org.bukkit.inventory.ItemStack;
 
@@ -11,50 +12,60 @@ import org.bukkit.inventory.ItemStack;
  */
 public final class Materials implements MaterialsBridge {
 
-    @Override
-    public boolean isFence(Block block) {
-        return block.getState() instanceof Fence;
-    }
-
-    @Override
-    public boolean isSlab(Block block) {
-        return block.getState() instanceof Slab;
-    }
-
-    @Override
-    public boolean isStair(Block block) {
-        return block.getState() instanceof Stairs;
-    }
-
-    @Override
-    public boolean isFenceGate(Block block) {
-        return block.getState() instanceof Gate;
-    }
+    /**
+     * Material flags, indexed by material ordinal.
+     * Every block state of a material shares the same flags so the ordinal is enough.
+     */
+    private final short[] flags;
 
-    @Override
-    public boolean isClimbable(Block block) {
-        return block.getState() instanceof Ladder
-                || block.getType() == Material.VINE;
+    public Materials() {
+        final Material[] materials = Material.values();
+        flags = new short[materials.length];
+        for (Material material : materials) {
+            if (material.isLegacy() || !material.isBlock()) continue;
+            flags[material.ordinal()] = computeFlags(material);
+        }
     }
 
-    @Override
-    public boolean isLiquid(Block block) {
-        return block.isLiquid();
-    }
+    /**
+     * Compute the flags for a material
+     *
+     * @param material the material
+     * @return the flags
+     */
+    private short computeFlags(Material material) {
+        short flags = 0;
+        final BlockData data = material.createBlockData();
+        if (data instanceof Fence) flags |= MaterialFlags.FENCE;
+        if (data instanceof Slab) flags |= MaterialFlags.SLAB;
+        if (data instanceof Stairs) flags |= MaterialFlags.STAIR;
+        if (data instanceof Gate) flags |= MaterialFlags.FENCE_GATE;
+        if (data instanceof TrapDoor) flags |= MaterialFlags.TRAPDOOR;
+        if (data instanceof Ladder) flags |= MaterialFlags.CLIMBABLE;
+        // there is no wall block data before 1.16
+        if (material.name().endsWith("_WALL")) flags |= MaterialFlags.WALL;
 
-    @Override
-    public boolean isTrapdoor(Block block) {
-        return block.getState() instanceof TrapDoor;
-    }
-
-    @Override
-    public boolean isIce(Block block) {
-        return block.getType() == Material.ICE || block.getType() == Material.PACKED_ICE || block.getType() == Material.BLUE_ICE || block.getType() == Material.FROSTED_ICE;
+        switch (material) {
+            case VINE:
+                flags |= MaterialFlags.CLIMBABLE;
+                break;
+            case WATER:
+            case LAVA:
+                flags |= MaterialFlags.LIQUID;
+                break;
+            case ICE:
+            case PACKED_ICE:
+            case BLUE_ICE:
+            case FROSTED_ICE:
+                flags |= MaterialFlags.ICE;
+                break;
+        }
+        return MaterialFlags.withSolid(flags, material.isSolid());
     }
 
     @Override
-    public boolean isWall(Block block) {
-        return isFence(block);
+    public short flags(Material material) {
+        return flags[material.ordinal()];
     }
 
     @Override
@@ -2,12 +2,17 @@ package bridge1_16;
 
 import bridge.Bridge;
 import bridge.chat.ChatBridge;
+import bridge.chunks.ChunksBridge;
 import bridge.entities.EntitiesBridge;
 import bridge.materials.MaterialsBridge;
+import bridge.packets.FlyingPackets;
+import bridge.packets.PacketsBridge;
 import bridge.Version;
 import bridge1_16.chat.Chat;
+import bridge1_16.chunks.Chunks;
 import bridge1_16.entities.Entities;
 import bridge1_16.materials.Materials;
+import net.minecraft.server.v1_16_R3.PacketPlayInFlying;
 
 /**
  * Current bridge for 1.16
@@ -29,6 +34,16 @@ public final class Bridge116 implements Bridge {
      */
     public static final Entities ENTITIES = new Entities();
 
+    /**
+     * Packets for 1.16
+     */
+    public static final PacketsBridge PACKETS = new FlyingPackets(PacketPlayInFlying.class);
+
+    /**
+     * Chunks for 1.16
+     */
+    public static final Chunks CHUNKS = new Chunks();
+
     @Override
     public Version version() {
         return Version.VERSION_1_16;
@@ -48,4 +63,14 @@ public final class Bridge116 implements Bridge {
     public EntitiesBridge entities() {
         return ENTITIES;
     }
+
+    @Override
+    public PacketsBridge packets() {
+        return PACKETS;
+    }
+
+    @Override
+    public ChunksBridge chunks() {
+        return CHUNKS;
+    }
 }
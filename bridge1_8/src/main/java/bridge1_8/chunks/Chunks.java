@@ -0,0 +1,27 @@
+package bridge1_8.chunks;
+
+import bridge.chunks.ChunksBridge;
+import net.minecraft.server.v1_8_R3.ChunkSection;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.craftbukkit.v1_8_R3.CraftChunk;
+import org.bukkit.craftbukkit.v1_8_R3.util.CraftMagicNumbers;
+
+/**
+ * Chunks for 1.8
+ */
+public final class Chunks implements ChunksBridge {
+
+    @Override
+    public Object handle(Chunk chunk) {
+        return ((CraftChunk) chunk).getHandle();
+    }
+
+    @Override
+    public Material type(Object chunk, int x, int y, int z) {
+        final ChunkSection section = ((net.minecraft.server.v1_8_R3.Chunk) chunk).getSections()[y >> 4];
+        if (section == null) return Material.AIR;
+        return CraftMagicNumbers.getMaterial(section.getType(x, y & 15, z).getBlock());
+    }
+
+}
@@ -1,8 +1,8 @@
 package bridge1_8.materials;
 
+import bridge.materials.MaterialFlags;
 import bridge.materials.MaterialsBridge;
 import org.bukkit.Material;
-import org.bukkit.block.Block;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.Gate;
 import org.bukkit.material.Stairs;
@@ -15,9 +15,26 @@ import org.bukkit.material.TrapDoor;
 @SuppressWarnings("Deprecated")
 public final class Materials implements MaterialsBridge {
 
-    @Override
-    public boolean isFence(Block block) {
-        switch (block.getType()) {
+    /**
+     * Material flags, indexed by material ordinal.
+     */
+    private final short[] flags;
+
+    public Materials() {
+        final Material[] materials = Material.values();
+        flags = new short[materials.length];
+        for (Material material : materials) flags[material.ordinal()] = computeFlags(material);
+    }
+
+    /**
+     * Compute the flags for a material
+     *
+     * @param material the material
+     * @return the flags
+     */
+    private short computeFlags(Material material) {
+        short flags = 0;
+        switch (material) {
             case FENCE:
             case BIRCH_FENCE:
             case DARK_OAK_FENCE:
@@ -26,49 +43,38 @@ public final class Materials implements MaterialsBridge {
             case NETHER_FENCE:
             case SPRUCE_FENCE:
             case ACACIA_FENCE:
-                return true;
+                flags |= MaterialFlags.FENCE;
+                break;
+            case LADDER:
+            case VINE:
+                flags |= MaterialFlags.CLIMBABLE;
+                break;
+            case WATER:
+            case STATIONARY_WATER:
+            case LAVA:
+            case STATIONARY_LAVA:
+                flags |= MaterialFlags.LIQUID;
+                break;
+            case ICE:
+            case PACKED_ICE:
+                flags |= MaterialFlags.ICE;
+                break;
+            case COBBLE_WALL:
+                flags |= MaterialFlags.WALL;
+                break;
         }
-        return false;
-    }
-
-    @Override
-    public boolean isSlab(Block block) {
-        return block.getType().getData().equals(Step.class);
-    }
-
-    @Override
-    public boolean isStair(Block block) {
-        return block.getType().getData().equals(Stairs.class);
-    }
-
-    @Override
-    public boolean isFenceGate(Block block) {
-        return block.getType().getData().equals(Gate.class);
-    }
-
-    @Override
-    public boolean isClimbable(Block block) {
-        return block.getType() == Material.LADDER || block.getType() == Material.VINE;
-    }
-
-    @Override
-    public boolean isLiquid(Block block) {
-        return block.isLiquid();
-    }
-
-    @Override
-    public boolean isTrapdoor(Block block) {
-        return block.getType().getData().equals(TrapDoor.class);
-    }
 
-    @Override
-    public boolean isIce(Block block) {
-        return block.getType() == Material.ICE || block.getType() == Material.PACKED_ICE;
+        final Class<?> data = material.getData();
+        if (Step.class.equals(data)) flags |= MaterialFlags.SLAB;
+        if (Stairs.class.equals(data)) flags |= MaterialFlags.STAIR;
+        if (Gate.class.equals(data)) flags |= MaterialFlags.FENCE_GATE;
+        if (TrapDoor.class.equals(data)) flags |= MaterialFlags.TRAPDOOR;
+        return MaterialFlags.withSolid(flags, material.isSolid());
     }
 
     @Override
-    public boolean isWall(Block block) {
-        return block.getType() == Material.COBBLE_WALL;
+    public short flags(Material material) {
+        return flags[material.ordinal()];
     }
 
     @Override
@@ -1,16 +1,27 @@
 package arc;
 
+import arc.api.dispatch.EventDispatcher;
 import arc.check.CheckManager;
 import arc.command.ArcCommand;
 import arc.configuration.ArcConfiguration;
-import arc.data.Data;
+import arc.data.PlayerContext;
 import arc.exemption.ExemptionManager;
+import arc.heartbeat.Heartbeat;
+import arc.latency.LatencyService;
 import arc.listener.combat.CombatPacketListener;
 import arc.listener.connection.PlayerConnectionListener;
 import arc.listener.moving.MovingPacketListener;
 import arc.listener.player.PlayerListener;
+import arc.listener.world.WorldListener;
+import arc.packet.PacketDispatcher;
+import arc.packet.limiter.PacketLimiter;
 import arc.punishment.PunishmentManager;
+import arc.replay.ReplayManager;
+import arc.timings.TimingsManager;
+import arc.tps.TpsHelper;
+import arc.tracking.EntityTracker;
 import arc.violation.ViolationManager;
+import arc.world.ChunkManager;
 import bridge.Bridge;
 import bridge.Version;
 import bridge1_15.Bridge115;
@@ -74,6 +85,56 @@ public final class Arc extends JavaPlugin {
      */
     private final PunishmentManager punishmentManager = new PunishmentManager();
 
+    /**
+     * Timings manager.
+     */
+    private final TimingsManager timingsManager = new TimingsManager();
+
+    /**
+     * Chunk manager.
+     */
+    private final ChunkManager chunkManager = new ChunkManager();
+
+    /**
+     * Event dispatcher.
+     */
+    private final EventDispatcher eventDispatcher = new EventDispatcher();
+
+    /**
+     * Replay manager.
+     */
+    private final ReplayManager replayManager = new ReplayManager();
+
+    /**
+     * Packet dispatcher.
+     */
+    private final PacketDispatcher packetDispatcher = new PacketDispatcher();
+
+    /**
+     * Packet limiter.
+     */
+    private final PacketLimiter packetLimiter = new PacketLimiter();
+
+    /**
+     * Heartbeat.
+     */
+    private final Heartbeat heartbeat = new Heartbeat();
+
+    /**
+     * Latency service.
+     */
+    private final LatencyService latencyService = new LatencyService();
+
+    /**
+     * Entity tracker.
+     */
+    private final EntityTracker entityTracker = new EntityTracker();
+
+    /**
+     * TPS helper.
+     */
+    private final TpsHelper tpsHelper = new TpsHelper();
+
     /**
      * The protocol manager.
      */
@@ -99,6 +160,17 @@ public final class Arc extends JavaPlugin {
 
         getLogger().info("Registering checks and listeners...");
         loadExternalPlugins();
+        packetLimiter.initialize(arcConfiguration);
+        packetDispatcher.initialize(protocolManager, packetLimiter);
+        timingsManager.initialize(arcConfiguration);
+        replayManager.initialize(arcConfiguration);
+        chunkManager.initialize();
+        entityTracker.initialize();
+        eventDispatcher.initialize();
+        heartbeat.initialize();
+        tpsHelper.initialize(arcConfiguration);
+        exemptionManager.initialize(heartbeat);
+        latencyService.initialize(arcConfiguration, packetDispatcher, heartbeat);
         checkManager.initialize();
         violationManager.initialize(arcConfiguration);
         punishmentManager.initialize(arcConfiguration);
@@ -121,9 +193,19 @@ public final class Arc extends JavaPlugin {
         violationManager.close();
         checkManager.close();
         punishmentManager.close();
+        timingsManager.close();
+        replayManager.close();
+        chunkManager.close();
+        entityTracker.close();
+        eventDispatcher.close();
+        latencyService.close();
+        tpsHelper.close();
+        packetDispatcher.close();
+        packetLimiter.close();
+        heartbeat.close();
         unregisterListeners();
 
-        Bukkit.getOnlinePlayers().forEach(Data::removeAll);
+        PlayerContext.clear();
         arc = null;
     }
 
@@ -131,11 +213,15 @@ public final class Arc extends JavaPlugin {
      * Register all listeners
      */
     private void registerListeners() {
-        getServer().getPluginManager().registerEvents(new PlayerConnectionListener(), this);
+        final PlayerConnectionListener connectionListener = new PlayerConnectionListener();
+        getServer().getPluginManager().registerEvents(connectionListener, this);
+        // players that are already online, from a reload.
+        Bukkit.getOnlinePlayers().forEach(connectionListener::initializePlayer);
         getServer().getPluginManager().registerEvents(new PlayerListener(), this);
+        getServer().getPluginManager().registerEvents(new WorldListener(), this);
 
-        new MovingPacketListener().register(protocolManager);
-        new CombatPacketListener().register(protocolManager);
+        new MovingPacketListener().register(packetDispatcher);
+        new CombatPacketListener().register(packetDispatcher);
     }
 
     /**
@@ -272,6 +358,76 @@ public final class Arc extends JavaPlugin {
         return punishmentManager;
     }
 
+    /**
+     * @return the timings manager
+     */
+    public TimingsManager timings() {
+        return timingsManager;
+    }
+
+    /**
+     * @return the chunk manager
+     */
+    public ChunkManager chunks() {
+        return chunkManager;
+    }
+
+    /**
+     * @return the event dispatcher
+     */
+    public EventDispatcher events() {
+        return eventDispatcher;
+    }
+
+    /**
+     * @return the replay manager
+     */
+    public ReplayManager replays() {
+        return replayManager;
+    }
+
+    /**
+     * @return the packet dispatcher
+     */
+    public PacketDispatcher packets() {
+        return packetDispatcher;
+    }
+
+    /**
+     * @return the packet limiter
+     */
+    public PacketLimiter limiter() {
+        return packetLimiter;
+    }
+
+    /**
+     * @return the heartbeat
+     */
+    public Heartbeat heartbeat() {
+        return heartbeat;
+    }
+
+    /**
+     * @return the latency service
+     */
+    public LatencyService latency() {
+        return latencyService;
+    }
+
+    /**
+     * @return the entity tracker
+     */
+    public EntityTracker tracker() {
+        return entityTracker;
+    }
+
+    /**
+     * @return the TPS helper
+     */
+    public TpsHelper tps() {
+        return tpsHelper;
+    }
+
     /**
      * @return the protocol manager
      */
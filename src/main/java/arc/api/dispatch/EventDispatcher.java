@@ -0,0 +1,310 @@
+package arc.api.dispatch;
+
+import arc.Arc;
+import arc.api.events.PlayerViolationEvent;
+import arc.check.Check;
+import arc.check.CheckSubType;
+import arc.check.CheckType;
+import arc.check.result.CheckResult;
+import bridge.Version;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Dispatches API events to the main thread.
+ * Events from other threads are placed in a bounded queue that is drained once per tick in batches.
+ * On 1.8, or if already on the main thread, events are called inline.
+ */
+public final class EventDispatcher implements Closeable {
+
+    /**
+     * The max amount of events that can be queued.
+     */
+    private static final int MAX_QUEUE_SIZE = 8192;
+
+    /**
+     * The max amount of events dispatched per tick.
+     */
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    /**
+     * The queue
+     */
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Violations waiting for dispatch, by player and check.
+     */
+    private final Map<ViolationKey, PendingViolation> pendingViolations = new ConcurrentHashMap<>();
+
+    /**
+     * The current and max queue depth.
+     */
+    private final AtomicInteger depth = new AtomicInteger(), maxDepth = new AtomicInteger();
+
+    /**
+     * Events dispatched
+     * Events dropped because the queue was full
+     * Violations coalesced into a pending violation
+     */
+    private final LongAdder dispatched = new LongAdder(), dropped = new LongAdder(), coalesced = new LongAdder();
+
+    /**
+     * If events should always be called inline.
+     */
+    private boolean inline;
+
+    /**
+     * The drain task
+     */
+    private BukkitTask drainTask;
+
+    /**
+     * Initialize
+     */
+    public void initialize() {
+        inline = !Arc.version().isNewerThan(Version.VERSION_1_8);
+        drainTask = Bukkit.getScheduler().runTaskTimer(Arc.plugin(), this::drain, 1, 1);
+    }
+
+    /**
+     * @return {@code true} if events can be called right now on this thread.
+     */
+    public boolean canCallInline() {
+        return inline || Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Dispatch an event.
+     *
+     * @param event the event
+     */
+    public void dispatch(Event event) {
+        dispatch(event, null);
+    }
+
+    /**
+     * Dispatch an event and then invoke {@code then} once the event has been processed.
+     * If the queue is full the event is dropped and {@code then} is invoked on this thread with the event un-fired.
+     *
+     * @param event the event
+     * @param then  the action to run after, can be {@code null}
+     * @param <E>   the event type
+     */
+    public <E extends Event> void dispatch(E event, Consumer<E> then) {
+        if (canCallInline()) {
+            call(event);
+            if (then != null) then.accept(event);
+            return;
+        }
+
+        final boolean queued = offer(() -> {
+            call(event);
+            if (then != null) then.accept(event);
+        });
+
+        if (!queued) {
+            dropped.increment();
+            if (then != null) then.accept(event);
+        }
+    }
+
+    /**
+     * Dispatch a {@link PlayerViolationEvent} for a violation.
+     * Violations for the same player and check that are still pending are coalesced,
+     * only one event is fired with the latest level.
+     * The callback is invoked on the main thread with whether the event was cancelled.
+     * If the queue is full the callback is invoked on this thread as if the event was not cancelled.
+     *
+     * @param player   the player
+     * @param check    the check
+     * @param result   the result
+     * @param level    the level
+     * @param callback the callback
+     */
+    public void dispatchViolation(Player player, Check check, CheckResult result, int level, BiConsumer<PendingViolation, Boolean> callback) {
+        final ViolationKey key = new ViolationKey(player.getUniqueId(), check.type(), result.hasSubType() ? result.subType() : null);
+        final PendingViolation pending = pendingViolations.compute(key, (k, existing) -> {
+            if (existing == null) return new PendingViolation(player, check, result, level);
+            existing.merge(result, level);
+            coalesced.increment();
+            return existing;
+        });
+
+        // already queued, coalesced.
+        if (!pending.queued.compareAndSet(false, true)) return;
+
+        final boolean queued = offer(() -> {
+            // remove first so anything after this is queued again
+            pendingViolations.remove(key, pending);
+            final PlayerViolationEvent event = new PlayerViolationEvent(player, check.type(), pending.lastLevel(), pending.result());
+            call(event);
+            callback.accept(pending, event.isCancelled());
+        });
+
+        if (!queued) {
+            pendingViolations.remove(key, pending);
+            dropped.increment();
+            callback.accept(pending, false);
+        }
+    }
+
+    /**
+     * Offer a task to the queue
+     *
+     * @param task the task
+     * @return {@code false} if the queue is full.
+     */
+    private boolean offer(Runnable task) {
+        final int size = depth.incrementAndGet();
+        if (size > MAX_QUEUE_SIZE) {
+            depth.decrementAndGet();
+            return false;
+        }
+
+        queue.offer(task);
+        int max;
+        while (size > (max = maxDepth.get())) {
+            if (maxDepth.compareAndSet(max, size)) break;
+        }
+        return true;
+    }
+
+    /**
+     * Drain a batch of queued events
+     */
+    private void drain() {
+        for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+            final Runnable task = queue.poll();
+            if (task == null) break;
+            depth.decrementAndGet();
+
+            try {
+                task.run();
+            } catch (Exception exception) {
+                Arc.arc().getLogger().log(Level.WARNING, "Failed to dispatch an event", exception);
+            }
+        }
+    }
+
+    /**
+     * Call an event
+     *
+     * @param event the event
+     */
+    private void call(Event event) {
+        Bukkit.getServer().getPluginManager().callEvent(event);
+        dispatched.increment();
+    }
+
+    /**
+     * @return the current queue depth
+     */
+    public int depth() {
+        return depth.get();
+    }
+
+    /**
+     * @return the max queue depth
+     */
+    public int maxDepth() {
+        return maxDepth.get();
+    }
+
+    /**
+     * @return the amount of events dispatched
+     */
+    public long dispatched() {
+        return dispatched.sum();
+    }
+
+    /**
+     * @return the amount of events dropped because the queue was full
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the amount of violations coalesced
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Reset metrics
+     */
+    public void resetMetrics() {
+        maxDepth.set(depth.get());
+        dispatched.reset();
+        dropped.reset();
+        coalesced.reset();
+    }
+
+    @Override
+    public void close() {
+        if (drainTask != null) drainTask.cancel();
+        drainTask = null;
+        queue.clear();
+        pendingViolations.clear();
+        depth.set(0);
+    }
+
+    /**
+     * Identifies a pending violation
+     */
+    private static final class ViolationKey {
+
+        /**
+         * The player
+         */
+        private final UUID player;
+
+        /**
+         * The check
+         */
+        private final CheckType check;
+
+        /**
+         * The sub-type, {@code null} if none.
+         * Cancelling an event reverses the sub-type level, so each sub-type is coalesced on its own.
+         */
+        private final CheckSubType subType;
+
+        private ViolationKey(UUID player, CheckType check, CheckSubType subType) {
+            this.player = player;
+            this.check = check;
+            this.subType = subType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof ViolationKey)) return false;
+            final ViolationKey key = (ViolationKey) other;
+            return check == key.check && subType == key.subType && player.equals(key.player);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(player, check, subType);
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package arc.api.dispatch;
+
+import arc.check.Check;
+import arc.check.result.CheckResult;
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A violation waiting for its {@link arc.api.events.PlayerViolationEvent} to be fired.
+ * Repeated violations for the same player, check and sub-type are coalesced into one.
+ */
+public final class PendingViolation {
+
+    /**
+     * The player
+     */
+    private final Player player;
+
+    /**
+     * The check
+     */
+    private final Check check;
+
+    /**
+     * The first level
+     */
+    private final int firstLevel;
+
+    /**
+     * The latest level
+     * The amount of violations coalesced into this one.
+     */
+    private int lastLevel, count;
+
+    /**
+     * The latest result
+     */
+    private CheckResult result;
+
+    /**
+     * If this violation has been queued.
+     */
+    final AtomicBoolean queued = new AtomicBoolean();
+
+    PendingViolation(Player player, Check check, CheckResult result, int level) {
+        this.player = player;
+        this.check = check;
+        this.result = result;
+        this.firstLevel = level;
+        this.lastLevel = level;
+        this.count = 1;
+    }
+
+    /**
+     * Merge another violation into this one.
+     *
+     * @param result the result
+     * @param level  the level
+     */
+    void merge(CheckResult result, int level) {
+        this.result = result;
+        this.lastLevel = level;
+        this.count++;
+    }
+
+    /**
+     * @return the player
+     */
+    public Player player() {
+        return player;
+    }
+
+    /**
+     * @return the check
+     */
+    public Check check() {
+        return check;
+    }
+
+    /**
+     * @return the latest result
+     */
+    public CheckResult result() {
+        return result;
+    }
+
+    /**
+     * @return the first violation level
+     */
+    public int firstLevel() {
+        return firstLevel;
+    }
+
+    /**
+     * @return the latest violation level
+     */
+    public int lastLevel() {
+        return lastLevel;
+    }
+
+    /**
+     * @return the amount of violations coalesced into this one
+     */
+    public int count() {
+        return count;
+    }
+
+}
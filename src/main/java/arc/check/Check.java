@@ -6,14 +6,17 @@ import arc.configuration.ArcConfiguration;
 import arc.configuration.Configurable;
 import arc.configuration.check.CheckConfiguration;
 import arc.configuration.check.CheckConfigurationBuilder;
+import arc.data.PlayerContext;
 import arc.exemption.ExemptionManager;
 import arc.exemption.type.ExemptionType;
+import arc.heartbeat.Heartbeat;
+import arc.timings.TimingsManager;
 import arc.violation.ViolationManager;
 import arc.violation.result.ViolationResult;
 import bridge.Version;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
+
+import java.util.function.Consumer;
 
 /**
  * Represents a check.
@@ -30,6 +33,11 @@ public abstract class Check extends Configurable {
      */
     private static final ViolationManager VIOLATION_MANAGER = Arc.arc().violations();
 
+    /**
+     * Timings
+     */
+    private static final TimingsManager TIMINGS_MANAGER = Arc.arc().timings();
+
     /**
      * The check type
      */
@@ -46,9 +54,9 @@ public abstract class Check extends Configurable {
     protected CheckConfiguration configuration;
 
     /**
-     * The scheduled task.
+     * The scheduled heartbeat work.
      */
-    protected BukkitTask scheduled;
+    private Heartbeat.Registration scheduled;
 
     /**
      * If this check is permanently disabled.
@@ -214,14 +222,26 @@ public abstract class Check extends Configurable {
     }
 
     /**
-     * Schedule
+     * Process the check result.
+     *
+     * @param context the player context
+     * @param result  the result
+     */
+    protected ViolationResult checkViolation(PlayerContext context, CheckResult result) {
+        if (result.failed()) return VIOLATION_MANAGER.violation(context, this, result);
+        return ViolationResult.EMPTY;
+    }
+
+    /**
+     * Schedule periodic work for each player with the heartbeat.
+     * Exempt players are skipped.
      *
-     * @param runnable the runnable
-     * @param every    timer
-     * @param delay    initial delay
+     * @param work  the work
+     * @param every the period in ticks, rounded to whole seconds.
      */
-    protected void schedule(Runnable runnable, long delay, long every) {
-        scheduled = Bukkit.getScheduler().runTaskTimer(Arc.plugin(), runnable, delay, every);
+    protected void schedule(Consumer<PlayerContext> work, long every) {
+        cancelScheduled();
+        scheduled = Arc.arc().heartbeat().register(this, every, work);
     }
 
     /**
@@ -234,6 +254,16 @@ public abstract class Check extends Configurable {
         return EXEMPTION_MANAGER.isPlayerExempt(player, checkType);
     }
 
+    /**
+     * Check if the player is exempt
+     *
+     * @param context the player context
+     * @return {@code true} if so
+     */
+    public boolean exempt(PlayerContext context) {
+        return EXEMPTION_MANAGER.isPlayerExempt(context, checkType);
+    }
+
     /**
      * Check if the player is exempt
      *
@@ -245,6 +275,17 @@ public abstract class Check extends Configurable {
         return EXEMPTION_MANAGER.isPlayerExempt(player, subType);
     }
 
+    /**
+     * Check if the player is exempt
+     *
+     * @param context the player context
+     * @param subType the check sub-type
+     * @return {@code true} if so
+     */
+    protected boolean exempt(PlayerContext context, CheckSubType subType) {
+        return EXEMPTION_MANAGER.isPlayerExempt(context, subType);
+    }
+
     /**
      * Check if a player is exempt
      *
@@ -256,6 +297,35 @@ public abstract class Check extends Configurable {
         return EXEMPTION_MANAGER.isPlayerExempt(player, type);
     }
 
+    /**
+     * Check if a player is exempt
+     *
+     * @param context the player context
+     * @param type    the type
+     * @return {@code true} if so
+     */
+    protected boolean exempt(PlayerContext context, ExemptionType type) {
+        return EXEMPTION_MANAGER.isPlayerExempt(context, type);
+    }
+
+    /**
+     * Start timing this check
+     *
+     * @return the start time, pass to {@link #stopTiming(long)}
+     */
+    public long startTiming() {
+        return TIMINGS_MANAGER.start();
+    }
+
+    /**
+     * Stop timing this check
+     *
+     * @param start the start time from {@link #startTiming()}
+     */
+    public void stopTiming(long start) {
+        TIMINGS_MANAGER.stop(checkType, start);
+    }
+
     /**
      * Disables this check if the {@link Version} is newer than {@code Version.VERSION_1_8}
      *
@@ -272,26 +342,34 @@ public abstract class Check extends Configurable {
     @Override
     public void reload(ArcConfiguration configuration) {
         if (permanentlyDisabled) return;
-        unload();
+        final boolean wasEnabled = this.configuration.enabled();
 
+        // listeners and scheduled work stay registered, only the settings are replaced.
         this.configuration.reload(configuration);
         if (this.configuration.enabled()) {
-            reloadConfig();
+            if (wasEnabled) {
+                reloadConfig();
+            } else {
+                load();
+            }
+        } else if (wasEnabled) {
+            unload();
         }
     }
 
     /**
      * Reload the check implementation config.
+     * The check is still running, implementations should replace their settings in a single write.
      */
     public abstract void reloadConfig();
 
     /**
-     * Load the check
+     * Load the check, register listeners and scheduled work.
      */
     public abstract void load();
 
     /**
-     * Unload the check if needed.
+     * Unload the check if needed, invoked when the check is disabled.
      */
     public void unload() {
     }
@@ -328,9 +406,8 @@ public abstract class Check extends Configurable {
      * Cancel the scheduled task.
      */
     protected void cancelScheduled() {
-        if (scheduled != null
-                && Bukkit.getScheduler().isCurrentlyRunning(scheduled.getTaskId())) {
-            scheduled.cancel();
+        if (scheduled != null) {
+            Arc.arc().heartbeat().unregister(scheduled);
             scheduled = null;
         }
     }
@@ -33,6 +33,7 @@ public final class CheckManager extends Configurable implements Closeable {
     public void initialize() {
         add(new Criticals());
         add(new MorePackets());
+        add(new Timer());
         add(new NoFall());
         add(new PayloadFrequency());
         add(new SwingFrequency());
@@ -26,6 +26,11 @@ public enum CheckType {
      */
     MORE_PACKETS("MorePackets", CheckCategory.MOVING),
 
+    /**
+     * Checks if the player is sending movement packets faster than the client ticks.
+     */
+    TIMER("Timer", CheckCategory.MOVING),
+
     /**
      * Checks if the player is sending too many swing packets.
      */
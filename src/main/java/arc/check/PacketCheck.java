@@ -1,15 +1,13 @@
 package arc.check;
 
 import arc.Arc;
+import arc.packet.HandlerCost;
+import arc.packet.PacketDispatcher;
+import arc.packet.PacketHandler;
 import com.comphenix.protocol.PacketType;
-import com.comphenix.protocol.events.ListenerPriority;
-import com.comphenix.protocol.events.PacketAdapter;
-import com.comphenix.protocol.events.PacketEvent;
-import com.comphenix.protocol.events.PacketListener;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.function.Consumer;
 
 /**
  * Represents a check that is packet level.
@@ -19,7 +17,7 @@ public abstract class PacketCheck extends Check {
     /**
      * The listeners.
      */
-    private final Set<PacketListener> listeners = new HashSet<>();
+    private final Set<PacketDispatcher.Registration<?>> listeners = new HashSet<>();
 
     /**
      * Initialize this check
@@ -32,42 +30,22 @@ public abstract class PacketCheck extends Check {
 
     /**
      * Register a packet listener.
+     * Exempt players are skipped and the handler is timed.
      *
      * @param packetType the packet type
-     * @param consumer   the consumer
+     * @param packet     the decoded packet class
+     * @param cost       the cost of the handler
+     * @param handler    the handler
      */
-    protected void registerPacketListener(PacketType packetType, Consumer<PacketEvent> consumer) {
-        if (packetType.isServer()) {
-            final PacketAdapter serverAdapter = new PacketAdapter(Arc.plugin(), ListenerPriority.HIGHEST, packetType) {
-                @Override
-                public void onPacketSending(PacketEvent event) {
-                    if (!exempt(event.getPlayer())) {
-                        consumer.accept(event);
-                    }
-                }
-            };
-
-            listeners.add(serverAdapter);
-            Arc.arc().protocol().addPacketListener(serverAdapter);
-        } else {
-            final PacketAdapter clientAdapter = new PacketAdapter(Arc.plugin(), ListenerPriority.HIGHEST, packetType) {
-                @Override
-                public void onPacketReceiving(PacketEvent event) {
-                    if (!exempt(event.getPlayer())) {
-                        consumer.accept(event);
-                    }
-                }
-            };
-            listeners.add(clientAdapter);
-            Arc.arc().protocol().addPacketListener(clientAdapter);
-        }
+    protected <T> void registerPacketListener(PacketType packetType, Class<T> packet, HandlerCost cost, PacketHandler<T> handler) {
+        listeners.add(Arc.arc().packets().register(packetType, packet, cost, this, handler));
     }
 
     /**
      * Unregister all packet listeners.
      */
     protected void unregisterPacketListeners() {
-        listeners.forEach(listener -> Arc.arc().protocol().removePacketListener(listener));
+        listeners.forEach(listener -> Arc.arc().packets().unregister(listener));
         listeners.clear();
     }
 
@@ -3,9 +3,10 @@ package arc.check.combat;
 import arc.check.CheckType;
 import arc.check.PacketCheck;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.moving.MovingData;
-import org.bukkit.entity.Player;
-import org.bukkit.potion.PotionEffectType;
+import arc.data.player.PlayerSnapshot;
 
 /**
  * Checks if the player is using criticals while impossible to do so.
@@ -13,15 +14,9 @@ import org.bukkit.potion.PotionEffectType;
 public final class Criticals extends PacketCheck {
 
     /**
-     * The minimum distance allowed.
-     * The similar movement threshold/distance to count
+     * The settings, replaced as a whole on reload.
      */
-    private double minimumDistanceAllowed, minSimilarMovementDifference;
-
-    /**
-     * The maximum amount of no movement allowed.
-     */
-    private int maxNoMovementAllowed, maxSimilarMovementAllowed;
+    private volatile Settings settings;
 
     public Criticals() {
         super(CheckType.CRITICALS);
@@ -45,17 +40,18 @@ public final class Criticals extends PacketCheck {
     /**
      * Check the player
      *
-     * @param player the player
+     * @param context the player context
      * @return if the check should cancel.
      */
-    public boolean check(Player player) {
-        if (exempt(player)) return false;
-        final MovingData data = MovingData.get(player);
+    public boolean check(PlayerContext context) {
+        if (exempt(context)) return false;
+        final Settings settings = this.settings;
+        final MovingData data = context.moving();
         final CheckResult result = new CheckResult();
 
         // first, check if we maybe have a hit.
         // won't always be accurate of-course.
-        final boolean isPossibleCritical = isPossibleCritical(player, data);
+        final boolean isPossibleCritical = isPossibleCritical(context.snapshot(), data);
 
         // check
         if (isPossibleCritical) {
@@ -69,31 +65,31 @@ public final class Criticals extends PacketCheck {
                 final int amount = data.noMovementAmount() + 1;
                 data.noMovementAmount(amount);
 
-                if (amount >= maxNoMovementAllowed) {
+                if (amount >= settings.maxNoMovementAllowed) {
                     result.setFailed("max no movements reached");
                     result.parameter("amount", amount);
-                    result.parameter("max", maxNoMovementAllowed);
+                    result.parameter("max", settings.maxNoMovementAllowed);
                 }
             } else {
                 data.noMovementAmount(data.noMovementAmount() - 1);
             }
 
             // check basic distance
-            if (!result.failed() && (vertical == last) && vertical <= minimumDistanceAllowed) {
+            if (!result.failed() && (vertical == last) && vertical <= settings.minimumDistanceAllowed) {
                 result.setFailed("Vertical less than allowed");
                 result.parameter("vertical", vertical);
-                result.parameter("min", minimumDistanceAllowed);
+                result.parameter("min", settings.minimumDistanceAllowed);
             }
 
             // check similar movements based on difference.
-            if (!result.failed() && difference >= 0.0 && difference <= minSimilarMovementDifference) {
+            if (!result.failed() && difference >= 0.0 && difference <= settings.minSimilarMovementDifference) {
                 final int amount = data.similarMovementAmount() + 1;
                 data.similarMovementAmount(amount);
 
-                if (amount >= maxSimilarMovementAllowed) {
+                if (amount >= settings.maxSimilarMovementAllowed) {
                     result.setFailed("max similar movement amount reached");
                     result.parameter("amount", amount);
-                    result.parameter("max", maxSimilarMovementAllowed);
+                    result.parameter("max", settings.maxSimilarMovementAllowed);
                     result.parameter("diff", difference);
                 }
             } else {
@@ -101,34 +97,55 @@ public final class Criticals extends PacketCheck {
             }
         }
 
-        return checkViolation(player, result).cancel();
+        return checkViolation(context, result).cancel();
     }
 
     /**
      * Check if the hit could be a critical.
      *
-     * @param player the player
-     * @param data   their data
+     * @param snapshot the player state
+     * @param data     their data
      * @return {@code true} if so
      */
-    private boolean isPossibleCritical(Player player, MovingData data) {
+    private boolean isPossibleCritical(PlayerSnapshot snapshot, MovingData data) {
         return !data.clientPositionOnGround()
-                && !player.isInsideVehicle()
-                && !player.hasPotionEffect(PotionEffectType.BLINDNESS)
+                && !snapshot.insideVehicle()
+                && snapshot.blindness() < 0
                 && !data.inLiquid()
                 && !(data.climbing() || data.hasClimbable());
     }
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        minimumDistanceAllowed = configuration.getDouble("minimum-distance-allowed");
-        maxNoMovementAllowed = configuration.getInt("max-no-movement-allowed");
-        maxSimilarMovementAllowed = configuration.getInt("max-similar-movement-allowed");
-        minSimilarMovementDifference = configuration.getDouble("min-similar-movement-difference");
+        reloadConfig();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * The minimum distance allowed.
+         * The similar movement threshold/distance to count
+         */
+        private final double minimumDistanceAllowed, minSimilarMovementDifference;
+
+        /**
+         * The maximum amount of no movement allowed.
+         */
+        private final int maxNoMovementAllowed, maxSimilarMovementAllowed;
+
+        private Settings(CheckConfiguration configuration) {
+            minimumDistanceAllowed = configuration.getDouble("minimum-distance-allowed");
+            maxNoMovementAllowed = configuration.getInt("max-no-movement-allowed");
+            maxSimilarMovementAllowed = configuration.getInt("max-similar-movement-allowed");
+            minSimilarMovementDifference = configuration.getDouble("min-similar-movement-difference");
+        }
     }
 }
@@ -1,15 +1,19 @@
 package arc.check.combat;
 
+import arc.Arc;
 import arc.check.CheckSubType;
 import arc.check.CheckType;
 import arc.check.PacketCheck;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.combat.CombatData;
+import arc.data.moving.MovingData;
+import arc.tracking.EntityHistory;
+import arc.tracking.EntityPosition;
 import arc.utility.entity.Entities;
 import org.bukkit.Location;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.Player;
 
 /**
  * Checks multiple fight related things
@@ -19,10 +23,9 @@ import org.bukkit.entity.Player;
 public final class KillAura extends PacketCheck {
 
     /**
-     * Max yaw and pitch difference allowed.
+     * The settings, replaced as a whole on reload.
      */
-    private float maxYawDifference, maxPitchDifference;
-
+    private volatile Settings settings;
 
     public KillAura() {
         super(CheckType.KILL_AURA);
@@ -45,61 +48,82 @@ public final class KillAura extends PacketCheck {
     /**
      * Invoked when the player attacks
      *
-     * @param player the player
-     * @param entity the entity
+     * @param context the player context
+     * @param entity  the entity
      */
-    public boolean check(Player player, Entity entity) {
-        if (exempt(player)) return false;
+    public boolean check(PlayerContext context, EntityHistory entity) {
+        if (exempt(context)) return false;
 
         // grab a new result, our entity and player data.
         final CheckResult result = new CheckResult();
-        final CombatData data = CombatData.get(player);
+        final CombatData data = context.combat();
 
         // check direction
-        direction(player, entity, result);
+        direction(context, entity, result);
 
         // return result.
-        return checkViolation(player, result).cancel();
+        return checkViolation(context, result).cancel();
     }
 
     /**
      * Check for direction
+     * The entity is compared where the player saw it.
      *
-     * @param player player
-     * @param entity entity
-     * @param result result
+     * @param context the player context
+     * @param entity  entity
+     * @param result  result
      */
-    private void direction(Player player, Entity entity, CheckResult result) {
-        if (exempt(player, CheckSubType.KILL_AURA_DIRECTION)) return;
+    private void direction(PlayerContext context, EntityHistory entity, CheckResult result) {
+        if (exempt(context, CheckSubType.KILL_AURA_DIRECTION)) return;
+        final Settings settings = this.settings;
+
+        final EntityPosition target = Arc.arc().tracker().seenBy(context, entity);
+        if (target == null) return;
 
-        final Location playerLocation = player.getLocation();
-        final Location entityLocation = entity.getLocation();
+        final MovingData data = context.moving();
+        final Location playerLocation = new Location(null, data.toX(), data.toY(), data.toZ(), data.toYaw(), data.toPitch());
+        final Location entityLocation = new Location(null, target.x(), target.y(), target.z());
 
         final float yawToEntity = Entities.getYawToEntity(playerLocation, playerLocation.getYaw(), entityLocation);
-        final float pitchToEntity = Entities.getPitchToEntity(playerLocation, playerLocation.getPitch(), entityLocation, player, entity);
+        final float pitchToEntity = Entities.getPitchToEntity(playerLocation, playerLocation.getPitch(), entityLocation);
 
-        if (yawToEntity >= maxYawDifference) {
+        if (yawToEntity >= settings.maxYawDifference) {
             result.setFailed("Yaw difference greater than allowed.");
             result.parameter("yawToEntity", yawToEntity);
-            result.parameter("maxYawDiff", maxYawDifference);
+            result.parameter("maxYawDiff", settings.maxYawDifference);
         }
 
-        if (pitchToEntity >= maxPitchDifference) {
+        if (pitchToEntity >= settings.maxPitchDifference) {
             result.setFailed("Pitch difference greater than allowed.");
             result.parameter("pitchToEntity", pitchToEntity);
-            result.parameter("maxPitchDiff", maxPitchDifference);
+            result.parameter("maxPitchDiff", settings.maxPitchDifference);
         }
     }
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        final ConfigurationSection directionSection = configuration.subTypeSection(CheckSubType.KILL_AURA_DIRECTION);
-        maxYawDifference = (float) directionSection.getDouble("max-yaw-difference");
-        maxPitchDifference = (float) directionSection.getDouble("max-pitch-difference");
+        reloadConfig();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * Max yaw and pitch difference allowed.
+         */
+        private final float maxYawDifference, maxPitchDifference;
+
+        private Settings(CheckConfiguration configuration) {
+            final ConfigurationSection directionSection = configuration.subTypeSection(CheckSubType.KILL_AURA_DIRECTION);
+            maxYawDifference = (float) directionSection.getDouble("max-yaw-difference");
+            maxPitchDifference = (float) directionSection.getDouble("max-pitch-difference");
+        }
     }
 }
@@ -3,8 +3,8 @@ package arc.check.combat;
 import arc.check.CheckType;
 import arc.check.PacketCheck;
 import arc.check.result.CheckResult;
-import arc.data.combat.CombatData;
-import org.bukkit.entity.Player;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 
 /**
  * Combat check for NoSwing
@@ -12,9 +12,9 @@ import org.bukkit.entity.Player;
 public final class NoSwing extends PacketCheck {
 
     /**
-     * The minimum time allowed to receive a swing packet.
+     * The settings, replaced as a whole on reload.
      */
-    private long swingTime;
+    private volatile Settings settings;
 
     public NoSwing() {
         super(CheckType.NO_SWING);
@@ -30,24 +30,39 @@ public final class NoSwing extends PacketCheck {
                 .build();
 
         addConfigurationValue("swing-time", 100);
+        addConfigurationValue("max-jitter-compensation", 100);
         if (enabled()) load();
     }
 
     /**
      * Check this player for NoSwing
      *
-     * @param player the player
+     * @param context the player context
      */
-    public boolean check(Player player) {
-        if (exempt(player)) return false;
+    public boolean check(PlayerContext context) {
+        return check(context, System.currentTimeMillis());
+    }
 
-        final long delta = (System.currentTimeMillis()) - CombatData.get(player).lastSwingTime();
-        if (delta > swingTime) {
+    /**
+     * Check this player for NoSwing
+     *
+     * @param context the player context
+     * @param now     the time of the attack in milliseconds
+     * @return {@code true} if the attack should be cancelled.
+     */
+    public boolean check(PlayerContext context, long now) {
+        if (exempt(context)) return false;
+
+        // the swing and attack are sent together, only jitter can spread them apart.
+        final long delta = now - context.combat().lastSwingTime();
+        final Settings settings = this.settings;
+        final long allowed = settings.swingTime + Math.min(context.latency().jitterMillis(), settings.maxJitterCompensation);
+        if (delta > allowed) {
             final CheckResult result = new CheckResult();
             result.setFailed("No swing animation within time");
             result.parameter("delta", delta);
-            result.parameter("min", swingTime);
-            return checkViolation(player, result).cancel();
+            result.parameter("min", allowed);
+            return checkViolation(context, result).cancel();
         }
 
         return false;
@@ -55,11 +70,28 @@ public final class NoSwing extends PacketCheck {
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        swingTime = configuration.getLong("swing-time");
+        reloadConfig();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * The minimum time allowed to receive a swing packet.
+         * The most jitter allowed on top of the swing time.
+         */
+        private final long swingTime, maxJitterCompensation;
+
+        private Settings(CheckConfiguration configuration) {
+            swingTime = configuration.getLong("swing-time");
+            maxJitterCompensation = configuration.getLong("max-jitter-compensation");
+        }
     }
 }
@@ -1,38 +1,29 @@
 package arc.check.combat;
 
+import arc.Arc;
 import arc.check.CheckType;
 import arc.check.PacketCheck;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.moving.MovingData;
+import arc.data.player.PlayerSnapshot;
+import arc.tracking.EntityHistory;
+import arc.tracking.EntityPosition;
+import arc.utility.math.MathUtil;
 import org.bukkit.GameMode;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.LivingEntity;
-import org.bukkit.entity.Player;
-import org.bukkit.util.Vector;
 
 /**
  * Checks if the player is attacking from too far away.
- * The default config is optimized to REDUCE false positives.
- * Its not strict what-so-ever.
+ * A ray is cast from the player's eye along their look direction against the entity bounding box,
+ * so the distance is where the attack actually landed rather than the distance between the two entities.
  */
 public final class Reach extends PacketCheck {
 
     /**
-     * Max survival and creative distances.
-     * The default eye height;
+     * The settings, replaced as a whole on reload.
      */
-    private double maxSurvivalDistance, maxCreativeDistance, defaultEyeHeight;
-
-    /**
-     * If the Y axis should be ignored.
-     * If the eye height should be subtracted.
-     */
-    private boolean ignoreVerticalAxis, subtractEyeHeight;
-
-    /**
-     * If velocities should be subtracted.
-     */
-    private boolean subtractPlayerVelocity, subtractEntityVelocity;
+    private volatile Settings settings;
 
     public Reach() {
         super(CheckType.REACH);
@@ -45,79 +36,119 @@ public final class Reach extends PacketCheck {
                 .kick(false)
                 .build();
 
-        addConfigurationValue("max-survival-distance", 4.0);
-        addConfigurationValue("max-creative-distance", 6.5);
-        addConfigurationValue("ignore-vertical-axis", true);
-        addConfigurationValue("subtract-eye-height", true);
-        addConfigurationValue("default-eye-height", 1.75);
-        addConfigurationValue("subtract-player-velocity", true);
-        addConfigurationValue("subtract-entity-velocity", true);
+        addConfigurationValue("max-survival-distance", 3.3);
+        addConfigurationValue("max-creative-distance", 6.3);
+        addConfigurationValue("hitbox-expansion", 0.1);
+        addConfigurationValue("check-direction", true);
+        addConfigurationValue("direction-tolerance", 0.3);
         if (enabled()) load();
     }
 
     /**
      * Invoked when we interact with an entity.
+     * The entity is compared where the player saw it, so latency does not push it further away.
      *
-     * @param player the player
-     * @param entity the entity
+     * @param context the player context
+     * @param entity  the entity
      */
-    public boolean check(Player player, Entity entity) {
-        if (exempt(player)) return false;
-        final MovingData data = MovingData.get(player);
-        final CheckResult result = new CheckResult();
+    public boolean check(PlayerContext context, EntityHistory entity) {
+        if (exempt(context)) return false;
+        final Settings settings = this.settings;
+        final PlayerSnapshot snapshot = context.snapshot();
+        final MovingData data = context.moving();
+
+        final EntityPosition target = Arc.arc().tracker().seenBy(context, entity);
+        if (target == null) return false;
+
+        // the eye position and look direction.
+        final double eyeX = data.toX(), eyeY = data.toY() + snapshot.eyeHeight(), eyeZ = data.toZ();
+        final double yaw = Math.toRadians(data.toYaw()), pitch = Math.toRadians(data.toPitch());
+        final double cosPitch = Math.cos(pitch);
+        final double directionX = -Math.sin(yaw) * cosPitch, directionY = -Math.sin(pitch), directionZ = Math.cos(yaw) * cosPitch;
 
-        // retrieve our recent location and the entity location.
-        final Vector location = player.getLocation().clone().toVector();
-        final Vector entityLocation = entity.getLocation().clone().toVector();
+        double distance = intercept(eyeX, eyeY, eyeZ, directionX, directionY, directionZ, target, settings.hitboxExpansion);
+        // looking just past the box, measure against the tolerance box.
+        final boolean missed = distance < 0;
+        if (missed) distance = intercept(eyeX, eyeY, eyeZ, directionX, directionY, directionZ, target, settings.hitboxExpansion + settings.directionTolerance);
 
-        // if ignore y values, just set them to 0.
-        if (ignoreVerticalAxis) {
-            location.setY(0);
-            entityLocation.setY(0);
+        final CheckResult result = new CheckResult();
+        if (distance < 0) {
+            if (settings.checkDirection) {
+                result.setFailed("Attack did not look at the entity.");
+                result.parameter("yaw", data.toYaw());
+                result.parameter("pitch", data.toPitch());
+                result.parameter("rtt", context.latency().rttMillis());
+            }
+            return checkViolation(context, result).cancel();
         }
 
-        // retrieve the combined subtracted eye height for later.
-        final double livingEyeHeight = ((LivingEntity) entity).getEyeHeight();
-        final double playerEyeHeight = player.getEyeHeight();
-        final double subtractAmount = livingEyeHeight == 0.0 ? defaultEyeHeight : livingEyeHeight == playerEyeHeight ? 0 : livingEyeHeight;
-        final double eyeHeight = subtractEyeHeight ? Math.abs(player.getEyeHeight() - subtractAmount) : 0.0;
-
-        // subtract the velocities.
-        // TODO Won't be that significant I don't think.
-        final Vector velocity = player.getVelocity();
-        final Vector entityVelocity = entity.getVelocity();
-        if (subtractPlayerVelocity) location.subtract(velocity);
-        if (subtractEntityVelocity) entityLocation.subtract(entityVelocity);
-        // finally, calculate the distance
-        final double distance = location.distance(entityLocation) - eyeHeight;
         // retrieve the allowed amount
-        final double allowed = player.getGameMode() == GameMode.CREATIVE ? maxCreativeDistance : maxSurvivalDistance;
+        final double allowed = snapshot.gameMode() == GameMode.CREATIVE ? settings.maxCreativeDistance : settings.maxSurvivalDistance;
         if (distance > allowed) {
             result.setFailed("Distance greater than allowed.");
             result.parameter("distance", distance);
             result.parameter("allowed", allowed);
-            result.parameter("ignore-y", ignoreVerticalAxis);
-            result.parameter("eyeHeight", eyeHeight);
-            result.parameter("vel", velocity);
-            result.parameter("entityVel", entityVelocity);
+            result.parameter("tolerance", missed);
+            result.parameter("rtt", context.latency().rttMillis());
         }
 
-        return checkViolation(player, result).cancel();
+        return checkViolation(context, result).cancel();
+    }
+
+    /**
+     * Intersect the look ray with the entity bounding box
+     *
+     * @param eyeX       eye X
+     * @param eyeY       eye Y
+     * @param eyeZ       eye Z
+     * @param directionX look X
+     * @param directionY look Y
+     * @param directionZ look Z
+     * @param target     the entity
+     * @param expansion  how much to expand the box
+     * @return the distance or {@code -1} if the ray misses.
+     */
+    private double intercept(double eyeX, double eyeY, double eyeZ, double directionX, double directionY, double directionZ,
+                             EntityPosition target, double expansion) {
+        final double halfWidth = target.halfWidth() + expansion;
+        return MathUtil.intercept(eyeX, eyeY, eyeZ, directionX, directionY, directionZ,
+                target.x() - halfWidth, target.y() - expansion, target.z() - halfWidth,
+                target.x() + halfWidth, target.y() + target.height() + expansion, target.z() + halfWidth);
     }
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        maxSurvivalDistance = configuration.getDouble("max-survival-distance");
-        maxCreativeDistance = configuration.getDouble("max-creative-distance");
-        ignoreVerticalAxis = configuration.getBoolean("ignore-vertical-axis");
-        subtractEyeHeight = configuration.getBoolean("subtract-eye-height");
-        defaultEyeHeight = configuration.getDouble("default-eye-height");
-        subtractPlayerVelocity = configuration.getBoolean("subtract-player-velocity");
-        subtractEntityVelocity = configuration.getBoolean("subtract-entity-velocity");
+        reloadConfig();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * Max survival and creative distances.
+         * How much the bounding box is expanded, the client expands hitboxes by 0.1
+         * How much further the box is expanded before the attack is considered to miss the entity.
+         */
+        private final double maxSurvivalDistance, maxCreativeDistance, hitboxExpansion, directionTolerance;
+
+        /**
+         * If attacks that miss the entity should fail.
+         */
+        private final boolean checkDirection;
+
+        private Settings(CheckConfiguration configuration) {
+            maxSurvivalDistance = configuration.getDouble("max-survival-distance");
+            maxCreativeDistance = configuration.getDouble("max-creative-distance");
+            hitboxExpansion = configuration.getDouble("hitbox-expansion");
+            checkDirection = configuration.getBoolean("check-direction");
+            directionTolerance = configuration.getDouble("direction-tolerance");
+        }
     }
 }
@@ -1,8 +1,11 @@
 package arc.check.moving;
 
+import arc.Arc;
 import arc.check.Check;
 import arc.check.CheckType;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.moving.MovingData;
 import arc.utility.entity.Entities;
 import arc.utility.math.MathUtil;
@@ -18,22 +21,9 @@ import org.bukkit.event.player.PlayerTeleportEvent;
 public final class Jesus extends Check {
 
     /**
-     * The time in liquid required to start checking.
-     * The time in liquid required to distance check.
+     * The settings, replaced as a whole on reload.
      */
-    private int timeInLiquidRequired, timeInLiquidRequiredDistanceChecking;
-
-    /**
-     * The amount of times allowed where the vertical distance hasn't changed.
-     */
-    private int maxNoDistanceChangeAllowed;
-
-    /**
-     * The max setback distance
-     * The min distance required to start checking
-     * The min distance allowed (last water distance - current water distance) when ascending.
-     */
-    private double maxSetbackDistance, ascendingMinDistanceRequired, ascendingMinDifferenceDistance;
+    private volatile Settings settings;
 
     public Jesus() {
         super(CheckType.JESUS);
@@ -59,23 +49,26 @@ public final class Jesus extends Check {
 
     /**
      * Check this player
+     * The water state is updated every move, a move that is not evaluated is never flagged.
      *
-     * @param player the player
-     * @param data   their data
+     * @param context  the player context
+     * @param data     their data
+     * @param evaluate if this move should be evaluated
      */
-    public void check(Player player, MovingData data) {
-        if (exempt(player)) return;
+    public void check(PlayerContext context, MovingData data, boolean evaluate) {
+        if (exempt(context)) return;
+        final Settings settings = this.settings;
+        final Player player = context.player();
 
-        final Location to = data.to();
         final boolean liquid = data.inLiquid();
         // reset data if in liquid
         if (!liquid) {
             data.liquidTime(0);
-            data.waterLocation(null);
+            data.waterY(Double.NaN);
             data.noDistanceChanges(0);
         }
 
-        if (liquid && !data.onGround() && !player.isInsideVehicle()) {
+        if (liquid && !data.onGround() && !context.snapshot().insideVehicle()) {
             // retrieve whats needed to check.
             final CheckResult result = new CheckResult();
             final boolean clientGround = data.clientOnGround();
@@ -84,11 +77,11 @@ public final class Jesus extends Check {
             data.liquidTime(liquidTime);
 
             // make sure we have liquid for awhile.
-            if (liquidTime > timeInLiquidRequired) {
-                Location water = data.waterLocation();
-                if (water == null) {
-                    water = to;
-                    data.waterLocation(water);
+            if (liquidTime > settings.timeInLiquidRequired) {
+                double waterY = data.waterY();
+                if (Double.isNaN(waterY)) {
+                    waterY = data.toY();
+                    data.waterY(waterY);
                 }
 
                 // basic check, if on ground and no vertical, flag.
@@ -98,29 +91,29 @@ public final class Jesus extends Check {
                     result.parameter("vertical", vertical);
                 } else {
                     // alternative check for other types
-                    final double distance = Math.floor(MathUtil.vertical(water, to) * 100) / 100;
+                    final double distance = Math.floor(Math.abs(data.toY() - waterY) * 100) / 100;
                     final double lastDistance = data.lastWaterDistance();
                     data.lastWaterDistance(distance);
 
                     // make sure we are ascending
                     // we want to be ascending but not for too long.
                     // make sure we have a lower water distance
-                    if (data.ascending() && data.ascendingTime() < 10 && distance <= ascendingMinDistanceRequired) {
+                    if (data.ascending() && data.ascendingTime() < 10 && distance <= settings.ascendingMinDistanceRequired) {
                         // calculate the difference.
                         // this check works by comparing the distances moved vertically
                         // within the water.
                         // storing the first water location will allow us to monitor how the player has been moving
-                        // basically, if we haven't been moving that much (distance<=ascendingMinDistanceRequired)
+                        // basically, if we haven't been moving that much (distance<=settings.ascendingMinDistanceRequired)
                         // then, that's odd already, since vanilla has much more crazy vertical movements
                         final double difference = Math.abs(distance - lastDistance);
-                        if (difference <= ascendingMinDifferenceDistance) {
+                        if (difference <= settings.ascendingMinDifferenceDistance) {
                             result.setFailed("Odd ascending behaviour");
                             result.parameter("ascendingTime", data.ascendingTime());
                             result.parameter("maxAscendingTime", 10);
                             result.parameter("waterDistance", distance);
                             result.parameter("lastWaterDistance", lastDistance);
                             result.parameter("difference", difference);
-                            result.parameter("min", ascendingMinDifferenceDistance);
+                            result.parameter("min", settings.ascendingMinDifferenceDistance);
                         }
                     }
 
@@ -133,25 +126,27 @@ public final class Jesus extends Check {
                     data.noDistanceChanges(noDistanceChanges);
 
                     if (!result.failed()
-                            && liquidTime >= timeInLiquidRequiredDistanceChecking
+                            && liquidTime >= settings.timeInLiquidRequiredDistanceChecking
                             && distance == 0.0
-                            && noDistanceChanges >= maxNoDistanceChangeAllowed) {
+                            && noDistanceChanges >= Arc.arc().tps().relax(settings.maxNoDistanceChangeAllowed)) {
                         result.setFailed("vertical distance has not changed overtime");
                         result.parameter("liquidTime", liquidTime);
-                        result.parameter("required", timeInLiquidRequiredDistanceChecking);
+                        result.parameter("required", settings.timeInLiquidRequiredDistanceChecking);
                         result.parameter("noDistanceChanges", noDistanceChanges);
-                        result.parameter("max", maxNoDistanceChangeAllowed);
+                        result.parameter("max", settings.maxNoDistanceChangeAllowed);
                         result.parameter("distance", 0.0);
                     }
                 }
 
                 // teleport our player back to a desirable location, if they failed.
-                if (checkViolation(player, result).cancel()) {
-                    if (data.ground() == null) {
-                        Entities.teleportSync(player, data.from(), PlayerTeleportEvent.TeleportCause.PLUGIN);
+                // setbacks are suspended while the server is lagging.
+                if (evaluate && checkViolation(context, result).cancel() && !Arc.arc().tps().setbacksSuspended()) {
+                    if (!data.hasGround()) {
+                        Entities.teleportSync(player, data.fromLocation(player.getWorld()), PlayerTeleportEvent.TeleportCause.PLUGIN);
                     } else {
-                        final double distance = MathUtil.distance(data.ground(), data.to());
-                        Entities.teleportSync(player, distance > maxSetbackDistance ? data.from() : data.ground(), PlayerTeleportEvent.TeleportCause.PLUGIN);
+                        final double distance = MathUtil.distance(data.groundX(), data.groundY(), data.groundZ(), data.toX(), data.toY(), data.toZ());
+                        final Location setback = distance > settings.maxSetbackDistance ? data.fromLocation(player.getWorld()) : data.groundLocation(player.getWorld());
+                        Entities.teleportSync(player, setback, PlayerTeleportEvent.TeleportCause.PLUGIN);
                     }
                 }
             }
@@ -161,16 +156,44 @@ public final class Jesus extends Check {
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        timeInLiquidRequired = configuration.getInt("time-in-liquid-required");
-        maxSetbackDistance = configuration.getDouble("max-setback-distance");
-        timeInLiquidRequiredDistanceChecking = configuration.getInt("time-in-liquid-required-distance-checking");
-        maxNoDistanceChangeAllowed = configuration.getInt("max-no-distance-change-allowed");
-        ascendingMinDistanceRequired = configuration.getDouble("ascending-min-distance-required");
-        ascendingMinDifferenceDistance = configuration.getDouble("ascending-min-difference-distance");
+        reloadConfig();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * The time in liquid required to start checking.
+         * The time in liquid required to distance check.
+         */
+        private final int timeInLiquidRequired, timeInLiquidRequiredDistanceChecking;
+
+        /**
+         * The amount of times allowed where the vertical distance hasn't changed.
+         */
+        private final int maxNoDistanceChangeAllowed;
+
+        /**
+         * The max setback distance
+         * The min distance required to start checking
+         * The min distance allowed (last water distance - current water distance) when ascending.
+         */
+        private final double maxSetbackDistance, ascendingMinDistanceRequired, ascendingMinDifferenceDistance;
+
+        private Settings(CheckConfiguration configuration) {
+            timeInLiquidRequired = configuration.getInt("time-in-liquid-required");
+            maxSetbackDistance = configuration.getDouble("max-setback-distance");
+            timeInLiquidRequiredDistanceChecking = configuration.getInt("time-in-liquid-required-distance-checking");
+            maxNoDistanceChangeAllowed = configuration.getInt("max-no-distance-change-allowed");
+            ascendingMinDistanceRequired = configuration.getDouble("ascending-min-distance-required");
+            ascendingMinDifferenceDistance = configuration.getDouble("ascending-min-difference-distance");
+        }
     }
 }
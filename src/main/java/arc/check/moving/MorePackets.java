@@ -4,9 +4,10 @@ import arc.Arc;
 import arc.check.Check;
 import arc.check.CheckType;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.moving.MovingData;
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
+import arc.tps.TpsHelper;
 
 /**
  * Ensures too many packets aren't being sent every second
@@ -14,16 +15,9 @@ import org.bukkit.entity.Player;
 public final class MorePackets extends Check {
 
     /**
-     * The max flying packets allowed per second.
-     * The max position packets allowed per second
-     * The max look packets allowed per second
-     * The max threshold allowed before kicking
+     * The settings, replaced as a whole on reload.
      */
-    private int maxFlyingPacketsPerSecond, maxPositionPacketsPerSecond, maxLookPacketsPerSecond, packetKickThreshold;
-    /**
-     * If this check should kick for reaching the threshold
-     */
-    private boolean kickIfThresholdReached;
+    private volatile Settings settings;
 
     public MorePackets() {
         super(CheckType.MORE_PACKETS);
@@ -47,13 +41,13 @@ public final class MorePackets extends Check {
     }
 
     /**
-     * Check this player
+     * Check the packets counted within the last second, then reset the counts.
      *
-     * @param player the player
-     * @param data   their data
+     * @param context the player context
      */
-    private void check(Player player, MovingData data) {
-        if (exempt(player)) return;
+    public void check(PlayerContext context) {
+        final Settings settings = this.settings;
+        final MovingData data = context.moving();
 
         // position+look are combined, look packets
         final int flyingCount = data.flyingPackets();
@@ -61,14 +55,19 @@ public final class MorePackets extends Check {
         final int positionLookCount = data.positionLookPackets();
         final int lookCount = data.lookPackets();
         final CheckResult result = new CheckResult();
+        // a lagging server stretches the second the packets were counted over.
+        final TpsHelper tps = Arc.arc().tps();
+        final int maxFlyingPacketsPerSecond = tps.relax(settings.maxFlyingPacketsPerSecond);
+        final int maxPositionPacketsPerSecond = tps.relax(settings.maxPositionPacketsPerSecond);
+        final int maxLookPacketsPerSecond = tps.relax(settings.maxLookPacketsPerSecond);
 
         // check flying counts
         if (flyingCount > maxFlyingPacketsPerSecond) {
             populateResult(result, "Too many flying packets per second", flyingCount, maxFlyingPacketsPerSecond);
-            checkViolation(player, result);
+            checkViolation(context, result);
             data.cancelFlying(true);
 
-            kickPlayerIfThresholdReached(player, flyingCount);
+            kickPlayerIfThresholdReached(settings, context, flyingCount);
         } else {
             data.cancelFlying(false);
         }
@@ -76,16 +75,16 @@ public final class MorePackets extends Check {
         // check position and position_look counts
         if (positionCount > maxPositionPacketsPerSecond) {
             populateResult(result, "Too many position packets per second", positionCount, maxPositionPacketsPerSecond);
-            checkViolation(player, result);
+            checkViolation(context, result);
             data.cancelPosition(true);
 
-            kickPlayerIfThresholdReached(player, positionCount);
+            kickPlayerIfThresholdReached(settings, context, positionCount);
         } else if (positionLookCount > maxPositionPacketsPerSecond) {
             populateResult(result, "Too many position look packets per second", positionLookCount, maxPositionPacketsPerSecond);
-            checkViolation(player, result);
+            checkViolation(context, result);
             data.cancelPosition(true);
 
-            kickPlayerIfThresholdReached(player, positionLookCount);
+            kickPlayerIfThresholdReached(settings, context, positionLookCount);
         } else {
             data.cancelPosition(false);
         }
@@ -93,10 +92,10 @@ public final class MorePackets extends Check {
         // check look counts
         if (lookCount > maxLookPacketsPerSecond) {
             populateResult(result, "Too many look packets per second", lookCount, maxLookPacketsPerSecond);
-            checkViolation(player, result);
+            checkViolation(context, result);
             data.cancelLook(true);
 
-            kickPlayerIfThresholdReached(player, lookCount);
+            kickPlayerIfThresholdReached(settings, context, lookCount);
         } else {
             data.cancelLook(false);
         }
@@ -124,12 +123,13 @@ public final class MorePackets extends Check {
     /**
      * Kick the player if the threshold is reached
      *
-     * @param player the player
-     * @param count  the count
+     * @param settings the settings
+     * @param context  the player context
+     * @param count    the count
      */
-    private void kickPlayerIfThresholdReached(Player player, int count) {
-        if (kickIfThresholdReached && count >= packetKickThreshold && !Arc.arc().punishment().hasPendingKick(player)) {
-            Arc.arc().punishment().kickPlayer(player, this);
+    private void kickPlayerIfThresholdReached(Settings settings, PlayerContext context, int count) {
+        if (settings.kickIfThresholdReached && count >= settings.packetKickThreshold) {
+            Arc.arc().violations().kick(context, this);
         }
     }
 
@@ -148,7 +148,7 @@ public final class MorePackets extends Check {
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
@@ -158,16 +158,34 @@ public final class MorePackets extends Check {
 
     @Override
     public void load() {
-        maxFlyingPacketsPerSecond = configuration.getInt("max-flying-packets-per-second");
-        maxPositionPacketsPerSecond = configuration.getInt("max-position-packets-per-second");
-        maxLookPacketsPerSecond = configuration.getInt("max-look-packets-per-second");
-        kickIfThresholdReached = configuration.getBoolean("kick-if-threshold-reached");
-        packetKickThreshold = configuration.getInt("packet-kick-threshold");
-
-        schedule(() -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                check(player, MovingData.get(player));
-            }
-        }, 0, 20);
+        reloadConfig();
+        schedule(this::check, 20);
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * The max flying packets allowed per second.
+         * The max position packets allowed per second
+         * The max look packets allowed per second
+         * The max threshold allowed before kicking
+         */
+        private final int maxFlyingPacketsPerSecond, maxPositionPacketsPerSecond, maxLookPacketsPerSecond, packetKickThreshold;
+
+        /**
+         * If this check should kick for reaching the threshold
+         */
+        private final boolean kickIfThresholdReached;
+
+        private Settings(CheckConfiguration configuration) {
+            maxFlyingPacketsPerSecond = configuration.getInt("max-flying-packets-per-second");
+            maxPositionPacketsPerSecond = configuration.getInt("max-position-packets-per-second");
+            maxLookPacketsPerSecond = configuration.getInt("max-look-packets-per-second");
+            kickIfThresholdReached = configuration.getBoolean("kick-if-threshold-reached");
+            packetKickThreshold = configuration.getInt("packet-kick-threshold");
+        }
     }
 }
@@ -1,14 +1,15 @@
 package arc.check.moving;
 
+import arc.Arc;
 import arc.check.Check;
 import arc.check.CheckType;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.moving.MovingData;
+import arc.data.player.PlayerSnapshot;
 import arc.exemption.type.ExemptionType;
 import arc.utility.entity.Entities;
-import arc.utility.math.MathUtil;
-import org.bukkit.Location;
-import org.bukkit.entity.Player;
 
 /**
  * Checks if the player is taking no fall damage.
@@ -16,17 +17,9 @@ import org.bukkit.entity.Player;
 public final class NoFall extends Check {
 
     /**
-     * The inaccuracy/tolerance amount to allow when calculating fall distance.
-     * If (e-fallDist < 1.0) = safe
-     * If (e-fallDist > 1.0) = flag
+     * The settings, replaced as a whole on reload.
      */
-    private double expectedFallDistanceTolerance;
-
-    /**
-     * The times allowed where we can be on ground but the client can't be.
-     * 50 is a little generous.
-     */
-    private int invalidGroundMovesAllowed;
+    private volatile Settings settings;
 
     public NoFall() {
         super(CheckType.NOFALL);
@@ -46,51 +39,58 @@ public final class NoFall extends Check {
 
     /**
      * Check the player for NoFall
+     * The fall state is updated every move, a move that is not evaluated is never flagged.
      *
-     * @param player the player
-     * @param data   the data
+     * @param context  the player context
+     * @param data     the data
+     * @param evaluate if this move should be evaluated
      */
-    public void check(Player player, MovingData data) {
-        if (exempt(player) || exempt(player, ExemptionType.DEATH)) return;
-        if (data.onGround()) checkGround(player, data);
+    public void check(PlayerContext context, MovingData data, boolean evaluate) {
+        if (exempt(context) || exempt(context, ExemptionType.DEATH)) return;
+        final Settings settings = this.settings;
+        final PlayerSnapshot snapshot = context.snapshot();
+        if (data.onGround()) checkGround(context, settings, data, evaluate);
         if (data.inLiquid()) {
-            data.descendingLocation(null);
-            data.validFallingLocation(null);
+            data.descendingY(Double.NaN);
+            data.validFallingY(Double.NaN);
         }
 
         // ensure we are descending, not on ground, not climbing, no vehicle and not in liquid.
-        if (data.descending() && !data.onGround() && !data.climbing() && !player.isInsideVehicle() && !data.inLiquid()) {
+        if (data.descending() && !data.onGround() && !data.climbing() && !snapshot.insideVehicle() && !data.inLiquid()) {
             // retrieve our fall distance check location
-            final Location descending = data.descendingLocation() == null ? data.from() : data.descendingLocation();
-            data.descendingLocation(descending);
+            final double descending = Double.isNaN(data.descendingY()) ? data.fromY() : data.descendingY();
+            data.descendingY(descending);
 
-            final Location valid = data.validFallingLocation();
-            final Location fallDistanceCheck = valid == null ? descending : valid;
+            final double valid = data.validFallingY();
+            final double fallDistanceCheck = Double.isNaN(valid) ? descending : valid;
 
-            final double distanceFallen = MathUtil.vertical(fallDistanceCheck, data.from());
+            final double distanceFallen = Math.abs(data.fromY() - fallDistanceCheck);
             // make sure we have fallen
             if (distanceFallen > 2) {
+                if (Double.isNaN(data.validFallingY())) data.validFallingY(data.fromY());
+                if (!evaluate) return;
+
                 final CheckResult result = new CheckResult();
                 final boolean clientGround = data.clientOnGround();
-                final double fallDistance = player.getFallDistance();
-                if (data.validFallingLocation() == null) data.validFallingLocation(data.from());
+                final double fallDistance = snapshot.fallDistance();
 
                 // patch other types of NoFall with incorrect fall distances.
                 final double difference = distanceFallen - fallDistance;
-                if (difference > expectedFallDistanceTolerance) {
+                final double tolerance = Arc.arc().tps().relax(settings.expectedFallDistanceTolerance);
+                if (difference > tolerance) {
                     result.setFailed("Client fall distance not expected.");
                     result.parameter("fallDistance", fallDistance);
                     result.parameter("expected", distanceFallen);
                     result.parameter("difference", difference);
-                    result.parameter("tolerance", expectedFallDistanceTolerance);
-                    data.failedNoFall(checkViolation(player, result).cancel());
+                    result.parameter("tolerance", tolerance);
+                    data.failedNoFall(checkViolation(context, result).cancel());
                 } else {
                     // patch basic types of NoFall.
                     if (clientGround || fallDistance == 0.0) {
                         result.setFailed("Client on ground or fall distance is 0.0");
                         result.parameter("fallDistance", fallDistance);
                         result.parameter("clientGround", clientGround);
-                        data.failedNoFall(checkViolation(player, result).cancel());
+                        data.failedNoFall(checkViolation(context, result).cancel());
                     }
                 }
             }
@@ -100,36 +100,42 @@ public final class NoFall extends Check {
     /**
      * Check ground
      *
-     * @param player the player
-     * @param data   their data
+     * @param context  the player context
+     * @param settings the settings
+     * @param data     their data
+     * @param evaluate if this move should be evaluated
      */
-    private void checkGround(Player player, MovingData data) {
-        if (player.isDead() || exempt(player, ExemptionType.DEATH)) return;
+    private void checkGround(PlayerContext context, Settings settings, MovingData data, boolean evaluate) {
+        if (context.snapshot().dead() || exempt(context, ExemptionType.DEATH)) return;
 
         // check if we just checked.
-        if (data.validFallingLocation() != null) {
+        if (!Double.isNaN(data.validFallingY())) {
             // we have, check data.
             final int count = data.invalidGround();
-            if (count > invalidGroundMovesAllowed) {
+            final int max = Arc.arc().tps().relax(settings.invalidGroundMovesAllowed);
+            if (evaluate && count > max) {
                 final CheckResult result = new CheckResult();
                 result.setFailed("Invalid ground moves more than allowed");
                 result.parameter("count", count);
-                result.parameter("max", invalidGroundMovesAllowed);
-                data.failedNoFall(checkViolation(player, result).cancel());
+                result.parameter("max", max);
+                data.failedNoFall(checkViolation(context, result).cancel());
             }
 
             // check if we have failed no-fall.
+            // the damage is a setback, suspended while the server is lagging.
             if (data.failedNoFall()) {
                 data.failedNoFall(false);
-                // cancel the player by setting damage
-                final double damage = MathUtil.vertical(data.validFallingLocation(), data.to());
-                Entities.damageSync(player, damage);
+                if (!Arc.arc().tps().setbacksSuspended()) {
+                    // cancel the player by setting damage
+                    final double damage = Math.abs(data.toY() - data.validFallingY());
+                    Entities.damageSync(context.player(), damage);
+                }
             }
         }
 
         // reset location
-        data.descendingLocation(null);
-        data.validFallingLocation(null);
+        data.descendingY(Double.NaN);
+        data.validFallingY(Double.NaN);
 
         // check if client isn't on ground
         if (!data.clientOnGround()) {
@@ -142,12 +148,35 @@ public final class NoFall extends Check {
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        expectedFallDistanceTolerance = configuration.getDouble("expected-fall-distance-tolerance");
-        invalidGroundMovesAllowed = configuration.getInt("invalid-ground-moves-allowed");
+        reloadConfig();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * The inaccuracy/tolerance amount to allow when calculating fall distance.
+         * If (e-fallDist < 1.0) = safe
+         * If (e-fallDist > 1.0) = flag
+         */
+        private final double expectedFallDistanceTolerance;
+
+        /**
+         * The times allowed where we can be on ground but the client can't be.
+         * 50 is a little generous.
+         */
+        private final int invalidGroundMovesAllowed;
+
+        private Settings(CheckConfiguration configuration) {
+            expectedFallDistanceTolerance = configuration.getDouble("expected-fall-distance-tolerance");
+            invalidGroundMovesAllowed = configuration.getInt("invalid-ground-moves-allowed");
+        }
     }
 }
@@ -0,0 +1,135 @@
+package arc.check.moving;
+
+import arc.Arc;
+import arc.check.Check;
+import arc.check.CheckType;
+import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
+import arc.data.moving.MovingData;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks if the player is sending movement packets faster than the client ticks.
+ * The client sends one movement packet every tick, so each packet is worth {@link #TICK} nanoseconds.
+ * The balance is how far ahead of real time the player's packets are.
+ * Cancelled packets do not count towards the balance, so the kick threshold is measured against a balance that keeps them.
+ */
+public final class Timer extends Check {
+
+    /**
+     * The length of a client tick in nanoseconds.
+     */
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * The settings, replaced as a whole on reload.
+     */
+    private volatile Settings settings;
+
+    public Timer() {
+        super(CheckType.TIMER);
+        enabled(true)
+                .cancel(true)
+                .cancelLevel(0)
+                .notify(true)
+                .notifyEvery(1)
+                .ban(false)
+                .kick(false)
+                .build();
+
+        addConfigurationValue("max-balance-milliseconds", 100);
+        addConfigurationValue("lag-allowance-milliseconds", 1000);
+        addConfigurationValue("drift-compensation-percent", 1.0);
+        addConfigurationValue("kick-if-threshold-reached", true);
+        addConfigurationValue("kick-threshold-milliseconds", 1000);
+
+        if (enabled()) load();
+    }
+
+    /**
+     * Check a movement packet
+     *
+     * @param context the player context
+     * @param data    their data
+     * @param now     the current {@link System#nanoTime()}
+     * @return {@code true} if the packet should be cancelled.
+     */
+    public boolean check(PlayerContext context, MovingData data, long now) {
+        final long last = data.lastTimerPacket();
+        data.lastTimerPacket(now);
+        if (last == 0 || exempt(context)) {
+            data.timerBalance(0);
+            data.uncancelledTimerBalance(0);
+            return false;
+        }
+
+        final Settings settings = this.settings;
+        // each packet is a tick ahead, the time since the last packet is what the client was allowed.
+        // a lag spike pushes the balance down, the catch up burst afterwards can only use up the allowance.
+        final long elapsed = TICK - settings.drift - (now - last);
+        final long balance = Math.max(-settings.lagAllowance, data.timerBalance() + elapsed);
+        final long uncancelled = Math.max(-settings.lagAllowance, data.uncancelledTimerBalance() + elapsed);
+        data.uncancelledTimerBalance(uncancelled);
+        if (balance <= settings.maxBalance) {
+            data.timerBalance(balance);
+            return false;
+        }
+
+        final CheckResult result = new CheckResult();
+        result.setFailed("Too many movement packets");
+        result.parameter("balance", TimeUnit.NANOSECONDS.toMillis(balance));
+        result.parameter("max", TimeUnit.NANOSECONDS.toMillis(settings.maxBalance));
+
+        if (settings.kickIfThresholdReached && uncancelled >= settings.kickThreshold) {
+            Arc.arc().violations().kick(context, this);
+        }
+
+        final boolean cancel = checkViolation(context, result).cancel();
+        // a cancelled packet never moved the player, so it does not count towards the balance.
+        data.timerBalance(cancel ? balance - TICK : balance);
+        return cancel;
+    }
+
+    @Override
+    public void reloadConfig() {
+        settings = new Settings(configuration);
+    }
+
+    @Override
+    public void load() {
+        reloadConfig();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * The balance allowed before flagging, in nanoseconds.
+         * How far behind the balance can fall after lag, in nanoseconds.
+         * The time forgiven every packet for clock drift, in nanoseconds.
+         */
+        private final long maxBalance, lagAllowance, drift;
+
+        /**
+         * If this check should kick when the balance reaches the threshold
+         */
+        private final boolean kickIfThresholdReached;
+
+        /**
+         * The uncancelled balance to kick at, in nanoseconds.
+         */
+        private final long kickThreshold;
+
+        private Settings(CheckConfiguration configuration) {
+            maxBalance = TimeUnit.MILLISECONDS.toNanos(configuration.getInt("max-balance-milliseconds"));
+            lagAllowance = TimeUnit.MILLISECONDS.toNanos(configuration.getInt("lag-allowance-milliseconds"));
+            drift = (long) (TICK * (configuration.getDouble("drift-compensation-percent") / 100.0));
+            kickIfThresholdReached = configuration.getBoolean("kick-if-threshold-reached");
+            kickThreshold = TimeUnit.MILLISECONDS.toNanos(configuration.getInt("kick-threshold-milliseconds"));
+        }
+    }
+}
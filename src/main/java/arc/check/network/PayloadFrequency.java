@@ -1,42 +1,40 @@
 package arc.check.network;
 
-import arc.Arc;
 import arc.check.CheckType;
 import arc.check.PacketCheck;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.packet.PacketData;
+import arc.packet.HandlerCost;
+import arc.utility.math.SlidingWindow;
 import arc.violation.result.ViolationResult;
 import com.comphenix.packetwrapper.WrapperPlayClientCustomPayload;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.PacketEvent;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Inspects payload packets being sent by the player.
+ * Only the monitored channels count towards the packet rate, clients send brand and register payloads on join.
+ * Players are kicked through the violation levels, see the kick level.
  */
 public final class PayloadFrequency extends PacketCheck {
 
     /**
-     * Channels to monitor
+     * The key bytes from channels that are not monitored are counted under.
      */
-    private List<String> channels;
+    private static final String OTHER_CHANNELS = "";
 
     /**
-     * The max packet size for books
-     * The max packet size for other types.
-     * The max packets allowed every check
+     * The settings, replaced as a whole on reload.
      */
-    private int maxPacketSizeBooks, maxPacketSizeOthers, maxPacketsPerInterval;
-
-    /**
-     * If the player should be kicked for max packet size
-     * If the player should be kicked for exceeding the max packets per interval
-     */
-    private boolean maxPacketSizeKick, maxPacketsPerIntervalKick;
+    private volatile Settings settings;
 
     /**
      * Check only enables if the version is legacy.
@@ -60,82 +58,68 @@ public final class PayloadFrequency extends PacketCheck {
         addConfigurationValue("max-packet-size-others", 32767);
         addConfigurationValue("check-interval-milliseconds", 500);
         addConfigurationValue("max-packets-per-interval", 1);
-        addConfigurationValue("max-packet-size-kick", true);
-        addConfigurationValue("max-packets-per-interval-kick", true);
+        addConfigurationValue("max-bytes-per-second-books", 8192);
+        addConfigurationValue("max-bytes-per-second-others", 65536);
         addConfigurationValue("channels", Lists.newArrayList("MC|BSign", "MC|BEdit"));
 
         if (enabled()) load();
     }
 
-    /**
-     * Check this player
-     *
-     * @param player the player
-     * @param data   the packet data
-     */
-    private void check(Player player, PacketData data) {
-        final int count = data.payloadPacketCount();
-        final CheckResult result = new CheckResult();
-
-        if (count > maxPacketsPerInterval) {
-            result.setFailed("Too many payload packets per interval.");
-            result.parameter("count", count);
-            result.parameter("max", maxPacketsPerInterval);
-
-            if (maxPacketsPerIntervalKick && !Arc.arc().punishment().hasPendingKick(player)) {
-                Arc.arc().punishment().kickPlayer(player, this);
-            }
-        }
-
-        final ViolationResult violation = checkViolation(player, result);
-        data.cancelPayloadPackets(violation.cancel());
-        data.payloadPacketCount(0);
-    }
-
     /**
      * Invoked when payload is received
      * TODO: Monitor outside configured channels?
      *
-     * @param event the event
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the packet
      */
-    private void onPayload(PacketEvent event) {
+    private void onPayload(PacketEvent event, PlayerContext context, WrapperPlayClientCustomPayload packet) {
         // retrieve the player, if they are not online cancel the event and return.
-        final Player player = event.getPlayer();
-        if (player == null || !player.isOnline()) {
-            event.setCancelled(true);
-            return;
-        }
-
-        final PacketData data = PacketData.get(player);
-        data.incrementPayloadPacketCount();
-
-        if (data.cancelPayloadPackets()) {
+        final Player player = context.player();
+        if (!player.isOnline()) {
             event.setCancelled(true);
             return;
         }
 
-        final WrapperPlayClientCustomPayload packet = new WrapperPlayClientCustomPayload(event.getPacket());
+        final Settings settings = this.settings;
+        final PacketData data = context.packets();
+        final long now = System.nanoTime();
         final String channel = packet.getChannel();
+        final byte[] bytes = packet.getContents();
+        final boolean monitored = settings.channels.contains(channel);
+        final boolean book = monitored && isBookChannel(channel);
         final CheckResult result = new CheckResult();
 
         // if we have a valid channel to check
-        if (channels.contains(channel)) {
-            final byte[] bytes = packet.getContents();
-            final int max = (isBookChannel(channel) ? maxPacketSizeBooks : maxPacketSizeOthers);
+        if (monitored) {
+            final long count = data.payloadPackets().add(now, 1, settings.checkInterval);
+            if (count > settings.maxPacketsPerInterval) {
+                result.setFailed("Too many payload packets per interval.");
+                result.parameter("count", count);
+                result.parameter("max", settings.maxPacketsPerInterval);
+            }
+
+            final int max = (book ? settings.maxPacketSizeBooks : settings.maxPacketSizeOthers);
             // check if the length is bigger than the allowed size
             if (bytes.length >= max) {
                 result.setFailed("Payload packet size too big.");
                 result.parameter("length", bytes.length);
                 result.parameter("max", max);
-
-                if (maxPacketSizeKick && !Arc.arc().punishment().hasPendingKick(player)) {
-                    Arc.arc().punishment().kickPlayer(player, this);
-                }
             }
         }
 
-        final ViolationResult violation = checkViolation(player, result);
-        data.cancelPayloadPackets(violation.cancel());
+        // bytes from settings.channels we do not monitor share one window, so the amount of windows stays bounded.
+        final SlidingWindow window = data.payloadBytes(monitored ? channel : OTHER_CHANNELS);
+        final long perSecond = window.add(now, bytes.length, TimeUnit.SECONDS.toNanos(1));
+        final int maxPerSecond = (book ? settings.maxBytesPerSecondBooks : settings.maxBytesPerSecondOthers);
+        if (perSecond > maxPerSecond) {
+            result.setFailed("Too many payload bytes per second.");
+            result.parameter("bytes", perSecond);
+            result.parameter("max", maxPerSecond);
+        }
+
+        final ViolationResult violation = checkViolation(context, result);
+        if (violation.cancel()) event.setCancelled(true);
     }
 
     /**
@@ -150,32 +134,52 @@ public final class PayloadFrequency extends PacketCheck {
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        maxPacketSizeBooks = configuration.getInt("max-packet-size-books");
-        maxPacketSizeOthers = configuration.getInt("max-packet-size-others");
-        maxPacketsPerInterval = configuration.getInt("max-packets-per-interval");
-        maxPacketSizeKick = configuration.getBoolean("max-packet-size-kick");
-        maxPacketsPerIntervalKick = configuration.getBoolean("max-packets-per-interval-kick");
-        channels = configuration.getList("channels");
-
-        final int checkInterval = configuration.getInt("check-interval-milliseconds");
-        final int interval = (checkInterval / 1000) * 20;
-
-        registerPacketListener(PacketType.Play.Client.CUSTOM_PAYLOAD, this::onPayload);
-        schedule(() -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                check(player, PacketData.get(player));
-            }
-        }, interval, interval);
+        reloadConfig();
+        registerPacketListener(PacketType.Play.Client.CUSTOM_PAYLOAD, WrapperPlayClientCustomPayload.class, HandlerCost.CHEAP, this::onPayload);
     }
 
     @Override
     public void unload() {
         unregisterPacketListeners();
-        cancelScheduled();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * Channels to monitor
+         */
+        private final List<String> channels;
+
+        /**
+         * The max packet size for books
+         * The max packet size for other types.
+         * The max packets from monitored channels allowed every check
+         * The max bytes per second for books
+         * The max bytes per second for other types.
+         */
+        private final int maxPacketSizeBooks, maxPacketSizeOthers, maxPacketsPerInterval, maxBytesPerSecondBooks, maxBytesPerSecondOthers;
+
+        /**
+         * The check interval in nanoseconds
+         */
+        private final long checkInterval;
+
+        private Settings(CheckConfiguration configuration) {
+            maxPacketSizeBooks = configuration.getInt("max-packet-size-books");
+            maxPacketSizeOthers = configuration.getInt("max-packet-size-others");
+            maxPacketsPerInterval = configuration.getInt("max-packets-per-interval");
+            maxBytesPerSecondBooks = configuration.getInt("max-bytes-per-second-books");
+            maxBytesPerSecondOthers = configuration.getInt("max-bytes-per-second-others");
+            checkInterval = TimeUnit.MILLISECONDS.toNanos(Math.max(1, configuration.getInt("check-interval-milliseconds")));
+            channels = ImmutableList.copyOf(configuration.getList("channels"));
+        }
     }
 }
@@ -4,9 +4,10 @@ import arc.Arc;
 import arc.check.CheckType;
 import arc.check.PacketCheck;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.packet.PacketData;
 import arc.violation.result.ViolationResult;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 /**
@@ -15,14 +16,9 @@ import org.bukkit.entity.Player;
 public final class SwingFrequency extends PacketCheck {
 
     /**
-     * Max packets and packet kick threshold
+     * The settings, replaced as a whole on reload.
      */
-    private int maxPacketsPerSecond, packetKickThreshold;
-
-    /**
-     * Kick if the threshold is reached
-     */
-    private boolean kickIfThresholdReached;
+    private volatile Settings settings;
 
     public SwingFrequency() {
         super(CheckType.SWING_FREQUENCY);
@@ -46,18 +42,20 @@ public final class SwingFrequency extends PacketCheck {
     /**
      * Check this player
      *
-     * @param player the player
-     * @param data   the packet data
+     * @param context the player context
      */
-    private void check(Player player, PacketData data) {
+    private void check(PlayerContext context) {
+        final Settings settings = this.settings;
+        final Player player = context.player();
+        final PacketData data = context.packets();
         final CheckResult result = new CheckResult();
         final int count = data.swingPacketCount();
 
-        if (count >= maxPacketsPerSecond) {
+        if (count >= settings.maxPacketsPerSecond) {
             result.setFailed("Too many swing packets per second.");
             result.parameter("packets", data.swingPacketCount());
-            result.parameter("max", maxPacketsPerSecond);
-            if (count >= packetKickThreshold && kickIfThresholdReached && !Arc.arc().punishment().hasPendingKick(player)) {
+            result.parameter("max", settings.maxPacketsPerSecond);
+            if (count >= settings.packetKickThreshold && settings.kickIfThresholdReached && !Arc.arc().punishment().hasPendingKick(player)) {
                 Arc.arc().punishment().kickPlayer(player, this);
             }
         } else {
@@ -65,30 +63,45 @@ public final class SwingFrequency extends PacketCheck {
         }
         data.swingPacketCount(0);
 
-        final ViolationResult violation = checkViolation(player, result);
+        final ViolationResult violation = checkViolation(context, result);
         data.cancelSwingPackets(violation.cancel());
     }
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        maxPacketsPerSecond = configuration.getInt("max-packets-per-second");
-        kickIfThresholdReached = configuration.getBoolean("kick-if-threshold-reached");
-        packetKickThreshold = configuration.getInt("packet-kick-threshold");
-
-        schedule(() -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                if (!exempt(player)) check(player, PacketData.get(player));
-            }
-        }, 20, 20);
+        reloadConfig();
+        schedule(this::check, 20);
     }
 
     @Override
     public void unload() {
         cancelScheduled();
     }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * Max packets and packet kick threshold
+         */
+        private final int maxPacketsPerSecond, packetKickThreshold;
+
+        /**
+         * Kick if the threshold is reached
+         */
+        private final boolean kickIfThresholdReached;
+
+        private Settings(CheckConfiguration configuration) {
+            maxPacketsPerSecond = configuration.getInt("max-packets-per-second");
+            kickIfThresholdReached = configuration.getBoolean("kick-if-threshold-reached");
+            packetKickThreshold = configuration.getInt("packet-kick-threshold");
+        }
+    }
 }
@@ -5,7 +5,10 @@ import arc.check.CheckSubType;
 import arc.check.CheckType;
 import arc.check.PacketCheck;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.player.PlayerData;
+import arc.packet.HandlerCost;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.PacketEvent;
 import org.bukkit.Material;
@@ -21,11 +24,9 @@ import org.bukkit.entity.Player;
 public final class FastUse extends PacketCheck {
 
     /**
-     * The use time minimum
-     * The shot time minimum
-     * The time it takes to consume an item
+     * The settings, replaced as a whole on reload.
      */
-    private long useDeltaMinimum, deltaShotMinimum, consumeTime;
+    private volatile Settings settings;
 
     public FastUse() {
         super(CheckType.FAST_USE);
@@ -49,31 +50,33 @@ public final class FastUse extends PacketCheck {
     /**
      * Invoked when a player uses an item
      *
-     * @param event the event
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the packet
      */
-    private void onBlockPlace(PacketEvent event) {
-        final BridgePlayClientBlockPlace packet = new BridgePlayClientBlockPlace(event.getPacket());
-        final Player player = event.getPlayer();
+    private void onBlockPlace(PacketEvent event, PlayerContext context, BridgePlayClientBlockPlace packet) {
+        final Player player = context.player();
 
         final Material item = packet.getHeldItem(player).getType();
         if (item == Material.BOW) {
-            if (exempt(player, CheckSubType.FAST_USE_FAST_BOW)) return;
-            PlayerData.get(player).lastBowUse(System.currentTimeMillis());
+            if (exempt(context, CheckSubType.FAST_USE_FAST_BOW)) return;
+            context.data().lastBowUse(System.currentTimeMillis());
         } else if (item.isEdible() || item == Material.POTION) {
-            if (exempt(player, CheckSubType.FAST_USE_FAST_CONSUME)) return;
-            PlayerData.get(player).consumeStartTime(System.currentTimeMillis());
+            if (exempt(context, CheckSubType.FAST_USE_FAST_CONSUME)) return;
+            context.data().consumeStartTime(System.currentTimeMillis());
         }
     }
 
     /**
      * Check player using fast bow
      *
-     * @param player the player
-     * @param data   the data
+     * @param context the player context
+     * @param data    the data
      * @return the result
      */
-    public boolean checkFastBow(Player player, PlayerData data) {
-        if (exempt(player) || exempt(player, CheckSubType.FAST_USE_FAST_BOW)) return false;
+    public boolean checkFastBow(PlayerContext context, PlayerData data) {
+        if (exempt(context) || exempt(context, CheckSubType.FAST_USE_FAST_BOW)) return false;
+        final Settings settings = this.settings;
 
         final long lastUse = data.lastBowUse();
         final long lastShot = data.lastBowShoot();
@@ -82,14 +85,14 @@ public final class FastUse extends PacketCheck {
         final long useDelta = System.currentTimeMillis() - lastUse;
 
         // check the delta times against the configuration values.
-        if (deltaUseToShot < deltaShotMinimum && useDelta < useDeltaMinimum) {
+        if (deltaUseToShot < settings.deltaShotMinimum && useDelta < settings.useDeltaMinimum) {
             final CheckResult result = new CheckResult();
             result.setFailed(CheckSubType.FAST_USE_FAST_BOW, "Used a bow too fast.");
             result.parameter("deltaShot", deltaUseToShot);
-            result.parameter("minDeltaShow", deltaShotMinimum);
+            result.parameter("minDeltaShow", settings.deltaShotMinimum);
             result.parameter("useDelta", useDelta);
-            result.parameter("minUseDelta", useDeltaMinimum);
-            return checkViolation(player, result).cancel();
+            result.parameter("minUseDelta", settings.useDeltaMinimum);
+            return checkViolation(context, result).cancel();
         }
 
         return false;
@@ -98,21 +101,22 @@ public final class FastUse extends PacketCheck {
     /**
      * Check for fast consume
      *
-     * @param player the player
-     * @param data   the data
+     * @param context the player context
+     * @param data    the data
      * @return the result
      */
-    public boolean checkFastConsume(Player player, PlayerData data) {
-        if (!enabled() || exempt(player) || exempt(player, CheckSubType.FAST_USE_FAST_CONSUME)) return false;
+    public boolean checkFastConsume(PlayerContext context, PlayerData data) {
+        if (!enabled() || exempt(context) || exempt(context, CheckSubType.FAST_USE_FAST_CONSUME)) return false;
+        final Settings settings = this.settings;
 
         // the time it took to consume the item
         final long delta = System.currentTimeMillis() - data.consumeStartTime();
-        if (delta < consumeTime) {
+        if (delta < settings.consumeTime) {
             final CheckResult result = new CheckResult();
             result.setFailed(CheckSubType.FAST_USE_FAST_CONSUME, "Consumed an item too fast.");
             result.parameter("delta", delta);
-            result.parameter("min", consumeTime);
-            return checkViolation(player, result).cancel();
+            result.parameter("min", settings.consumeTime);
+            return checkViolation(context, result).cancel();
         }
 
         return false;
@@ -120,21 +124,38 @@ public final class FastUse extends PacketCheck {
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        final ConfigurationSection fastBowSection = configuration.subTypeSection(CheckSubType.FAST_USE_FAST_BOW);
-        useDeltaMinimum = fastBowSection.getLong("use-delta-min");
-        deltaShotMinimum = fastBowSection.getLong("delta-shot-min");
-        final ConfigurationSection fastConsumeSection = configuration.subTypeSection(CheckSubType.FAST_USE_FAST_CONSUME);
-        consumeTime = fastConsumeSection.getLong("consume-time-ms");
-        registerPacketListener(PacketType.Play.Client.BLOCK_PLACE, this::onBlockPlace);
+        reloadConfig();
+        registerPacketListener(PacketType.Play.Client.BLOCK_PLACE, BridgePlayClientBlockPlace.class, HandlerCost.CHEAP, this::onBlockPlace);
     }
 
     @Override
     public void unload() {
         unregisterPacketListeners();
     }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * The use time minimum
+         * The shot time minimum
+         * The time it takes to consume an item
+         */
+        private final long useDeltaMinimum, deltaShotMinimum, consumeTime;
+
+        private Settings(CheckConfiguration configuration) {
+            final ConfigurationSection fastBowSection = configuration.subTypeSection(CheckSubType.FAST_USE_FAST_BOW);
+            useDeltaMinimum = fastBowSection.getLong("use-delta-min");
+            deltaShotMinimum = fastBowSection.getLong("delta-shot-min");
+            final ConfigurationSection fastConsumeSection = configuration.subTypeSection(CheckSubType.FAST_USE_FAST_CONSUME);
+            consumeTime = fastConsumeSection.getLong("consume-time-ms");
+        }
+    }
 }
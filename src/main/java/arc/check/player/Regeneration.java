@@ -3,8 +3,9 @@ package arc.check.player;
 import arc.check.Check;
 import arc.check.CheckType;
 import arc.check.result.CheckResult;
+import arc.configuration.check.CheckConfiguration;
+import arc.data.PlayerContext;
 import arc.data.player.PlayerData;
-import org.bukkit.entity.Player;
 
 /**
  * Checks if the player is regenerating health too fast.
@@ -12,9 +13,9 @@ import org.bukkit.entity.Player;
 public final class Regeneration extends Check {
 
     /**
-     * The min time it takes to regain health.
+     * The settings, replaced as a whole on reload.
      */
-    private long regenerationTime;
+    private volatile Settings settings;
 
     public Regeneration() {
         super(CheckType.REGENERATION);
@@ -36,33 +37,49 @@ public final class Regeneration extends Check {
     /**
      * Check for regeneration
      *
-     * @param player the player
-     * @param data   their data
+     * @param context the player context
+     * @param data    their data
      * @return {@code true} if cancel.
      */
-    public boolean check(Player player, PlayerData data) {
-        if (exempt(player)) return false;
+    public boolean check(PlayerContext context, PlayerData data) {
+        if (exempt(context)) return false;
+        final Settings settings = this.settings;
 
         // the time from now to the last regain event.
         final long time = System.currentTimeMillis() - data.lastHealthRegain();
         // if its less than the minimum then flag.
-        if (time < regenerationTime) {
+        if (time < settings.regenerationTime) {
             final CheckResult result = new CheckResult();
             result.setFailed("Regaining health too fast.");
             result.parameter("time", time);
-            result.parameter("min", regenerationTime);
-            return checkViolation(player, result).cancel();
+            result.parameter("min", settings.regenerationTime);
+            return checkViolation(context, result).cancel();
         }
         return false;
     }
 
     @Override
     public void reloadConfig() {
-        load();
+        settings = new Settings(configuration);
     }
 
     @Override
     public void load() {
-        regenerationTime = configuration.getLong("regeneration-time-ms");
+        reloadConfig();
+    }
+
+    /**
+     * The check settings
+     */
+    private static final class Settings {
+
+        /**
+         * The min time it takes to regain health.
+         */
+        private final long regenerationTime;
+
+        private Settings(CheckConfiguration configuration) {
+            regenerationTime = configuration.getLong("regeneration-time-ms");
+        }
     }
 }
@@ -3,6 +3,7 @@ package arc.command;
 import arc.Arc;
 import arc.command.commands.CancelBanSubCommand;
 import arc.command.commands.ReloadConfigSubCommand;
+import arc.command.commands.ReplaySubCommand;
 import arc.command.commands.TimingsSubCommand;
 import arc.command.commands.ToggleViolationsSubCommand;
 import arc.inventory.InventoryCreator;
@@ -29,6 +30,7 @@ public final class ArcCommand extends ArcBaseCommand implements CommandExecutor
         addSubCommand("violations", new ToggleViolationsSubCommand());
         addSubCommand("reload", new ReloadConfigSubCommand());
         addSubCommand("timings", new TimingsSubCommand());
+        addSubCommand("replay", new ReplaySubCommand());
         addSubCommand("cancelban", new CancelBanSubCommand());
 
         // initialize help message.
@@ -37,7 +39,8 @@ public final class ArcCommand extends ArcBaseCommand implements CommandExecutor
         helpLine(prefix + ChatColor.DARK_AQUA + " /arc help - " + ChatColor.GRAY + "Shows this message");
         helpLine(Permissions.ARC_COMMANDS_TOGGLE_VIOLATIONS, prefix + ChatColor.DARK_AQUA + " /arc violations - " + ChatColor.GRAY + "Toggle violations on or off.");
         helpLine(Permissions.ARC_COMMANDS_RELOAD_CONFIG, prefix + ChatColor.DARK_AQUA + " /arc reload - " + ChatColor.GRAY + "Reloads the configuration.");
-        helpLine(Permissions.ARC_COMMANDS_TIMINGS, prefix + ChatColor.DARK_AQUA + " /arc timings - " + ChatColor.GRAY + "View timings and TPS information.");
+        helpLine(Permissions.ARC_COMMANDS_TIMINGS, prefix + ChatColor.DARK_AQUA + " /arc timings [reset|export] - " + ChatColor.GRAY + "View, reset or export check timings.");
+        helpLine(Permissions.ARC_COMMANDS_REPLAY, prefix + ChatColor.DARK_AQUA + " /arc replay [file] - " + ChatColor.GRAY + "List recent replays or replay one through the checks.");
         helpLine(Permissions.ARC_COMMANDS_CANCEL_BAN, prefix + ChatColor.DARK_AQUA + " /arc cancelban <player> - " + ChatColor.GRAY + "Cancel a pending player ban.");
     }
 
@@ -0,0 +1,124 @@
+package arc.command.commands;
+
+import arc.Arc;
+import arc.permissions.Permissions;
+import arc.replay.RecordedPacket;
+import arc.replay.ReplayAnalyzer;
+import arc.replay.ReplayFile;
+import arc.replay.ReplayManager;
+import arc.utility.chat.ChatUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Lists or replays recorded packets
+ */
+public final class ReplaySubCommand extends ArcSubCommand {
+
+    /**
+     * The max amount of replays to list
+     */
+    private static final int MAX_LISTED = 10;
+
+    public ReplaySubCommand() {
+        super(Permissions.ARC_COMMANDS_REPLAY);
+    }
+
+    @Override
+    public void execute(CommandSender sender, String[] arguments) {
+        final ReplayManager replays = Arc.arc().replays();
+        if (arguments == null || arguments.length == 0) {
+            list(sender, replays);
+            return;
+        }
+
+        // the checks are run as the sender with a simulated context.
+        if (!isPlayer(sender)) {
+            printNoPlayer(sender);
+            return;
+        }
+
+        final File file = replays.file(arguments[0]);
+        if (file == null || !file.isFile()) {
+            ChatUtil.sendMessage(sender, ChatColor.RED + "No replay named " + ChatColor.GRAY + arguments[0]);
+            return;
+        }
+
+        // create the context now, the replay is analyzed off the main thread.
+        final ReplayAnalyzer analyzer = new ReplayAnalyzer(Arc.arc().checks(), (Player) sender);
+        Bukkit.getScheduler().runTaskAsynchronously(Arc.plugin(), () -> {
+            try {
+                final ReplayFile replay = ReplayFile.read(file);
+                analyzer.analyze(replay);
+                report(sender, replay, analyzer);
+            } catch (IOException exception) {
+                ChatUtil.sendMessage(sender, ChatColor.RED + "Failed to read replay: " + exception.getMessage());
+            }
+        });
+    }
+
+    /**
+     * List the most recent replays
+     *
+     * @param sender  the sender
+     * @param replays the replay manager
+     */
+    private void list(CommandSender sender, ReplayManager replays) {
+        if (!replays.enabled()) {
+            ChatUtil.sendMessage(sender, ChatColor.GRAY + "The packet recorder is disabled, set enable-packet-recorder to true to record replays.");
+        }
+
+        final File[] files = replays.files();
+        if (files.length == 0) {
+            ChatUtil.sendMessage(sender, ChatColor.GRAY + "There are no replays.");
+            return;
+        }
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
+        ChatUtil.sendMessage(sender, ChatColor.DARK_AQUA + "Recent replays:");
+        for (int i = 0; i < Math.min(MAX_LISTED, files.length); i++) {
+            sender.sendMessage(ChatColor.GRAY + files[i].getName());
+        }
+    }
+
+    /**
+     * Report the results of a replay
+     *
+     * @param sender   the sender
+     * @param replay   the replay
+     * @param analyzer the analyzer
+     */
+    private void report(CommandSender sender, ReplayFile replay, ReplayAnalyzer analyzer) {
+        ChatUtil.sendMessage(sender, ChatColor.DARK_AQUA + "Replay of " + ChatColor.GRAY + replay.player()
+                + ChatColor.DARK_AQUA + " for " + ChatColor.GRAY + replay.check() + ChatColor.DARK_AQUA + " at level " + ChatColor.GRAY + replay.level());
+        sender.sendMessage(ChatColor.DARK_AQUA + "Packets: " + ChatColor.GRAY + replay.count() + " over "
+                + String.format(Locale.ROOT, "%.2f", analyzer.duration() / 1_000_000_000.0) + " seconds");
+
+        final StringBuilder counts = new StringBuilder();
+        for (RecordedPacket packet : RecordedPacket.values()) {
+            if (counts.length() > 0) counts.append(", ");
+            counts.append(packet.name().toLowerCase(Locale.ROOT)).append(' ').append(analyzer.packets(packet));
+        }
+        sender.sendMessage(ChatColor.GRAY + counts.toString());
+
+        sender.sendMessage(ChatColor.DARK_AQUA + "Movement: " + ChatColor.GRAY + "max horizontal "
+                + String.format(Locale.ROOT, "%.3f", analyzer.maxHorizontal()) + ", max vertical "
+                + String.format(Locale.ROOT, "%.3f", analyzer.maxVertical()) + ", max flying/s " + analyzer.maxFlyingPackets());
+        if (analyzer.checkedMorePackets()) {
+            sender.sendMessage(ChatColor.DARK_AQUA + "MorePackets: " + ChatColor.RED + analyzer.morePacketsViolations() + ChatColor.GRAY + " violations");
+        }
+
+        if (analyzer.checkedNoSwing()) {
+            sender.sendMessage(ChatColor.DARK_AQUA + "NoSwing: " + ChatColor.RED + analyzer.noSwingViolations() + ChatColor.GRAY + " violations");
+        }
+    }
+
+}
@@ -1,12 +1,30 @@
 package arc.command.commands;
 
 import arc.Arc;
+import arc.api.dispatch.EventDispatcher;
 import arc.check.Check;
+import arc.packet.limiter.PacketClass;
+import arc.packet.limiter.PacketLimiter;
 import arc.permissions.Permissions;
+import arc.timings.TimingRecord;
+import arc.timings.TimingsManager;
+import arc.tps.TpsHelper;
 import arc.utility.chat.ChatUtil;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
 /**
  * Allows viewing of timings
  */
@@ -18,6 +36,129 @@ public final class TimingsSubCommand extends ArcSubCommand {
 
     @Override
     public void execute(CommandSender sender, String[] arguments) {
-        // TODO:
+        final TimingsManager timings = Arc.arc().timings();
+        if (!timings.enabled()) {
+            ChatUtil.sendMessage(sender, ChatColor.RED + "Check timings are disabled, set enable-check-timings to true to use them.");
+            return;
+        }
+
+        if (arguments != null && arguments.length > 0) {
+            if (arguments[0].equalsIgnoreCase("reset")) {
+                timings.reset();
+                Arc.arc().events().resetMetrics();
+                Arc.arc().limiter().resetMetrics();
+                ChatUtil.sendMessage(sender, ChatColor.GREEN + "Check timings have been reset.");
+                return;
+            } else if (arguments[0].equalsIgnoreCase("export")) {
+                export(sender, timings);
+                return;
+            }
+        }
+
+        final List<Check> checks = sortedChecks(timings);
+        ChatUtil.sendMessage(sender, ChatColor.DARK_AQUA + "Check timings over the last " + ChatColor.GRAY
+                + String.format(Locale.ROOT, "%.1f", timings.elapsedSeconds()) + ChatColor.DARK_AQUA + " seconds:");
+
+        final TpsHelper tps = Arc.arc().tps();
+        sender.sendMessage(ChatColor.DARK_AQUA + "TPS: " + ChatColor.GRAY + String.format(Locale.ROOT, "%.1f", tps.tps())
+                + (tps.engaged() ? ChatColor.RED + " (TPS helper engaged, checking every " + tps.sampleInterval() + " moves, thresholds x"
+                + String.format(Locale.ROOT, "%.2f", tps.relaxFactor()) + ", setbacks suspended)" : ""));
+
+        final EventDispatcher events = Arc.arc().events();
+        sender.sendMessage(ChatColor.DARK_AQUA + "Event queue: " + ChatColor.GRAY + events.depth() + " queued (max " + events.maxDepth() + ")"
+                + ", " + events.dispatched() + " dispatched, " + events.coalesced() + " coalesced, " + ChatColor.RED + events.dropped() + " dropped");
+
+        final PacketLimiter limiter = Arc.arc().limiter();
+        final StringBuilder limited = new StringBuilder();
+        for (PacketClass packetClass : PacketClass.values()) {
+            if (limited.length() > 0) limited.append(", ");
+            limited.append(packetClass.name().toLowerCase(Locale.ROOT)).append(' ').append(limiter.cancelled(packetClass));
+        }
+        sender.sendMessage(ChatColor.DARK_AQUA + "Packets cancelled by the limiter: " + ChatColor.GRAY + limited);
+        if (checks.isEmpty()) {
+            ChatUtil.sendMessage(sender, ChatColor.GRAY + "No checks have been timed yet.");
+            return;
+        }
+
+        for (Check check : checks) {
+            final TimingRecord record = timings.record(check.type());
+            sender.sendMessage(ChatColor.DARK_AQUA + check.getName() + ": "
+                    + ChatColor.GRAY + "p50 " + formatNanos(record.percentile(50))
+                    + ", p99 " + formatNanos(record.percentile(99))
+                    + ", p999 " + formatNanos(record.percentile(99.9))
+                    + ", " + String.format(Locale.ROOT, "%.1f", record.count() / timings.elapsedSeconds()) + "/s"
+                    + ", " + ChatColor.RED + String.format(Locale.ROOT, "%.3f", msPerTick(record, timings)) + "ms/tick");
+        }
     }
+
+    /**
+     * Export timings to a CSV file in the plugin folder.
+     *
+     * @param sender  the sender
+     * @param timings the timings
+     */
+    private void export(CommandSender sender, TimingsManager timings) {
+        final List<String> lines = new ArrayList<>();
+        lines.add("check,calls,calls_per_second,p50_ns,p99_ns,p999_ns,max_ns,total_ns,ms_per_tick");
+        for (Check check : sortedChecks(timings)) {
+            final TimingRecord record = timings.record(check.type());
+            lines.add(check.getName() + "," + record.count()
+                    + "," + String.format(Locale.ROOT, "%.2f", record.count() / timings.elapsedSeconds())
+                    + "," + record.percentile(50)
+                    + "," + record.percentile(99)
+                    + "," + record.percentile(99.9)
+                    + "," + record.max()
+                    + "," + record.total()
+                    + "," + String.format(Locale.ROOT, "%.4f", msPerTick(record, timings)));
+        }
+
+        final File file = new File(Arc.plugin().getDataFolder(), "timings-" + System.currentTimeMillis() + ".csv");
+        Bukkit.getScheduler().runTaskAsynchronously(Arc.plugin(), () -> {
+            try {
+                Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+                ChatUtil.sendMessage(sender, ChatColor.GREEN + "Timings exported to " + ChatColor.GRAY + file.getName());
+            } catch (IOException exception) {
+                Arc.arc().getLogger().log(Level.WARNING, "Failed to export timings to " + file.getName(), exception);
+                ChatUtil.sendMessage(sender, ChatColor.RED + "Failed to export timings, the error has been printed to console.");
+            }
+        });
+    }
+
+    /**
+     * Get all checks that have timings, sorted by most expensive first.
+     *
+     * @param timings the timings
+     * @return the checks
+     */
+    private List<Check> sortedChecks(TimingsManager timings) {
+        return Arc.arc().checks().getAllChecks()
+                .stream()
+                .filter(check -> timings.record(check.type()).count() > 0)
+                .sorted(Comparator.comparingLong((Check check) -> timings.record(check.type()).total()).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the average milliseconds per tick a check used.
+     *
+     * @param record  the record
+     * @param timings the timings
+     * @return the ms per tick
+     */
+    private double msPerTick(TimingRecord record, TimingsManager timings) {
+        return (record.total() / 1_000_000.0) / timings.ticks();
+    }
+
+    /**
+     * Format nanoseconds
+     *
+     * @param nanos the nanos
+     * @return the formatted string
+     */
+    private String formatNanos(long nanos) {
+        if (nanos >= 1_000_000) return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+        if (nanos >= 1_000) return String.format(Locale.ROOT, "%.1fus", nanos / 1_000.0);
+        return nanos + "ns";
+    }
+
 }
@@ -26,14 +26,18 @@ public final class ArcConfiguration extends Configurable {
      * If check timings should be enabled.
      * If the TPS helper should be enabled.
      * If the event API should be enabled.
+     * If the packet recorder should be enabled.
      */
-    private boolean enableCheckTimings, enableTpsHelper, enableEventApi;
+    private boolean enableCheckTimings, enableTpsHelper, enableEventApi, enablePacketRecorder;
 
     /**
      * TPS helper limit
      * The time after leaving violation data times out
+     * The half-life of violation levels
+     * The amount of packets recorded per player
+     * The violation level that dumps a replay
      */
-    private int tpsHelperLimit, violationDataTimeout;
+    private int tpsHelperLimit, violationDataTimeout, violationDecayHalfLife, packetRecorderSize, packetRecorderDumpLevel;
 
     /**
      * Violation notify message
@@ -62,7 +66,11 @@ public final class ArcConfiguration extends Configurable {
         commandNoPermissionMessage = ChatColor.translateAlternateColorCodes('&', string(configuration, ConfigurationValues.ARC_COMMAND_NO_PERMISSION_MESSAGE));
         prefix = ChatColor.translateAlternateColorCodes('&', string(configuration, ConfigurationValues.ARC_PREFIX));
         violationDataTimeout = integer(configuration, ConfigurationValues.VIOLATION_DATA_TIMEOUT);
+        violationDecayHalfLife = integer(configuration, ConfigurationValues.VIOLATION_DECAY_HALF_LIFE);
         enableEventApi = bool(configuration, ConfigurationValues.ENABLE_EVENT_API);
+        enablePacketRecorder = bool(configuration, ConfigurationValues.ENABLE_PACKET_RECORDER);
+        packetRecorderSize = integer(configuration, ConfigurationValues.PACKET_RECORDER_SIZE);
+        packetRecorderDumpLevel = integer(configuration, ConfigurationValues.PACKET_RECORDER_DUMP_LEVEL);
     }
 
     /**
@@ -114,6 +122,34 @@ public final class ArcConfiguration extends Configurable {
         return violationDataTimeout;
     }
 
+    /**
+     * @return violation decay half-life, in seconds.
+     */
+    public int violationDecayHalfLife() {
+        return violationDecayHalfLife;
+    }
+
+    /**
+     * @return if the packet recorder is enabled.
+     */
+    public boolean enablePacketRecorder() {
+        return enablePacketRecorder;
+    }
+
+    /**
+     * @return the amount of packets recorded per player
+     */
+    public int packetRecorderSize() {
+        return packetRecorderSize;
+    }
+
+    /**
+     * @return the violation level that dumps a replay
+     */
+    public int packetRecorderDumpLevel() {
+        return packetRecorderDumpLevel;
+    }
+
     /**
      * @return violation notify message
      */
@@ -154,6 +190,12 @@ public final class ArcConfiguration extends Configurable {
         Arc.arc().checks().reload(this);
         Arc.arc().violations().reload(this);
         Arc.arc().punishment().reload(this);
+        Arc.arc().timings().reload(this);
+        Arc.arc().replays().reload(this);
+        Arc.arc().limiter().reload(this);
+        Arc.arc().latency().reload(this);
+        Arc.arc().tps().reload(this);
+        Arc.arc().exemptions().reload();
     }
 
 }
@@ -33,14 +33,9 @@ public final class CheckConfiguration extends Configurable {
     private ConfigurationSection section;
 
     /**
-     * Boolean check values
+     * The check actions, replaced as a whole when read so violations never see half of a reload.
      */
-    private boolean enabled, cancel, notify, ban, kick;
-
-    /**
-     * Violation levels
-     */
-    private int cancelLevel, notifyLevel, banLevel, kickLevel;
+    private volatile Actions actions;
 
     /**
      * Initialize this check configuration
@@ -56,18 +51,7 @@ public final class CheckConfiguration extends Configurable {
 
     @Override
     public void read(FileConfiguration configuration) {
-        // retrieve booleans
-        enabled = section.getBoolean("enabled");
-        cancel = section.getBoolean("cancel");
-        notify = section.getBoolean("notify");
-        ban = section.getBoolean("ban");
-        kick = section.getBoolean("kick");
-
-        // retrieve levels
-        cancelLevel = section.getInt("cancel-level");
-        notifyLevel = section.getInt("notify-every");
-        banLevel = section.getInt("ban-level");
-        kickLevel = section.getInt("kick-level");
+        actions = new Actions(section);
 
         // retrieve sub-types
         CheckSubType.getSubTypesFor(check).forEach(subType -> {
@@ -189,35 +173,35 @@ public final class CheckConfiguration extends Configurable {
      * @return if the check is enabled
      */
     public boolean enabled() {
-        return enabled;
+        return actions.enabled;
     }
 
     /**
      * @return if the check should cancel
      */
     public boolean cancel() {
-        return cancel;
+        return actions.cancel;
     }
 
     /**
      * @return if the check should notify
      */
     public boolean notifyViolation() {
-        return notify;
+        return actions.notify;
     }
 
     /**
      * @return if the check should ban
      */
     public boolean ban() {
-        return ban;
+        return actions.ban;
     }
 
     /**
      * @return if the check should kick.
      */
     public boolean kick() {
-        return kick;
+        return actions.kick;
     }
 
     /**
@@ -227,7 +211,8 @@ public final class CheckConfiguration extends Configurable {
      * @return {@code true} if so
      */
     public boolean shouldCancel(int violationLevel) {
-        return cancel() && violationLevel >= cancelLevel;
+        final Actions actions = this.actions;
+        return actions.cancel && violationLevel >= actions.cancelLevel;
     }
 
     /**
@@ -237,7 +222,8 @@ public final class CheckConfiguration extends Configurable {
      * @return {@code true} if so
      */
     public boolean shouldNotify(int violationLevel) {
-        return notifyViolation() && (notifyLevel == 1 || violationLevel % notifyLevel == 0);
+        final Actions actions = this.actions;
+        return actions.notify && (actions.notifyLevel == 1 || violationLevel % actions.notifyLevel == 0);
     }
 
     /**
@@ -247,7 +233,8 @@ public final class CheckConfiguration extends Configurable {
      * @return {@code true} if so
      */
     public boolean shouldBan(int violationLevel) {
-        return ban() && violationLevel >= banLevel;
+        final Actions actions = this.actions;
+        return actions.ban && violationLevel >= actions.banLevel;
     }
 
     /**
@@ -257,7 +244,8 @@ public final class CheckConfiguration extends Configurable {
      * @return {@code true} if so
      */
     public boolean shouldKick(int violationLevel) {
-        return kick() && violationLevel >= kickLevel;
+        final Actions actions = this.actions;
+        return actions.kick && violationLevel >= actions.kickLevel;
     }
 
     /**
@@ -270,4 +258,33 @@ public final class CheckConfiguration extends Configurable {
         return section.contains(valueName);
     }
 
+    /**
+     * The check actions and their violation levels
+     */
+    private static final class Actions {
+
+        /**
+         * Boolean check values
+         */
+        private final boolean enabled, cancel, notify, ban, kick;
+
+        /**
+         * Violation levels
+         */
+        private final int cancelLevel, notifyLevel, banLevel, kickLevel;
+
+        private Actions(ConfigurationSection section) {
+            enabled = section.getBoolean("enabled");
+            cancel = section.getBoolean("cancel");
+            notify = section.getBoolean("notify");
+            ban = section.getBoolean("ban");
+            kick = section.getBoolean("kick");
+
+            cancelLevel = section.getInt("cancel-level");
+            notifyLevel = section.getInt("notify-every");
+            banLevel = section.getInt("ban-level");
+            kickLevel = section.getInt("kick-level");
+        }
+    }
+
 }
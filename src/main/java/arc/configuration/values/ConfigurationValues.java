@@ -21,10 +21,29 @@ public enum ConfigurationValues {
     ENABLE_CHECK_TIMINGS(new ConfigurationValue<>("enable-check-timings", true)),
     ENABLE_TPS_HELPER(new ConfigurationValue<>("enable-tps-helper", true)),
     TPS_HELPER_LIMIT(new ConfigurationValue<>("tps-helper-limit", 17)),
+    TPS_HELPER_MAX_SAMPLE_INTERVAL(new ConfigurationValue<>("tps-helper-max-sample-interval", 4)),
+    TPS_HELPER_MAX_RELAX_PERCENT(new ConfigurationValue<>("tps-helper-max-relax-percent", 50)),
     VIOLATION_NOTIFY_MESSAGE(new ConfigurationValue<>("violation-notify-message", "%prefix% &9%player%&f has violated check &c%check%&8(&c%level%&8)&7")),
     ARC_COMMAND_NO_PERMISSION_MESSAGE(new ConfigurationValue<>("arc-command-no-permission-message", "Unknown command. Type /help for help.")),
     ARC_PREFIX(new ConfigurationValue<>("arc-prefix", "&8[&cArc&8]")),
     VIOLATION_DATA_TIMEOUT(new ConfigurationValue<>("violation-data-timeout", 30)),
+    VIOLATION_DECAY_HALF_LIFE(new ConfigurationValue<>("violation-decay-half-life", 0)),
+    ENABLE_PACKET_RECORDER(new ConfigurationValue<>("enable-packet-recorder", false)),
+    PACKET_RECORDER_SIZE(new ConfigurationValue<>("packet-recorder-size", 1200)),
+    PACKET_RECORDER_DUMP_LEVEL(new ConfigurationValue<>("packet-recorder-dump-level", 10)),
+    ENABLE_PACKET_LIMITER(new ConfigurationValue<>("enable-packet-limiter", true)),
+    PACKET_LIMITER_MOVEMENT_RATE(new ConfigurationValue<>("packet-limiter-movement-rate", 30)),
+    PACKET_LIMITER_MOVEMENT_BURST(new ConfigurationValue<>("packet-limiter-movement-burst", 100)),
+    PACKET_LIMITER_SWING_RATE(new ConfigurationValue<>("packet-limiter-swing-rate", 30)),
+    PACKET_LIMITER_SWING_BURST(new ConfigurationValue<>("packet-limiter-swing-burst", 60)),
+    PACKET_LIMITER_PAYLOAD_RATE(new ConfigurationValue<>("packet-limiter-payload-rate", 20)),
+    PACKET_LIMITER_PAYLOAD_BURST(new ConfigurationValue<>("packet-limiter-payload-burst", 40)),
+    PACKET_LIMITER_USE_ENTITY_RATE(new ConfigurationValue<>("packet-limiter-use-entity-rate", 30)),
+    PACKET_LIMITER_USE_ENTITY_BURST(new ConfigurationValue<>("packet-limiter-use-entity-burst", 60)),
+    PACKET_LIMITER_WINDOW_CLICK_RATE(new ConfigurationValue<>("packet-limiter-window-click-rate", 40)),
+    PACKET_LIMITER_WINDOW_CLICK_BURST(new ConfigurationValue<>("packet-limiter-window-click-burst", 80)),
+    ENABLE_LATENCY_PROBES(new ConfigurationValue<>("enable-latency-probes", true)),
+    LATENCY_PROBE_INTERVAL(new ConfigurationValue<>("latency-probe-interval", 20)),
     ENABLE_EVENT_API(new ConfigurationValue<>("enable-event-api", true));
 
     /**
@@ -0,0 +1,299 @@
+package arc.data;
+
+import arc.data.combat.CombatData;
+import arc.data.moving.MovingData;
+import arc.data.packet.PacketData;
+import arc.data.player.PlayerData;
+import arc.data.player.PlayerSnapshot;
+import arc.exemption.Exemptions;
+import arc.latency.Latency;
+import arc.packet.limiter.PacketBuckets;
+import arc.replay.PacketRecording;
+import arc.violation.Violations;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds every piece of data for a player.
+ * A context is created when the player joins and removed when they leave,
+ * it is looked up once per packet or event and then passed to listeners and checks.
+ * If a player has no context they have not fully joined yet, or already left.
+ */
+public final class PlayerContext {
+
+    /**
+     * The register
+     */
+    private static final Map<UUID, PlayerContext> REGISTER = new ConcurrentHashMap<>();
+
+    /**
+     * Get the context for a player
+     *
+     * @param player the player
+     * @return the context or {@code null} if the player has no context.
+     */
+    public static PlayerContext get(Player player) {
+        return REGISTER.get(player.getUniqueId());
+    }
+
+    /**
+     * Register a context
+     *
+     * @param context the context
+     */
+    public static void register(PlayerContext context) {
+        REGISTER.put(context.player.getUniqueId(), context);
+    }
+
+    /**
+     * Unregister a context
+     * Only removes the context if it is still the current one for the player.
+     *
+     * @param context the context
+     */
+    public static void unregister(PlayerContext context) {
+        REGISTER.remove(context.player.getUniqueId(), context);
+    }
+
+    /**
+     * @return every registered context
+     */
+    public static Collection<PlayerContext> all() {
+        return REGISTER.values();
+    }
+
+    /**
+     * Unregister all contexts
+     */
+    public static void clear() {
+        REGISTER.clear();
+    }
+
+    /**
+     * The player
+     */
+    private final Player player;
+
+    /**
+     * Moving data
+     */
+    private final MovingData moving = new MovingData();
+
+    /**
+     * Packet data
+     */
+    private final PacketData packets = new PacketData();
+
+    /**
+     * Combat data
+     */
+    private final CombatData combat = new CombatData();
+
+    /**
+     * Player data
+     */
+    private final PlayerData data = new PlayerData();
+
+    /**
+     * Exemptions
+     */
+    private final Exemptions exemptions = new Exemptions();
+
+    /**
+     * Packet limiter buckets
+     */
+    private final PacketBuckets buckets = new PacketBuckets();
+
+    /**
+     * Latency
+     */
+    private final Latency latency = new Latency();
+
+    /**
+     * Violations
+     */
+    private final Violations violations;
+
+    /**
+     * The packet recording, if recording is enabled.
+     */
+    private volatile PacketRecording recording;
+
+    /**
+     * If a replay was dumped this session
+     */
+    private final AtomicBoolean replayDumped = new AtomicBoolean();
+
+    /**
+     * If this context is simulated, violations are counted but never acted on.
+     */
+    private final boolean simulated;
+
+    /**
+     * The bypass permissions, see {@link arc.permissions.Permissions#bypassMask(Player)}
+     */
+    private volatile long bypass;
+
+    /**
+     * The player state as of the last tick
+     */
+    private volatile PlayerSnapshot snapshot;
+
+    /**
+     * Initialize
+     *
+     * @param player     the player
+     * @param violations their violations
+     */
+    public PlayerContext(Player player, Violations violations) {
+        this(player, violations, false);
+    }
+
+    /**
+     * Initialize
+     *
+     * @param player     the player
+     * @param violations their violations
+     * @param simulated  if this context is simulated, see {@link #simulated()}
+     */
+    public PlayerContext(Player player, Violations violations, boolean simulated) {
+        this.player = player;
+        this.violations = violations;
+        this.simulated = simulated;
+        this.snapshot = PlayerSnapshot.capture(player);
+    }
+
+    /**
+     * @return the player
+     */
+    public Player player() {
+        return player;
+    }
+
+    /**
+     * @return moving data
+     */
+    public MovingData moving() {
+        return moving;
+    }
+
+    /**
+     * @return packet data
+     */
+    public PacketData packets() {
+        return packets;
+    }
+
+    /**
+     * @return combat data
+     */
+    public CombatData combat() {
+        return combat;
+    }
+
+    /**
+     * @return player data
+     */
+    public PlayerData data() {
+        return data;
+    }
+
+    /**
+     * @return exemptions
+     */
+    public Exemptions exemptions() {
+        return exemptions;
+    }
+
+    /**
+     * @return packet limiter buckets
+     */
+    public PacketBuckets buckets() {
+        return buckets;
+    }
+
+    /**
+     * @return latency
+     */
+    public Latency latency() {
+        return latency;
+    }
+
+    /**
+     * @return the bypass permissions
+     */
+    public long bypass() {
+        return bypass;
+    }
+
+    /**
+     * @param bypass the bypass permissions
+     */
+    public void bypass(long bypass) {
+        this.bypass = bypass;
+    }
+
+    /**
+     * @return the player state as of the last tick, safe to read from any thread.
+     */
+    public PlayerSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Publish a new snapshot, main thread only.
+     *
+     * @param snapshot the snapshot
+     */
+    public void snapshot(PlayerSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * @return violations
+     */
+    public Violations violations() {
+        return violations;
+    }
+
+    /**
+     * @return the packet recording or {@code null} if nothing has been recorded.
+     */
+    public PacketRecording recording() {
+        return recording;
+    }
+
+    /**
+     * Set the packet recording
+     *
+     * @param recording the recording
+     */
+    public void recording(PacketRecording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Mark that a replay was dumped, only one replay is dumped per session.
+     *
+     * @return {@code true} if no replay was dumped before
+     */
+    public boolean markReplayDumped() {
+        return replayDumped.compareAndSet(false, true);
+    }
+
+    /**
+     * A simulated context is never registered, it is used to feed packets through the checks without affecting the player.
+     * Violations are counted but do not notify, punish, fire events or cancel anything.
+     *
+     * @return {@code true} if this context is simulated
+     */
+    public boolean simulated() {
+        return simulated;
+    }
+
+}
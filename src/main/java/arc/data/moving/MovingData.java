@@ -2,12 +2,9 @@ package arc.data.moving;
 
 import arc.data.Data;
 import arc.utility.math.MathUtil;
+import arc.world.ChunkCache;
 import org.bukkit.Location;
-import org.bukkit.entity.Player;
-
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.World;
 
 /**
  * Represents player moving data.
@@ -15,40 +12,33 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class MovingData implements Data {
 
     /**
-     * The register
+     * Environment flags, see {@link #environment()}
      */
-    private static final Map<UUID, MovingData> REGISTER = new ConcurrentHashMap<>();
+    public static final int ON_GROUND = 1, ON_ICE = 1 << 1, CLIMBABLE = 1 << 2, IN_LIQUID = 1 << 3, UNKNOWN = 1 << 4;
 
     /**
-     * Get data
-     *
-     * @param player the player
-     * @return the data
+     * From position
+     * To position
+     * The ground position
      */
-    public static MovingData get(Player player) {
-        return REGISTER.computeIfAbsent(player.getUniqueId(), uuid -> new MovingData());
-    }
+    private double fromX, fromY, fromZ, toX, toY, toZ, groundX, groundY, groundZ;
 
     /**
-     * Remove data
-     *
-     * @param player the player
+     * From rotation
+     * To rotation
      */
-    public static void remove(Player player) {
-        REGISTER.remove(player.getUniqueId());
-    }
+    private float fromYaw, fromPitch, toYaw, toPitch;
 
     /**
-     * From movement
-     * To movement
-     * the ground location
+     * If a position has been set
+     * If a ground position has been set
      */
-    private Location from, to, ground;
+    private boolean hasPosition, hasGround;
 
     /**
      * Arc ground and client ground
      */
-    private boolean clientOnGround, wasClientOnGround, onGround, wasOnGround;
+    private boolean clientOnGround, wasClientOnGround, wasOnGround;
 
     /**
      * If the client position packet is on-ground.
@@ -57,20 +47,31 @@ public final class MovingData implements Data {
 
     /**
      * Ascending/Descending state
-     * If we have a climbable
      * If we are climbing or not
      * If we are sneaking/sprinting
-     * If we are on ice
-     * If we are in liquid
-     * If we were in liquid
      */
-    private boolean ascending, descending, hasClimbable, climbing, sneaking, sprinting, onIce, inLiquid, wasInLiquid;
+    private boolean ascending, descending, climbing, sneaking, sprinting;
+
+    /**
+     * The current and last environment flags
+     */
+    private int environment, lastEnvironment;
+
+    /**
+     * Half the width of the player bounding box.
+     */
+    private double boxHalfWidth = 0.3;
 
     /**
      * The various packet counts.
      */
     private int flyingPackets, positionPackets, positionLookPackets, lookPackets;
 
+    /**
+     * The amount of moves checked, used to sample checks while the TPS helper is engaged.
+     */
+    private int moves;
+
     /**
      * If any of the packets should be cancelled.
      */
@@ -104,10 +105,18 @@ public final class MovingData implements Data {
     private long lastMovingUpdate, lastFlyingPacket;
 
     /**
-     * The descending location for distance tracking.
-     * The valid falling location for distance checking.
+     * The last movement packet as {@link System#nanoTime()}, {@code 0} if none yet.
+     * How far ahead of real time movement packets are, in nanoseconds.
+     * The balance not reduced by cancelled packets, in nanoseconds.
+     */
+    private long lastTimerPacket, timerBalance, uncancelledTimerBalance;
+
+    /**
+     * The descending Y for distance tracking.
+     * The valid falling Y for distance checking.
+     * {@code NaN} if not set.
      */
-    private Location descendingLocation, validFallingLocation;
+    private double descendingY = Double.NaN, validFallingY = Double.NaN;
 
     /**
      * If the player has failed no-fall.
@@ -115,9 +124,10 @@ public final class MovingData implements Data {
     private boolean failedNoFall;
 
     /**
-     * The water location for distance tracking.
+     * The water Y for distance tracking.
+     * {@code NaN} if not set.
      */
-    private Location waterLocation;
+    private double waterY = Double.NaN;
 
     /**
      * The amount of no distance changes
@@ -135,28 +145,135 @@ public final class MovingData implements Data {
      */
     private int noMovementAmount, similarMovementAmount;
 
-    public Location from() {
-        return from;
+    /**
+     * The last chunk looked up for this player
+     */
+    private final ChunkCache chunkCache = new ChunkCache();
+
+    /**
+     * Set the new position, the current position becomes the from position.
+     *
+     * @param x X
+     * @param y Y
+     * @param z Z
+     */
+    public void position(double x, double y, double z) {
+        if (hasPosition) {
+            fromX = toX;
+            fromY = toY;
+            fromZ = toZ;
+        } else {
+            fromX = x;
+            fromY = y;
+            fromZ = z;
+            hasPosition = true;
+        }
+        toX = x;
+        toY = y;
+        toZ = z;
+    }
+
+    /**
+     * Set the new rotation, the current rotation becomes the from rotation.
+     *
+     * @param yaw   yaw
+     * @param pitch pitch
+     */
+    public void rotation(float yaw, float pitch) {
+        fromYaw = toYaw;
+        fromPitch = toPitch;
+        toYaw = yaw;
+        toPitch = pitch;
+    }
+
+    /**
+     * Set the ground position to the current position.
+     */
+    public void groundToCurrent() {
+        groundX = toX;
+        groundY = toY;
+        groundZ = toZ;
+        hasGround = true;
+    }
+
+    /**
+     * Create a location from the from position, only use for teleports.
+     *
+     * @param world the world
+     * @return a new location
+     */
+    public Location fromLocation(World world) {
+        return new Location(world, fromX, fromY, fromZ, fromYaw, fromPitch);
+    }
+
+    /**
+     * Create a location from the ground position, only use for teleports.
+     *
+     * @param world the world
+     * @return a new location
+     */
+    public Location groundLocation(World world) {
+        return new Location(world, groundX, groundY, groundZ, toYaw, toPitch);
+    }
+
+    public double fromX() {
+        return fromX;
+    }
+
+    public double fromY() {
+        return fromY;
+    }
+
+    public double fromZ() {
+        return fromZ;
+    }
+
+    public double toX() {
+        return toX;
+    }
+
+    public double toY() {
+        return toY;
     }
 
-    public void from(Location from) {
-        this.from = from;
+    public double toZ() {
+        return toZ;
     }
 
-    public Location to() {
-        return to;
+    public float fromYaw() {
+        return fromYaw;
     }
 
-    public void to(Location to) {
-        this.to = to;
+    public float fromPitch() {
+        return fromPitch;
     }
 
-    public Location ground() {
-        return ground;
+    public float toYaw() {
+        return toYaw;
     }
 
-    public void ground(Location ground) {
-        this.ground = ground;
+    public float toPitch() {
+        return toPitch;
+    }
+
+    public double groundX() {
+        return groundX;
+    }
+
+    public double groundY() {
+        return groundY;
+    }
+
+    public double groundZ() {
+        return groundZ;
+    }
+
+    public boolean hasPosition() {
+        return hasPosition;
+    }
+
+    public boolean hasGround() {
+        return hasGround;
     }
 
     public boolean clientOnGround() {
@@ -175,12 +292,32 @@ public final class MovingData implements Data {
         this.wasClientOnGround = wasClientOnGround;
     }
 
-    public boolean onGround() {
-        return onGround;
+    /**
+     * @return the environment flags from the last move.
+     */
+    public int environment() {
+        return environment;
     }
 
-    public void onGround(boolean onGround) {
-        this.onGround = onGround;
+    /**
+     * Set the environment flags, the current flags become the last flags.
+     *
+     * @param environment the flags
+     */
+    public void environment(int environment) {
+        this.lastEnvironment = this.environment;
+        this.environment = environment;
+    }
+
+    /**
+     * @return the environment flags from the move before the last.
+     */
+    public int lastEnvironment() {
+        return lastEnvironment;
+    }
+
+    public boolean onGround() {
+        return (environment & ON_GROUND) != 0;
     }
 
     public boolean wasOnGround() {
@@ -208,11 +345,7 @@ public final class MovingData implements Data {
     }
 
     public boolean hasClimbable() {
-        return hasClimbable;
-    }
-
-    public void hasClimbable(boolean hasClimbable) {
-        this.hasClimbable = hasClimbable;
+        return (environment & CLIMBABLE) != 0;
     }
 
     public boolean climbing() {
@@ -239,6 +372,14 @@ public final class MovingData implements Data {
         this.sprinting = sprinting;
     }
 
+    public int moves() {
+        return moves;
+    }
+
+    public void moves(int moves) {
+        this.moves = moves;
+    }
+
     public int flyingPackets() {
         return flyingPackets;
     }
@@ -356,11 +497,11 @@ public final class MovingData implements Data {
     }
 
     public boolean onIce() {
-        return onIce;
+        return (environment & ON_ICE) != 0;
     }
 
-    public void onIce(boolean onIce) {
-        this.onIce = onIce;
+    public boolean wasOnIce() {
+        return (lastEnvironment & ON_ICE) != 0;
     }
 
     public double vertical() {
@@ -388,11 +529,7 @@ public final class MovingData implements Data {
     }
 
     public boolean inLiquid() {
-        return inLiquid;
-    }
-
-    public void inLiquid(boolean inLiquid) {
-        this.inLiquid = inLiquid;
+        return (environment & IN_LIQUID) != 0;
     }
 
     public long lastFlyingPacket() {
@@ -403,6 +540,30 @@ public final class MovingData implements Data {
         this.lastFlyingPacket = lastFlyingPacket;
     }
 
+    public long lastTimerPacket() {
+        return lastTimerPacket;
+    }
+
+    public void lastTimerPacket(long lastTimerPacket) {
+        this.lastTimerPacket = lastTimerPacket;
+    }
+
+    public long timerBalance() {
+        return timerBalance;
+    }
+
+    public void timerBalance(long timerBalance) {
+        this.timerBalance = timerBalance;
+    }
+
+    public long uncancelledTimerBalance() {
+        return uncancelledTimerBalance;
+    }
+
+    public void uncancelledTimerBalance(long uncancelledTimerBalance) {
+        this.uncancelledTimerBalance = uncancelledTimerBalance;
+    }
+
     public int invalidGround() {
         return invalidGround;
     }
@@ -419,20 +580,20 @@ public final class MovingData implements Data {
         this.failedNoFall = failedNoFall;
     }
 
-    public Location descendingLocation() {
-        return descendingLocation;
+    public double descendingY() {
+        return descendingY;
     }
 
-    public void descendingLocation(Location descendingLocation) {
-        this.descendingLocation = descendingLocation;
+    public void descendingY(double descendingY) {
+        this.descendingY = descendingY;
     }
 
-    public Location validFallingLocation() {
-        return validFallingLocation;
+    public double validFallingY() {
+        return validFallingY;
     }
 
-    public void validFallingLocation(Location validFallingLocation) {
-        this.validFallingLocation = validFallingLocation;
+    public void validFallingY(double validFallingY) {
+        this.validFallingY = validFallingY;
     }
 
     public boolean cancelFlying() {
@@ -467,12 +628,12 @@ public final class MovingData implements Data {
         this.liquidTime = MathUtil.clampInt(liquidTime, 0, 100);
     }
 
-    public Location waterLocation() {
-        return waterLocation;
+    public double waterY() {
+        return waterY;
     }
 
-    public void waterLocation(Location waterLocation) {
-        this.waterLocation = waterLocation;
+    public void waterY(double waterY) {
+        this.waterY = waterY;
     }
 
     public int noDistanceChanges() {
@@ -514,4 +675,20 @@ public final class MovingData implements Data {
     public void similarMovementAmount(int similarMovementAmount) {
         this.similarMovementAmount = MathUtil.clampInt(similarMovementAmount, 0, 100);
     }
+
+    public boolean unknownEnvironment() {
+        return (environment & UNKNOWN) != 0;
+    }
+
+    public double boxHalfWidth() {
+        return boxHalfWidth;
+    }
+
+    public void boxHalfWidth(double boxHalfWidth) {
+        this.boxHalfWidth = boxHalfWidth;
+    }
+
+    public ChunkCache chunkCache() {
+        return chunkCache;
+    }
 }
@@ -1,11 +1,10 @@
 package arc.data.packet;
 
 import arc.data.Data;
-import org.bukkit.entity.Player;
+import arc.utility.math.SlidingWindow;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles storing packet
@@ -13,40 +12,24 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class PacketData implements Data {
 
     /**
-     * The register
-     */
-    private static final Map<UUID, PacketData> REGISTER = new ConcurrentHashMap<>();
-
-    /**
-     * Get data
-     *
-     * @param player the player
-     * @return the data
+     * Swing packet count
      */
-    public static PacketData get(Player player) {
-        return REGISTER.computeIfAbsent(player.getUniqueId(), uuid -> new PacketData());
-    }
+    private int swingPacketCount;
 
     /**
-     * Remove data
-     *
-     * @param player the player
+     * If swing packets should be cancelled.
      */
-    public static void remove(Player player) {
-        REGISTER.remove(player.getUniqueId());
-    }
+    private boolean cancelSwingPackets;
 
     /**
-     * Swing packet count
-     * Payload packet count
+     * Payload packets received within the check interval
      */
-    private int swingPacketCount, payloadPacketCount;
+    private final SlidingWindow payloadPackets = new SlidingWindow();
 
     /**
-     * If swing packets should be cancelled.
-     * If payload packets should be cancelled.
+     * Payload bytes received within the last second, per channel.
      */
-    private boolean cancelSwingPackets, cancelPayloadPackets;
+    private final Map<String, SlidingWindow> payloadBytes = new HashMap<>();
 
     public int swingPacketCount() {
         return swingPacketCount;
@@ -71,27 +54,21 @@ public final class PacketData implements Data {
         this.cancelSwingPackets = cancelSwingPackets;
     }
 
-    public int payloadPacketCount() {
-        return payloadPacketCount;
-    }
-
-    public void payloadPacketCount(int payloadPacketCount) {
-        this.payloadPacketCount = payloadPacketCount;
-    }
-
     /**
-     * increment the payload packet count
+     * @return payload packets received within the check interval
      */
-    public void incrementPayloadPacketCount() {
-        payloadPacketCount++;
+    public SlidingWindow payloadPackets() {
+        return payloadPackets;
     }
 
-    public boolean cancelPayloadPackets() {
-        return cancelPayloadPackets;
-    }
-
-    public void cancelPayloadPackets(boolean cancelPayloadPackets) {
-        this.cancelPayloadPackets = cancelPayloadPackets;
+    /**
+     * Get the payload bytes window for a channel
+     *
+     * @param channel the channel
+     * @return the window
+     */
+    public SlidingWindow payloadBytes(String channel) {
+        return payloadBytes.computeIfAbsent(channel, ignored -> new SlidingWindow());
     }
 
 }
@@ -0,0 +1,191 @@
+package arc.data.player;
+
+import org.bukkit.GameMode;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * The state of a player as of the last tick, captured on the main thread.
+ * Checks running on packet threads read this instead of the live player, which is not safe off the main thread.
+ * A snapshot is never modified, the state is captured every tick and a new snapshot is only published when it changed,
+ * see {@link arc.heartbeat.Heartbeat}
+ */
+public final class PlayerSnapshot {
+
+    /**
+     * Capture the state of a player, main thread only.
+     *
+     * @param player the player
+     * @return the snapshot
+     */
+    public static PlayerSnapshot capture(Player player) {
+        return capture(player, null);
+    }
+
+    /**
+     * Capture the state of a player, main thread only.
+     *
+     * @param player   the player
+     * @param previous the previous snapshot, may be {@code null}
+     * @return the previous snapshot if nothing changed, otherwise a new snapshot.
+     */
+    public static PlayerSnapshot capture(Player player, PlayerSnapshot previous) {
+        final GameMode gameMode = player.getGameMode();
+        final boolean allowFlight = player.getAllowFlight();
+        final boolean flying = player.isFlying();
+        final boolean insideVehicle = player.isInsideVehicle();
+        final boolean dead = player.isDead();
+        final float fallDistance = player.getFallDistance();
+        final double eyeHeight = player.getEyeHeight();
+        final float walkSpeed = player.getWalkSpeed();
+        final float flySpeed = player.getFlySpeed();
+
+        // only list the effects when one of them is active, listing copies every effect.
+        int speed = -1, slowness = -1, jump = -1, blindness = -1;
+        if (player.hasPotionEffect(PotionEffectType.SPEED)
+                || player.hasPotionEffect(PotionEffectType.SLOW)
+                || player.hasPotionEffect(PotionEffectType.JUMP)
+                || player.hasPotionEffect(PotionEffectType.BLINDNESS)) {
+            for (PotionEffect effect : player.getActivePotionEffects()) {
+                final PotionEffectType type = effect.getType();
+                if (type.equals(PotionEffectType.SPEED)) {
+                    speed = effect.getAmplifier();
+                } else if (type.equals(PotionEffectType.SLOW)) {
+                    slowness = effect.getAmplifier();
+                } else if (type.equals(PotionEffectType.JUMP)) {
+                    jump = effect.getAmplifier();
+                } else if (type.equals(PotionEffectType.BLINDNESS)) {
+                    blindness = effect.getAmplifier();
+                }
+            }
+        }
+
+        if (previous != null
+                && previous.gameMode == gameMode
+                && previous.allowFlight == allowFlight
+                && previous.flying == flying
+                && previous.insideVehicle == insideVehicle
+                && previous.dead == dead
+                && previous.speed == speed
+                && previous.slowness == slowness
+                && previous.jump == jump
+                && previous.blindness == blindness
+                && previous.fallDistance == fallDistance
+                && previous.eyeHeight == eyeHeight
+                && previous.walkSpeed == walkSpeed
+                && previous.flySpeed == flySpeed) {
+            return previous;
+        }
+
+        return new PlayerSnapshot(gameMode, allowFlight, flying, insideVehicle, dead,
+                speed, slowness, jump, blindness, fallDistance, eyeHeight, walkSpeed, flySpeed);
+    }
+
+    /**
+     * The game mode
+     */
+    private final GameMode gameMode;
+
+    /**
+     * If the player is allowed to fly
+     * If the player is flying
+     * If the player is inside a vehicle
+     * If the player is dead
+     */
+    private final boolean allowFlight, flying, insideVehicle, dead;
+
+    /**
+     * Potion effect amplifiers, {@code -1} if the player does not have the effect.
+     */
+    private final int speed, slowness, jump, blindness;
+
+    /**
+     * The fall distance
+     * The walk and fly speed
+     */
+    private final float fallDistance, walkSpeed, flySpeed;
+
+    /**
+     * The eye height
+     */
+    private final double eyeHeight;
+
+    private PlayerSnapshot(GameMode gameMode, boolean allowFlight, boolean flying, boolean insideVehicle, boolean dead,
+                           int speed, int slowness, int jump, int blindness,
+                           float fallDistance, double eyeHeight, float walkSpeed, float flySpeed) {
+        this.gameMode = gameMode;
+        this.allowFlight = allowFlight;
+        this.flying = flying;
+        this.insideVehicle = insideVehicle;
+        this.dead = dead;
+        this.speed = speed;
+        this.slowness = slowness;
+        this.jump = jump;
+        this.blindness = blindness;
+        this.fallDistance = fallDistance;
+        this.eyeHeight = eyeHeight;
+        this.walkSpeed = walkSpeed;
+        this.flySpeed = flySpeed;
+    }
+
+    /**
+     * @return {@code true} if the player is in creative or spectator, is allowed to fly or is flying.
+     */
+    public boolean canFly() {
+        return gameMode == GameMode.CREATIVE || gameMode == GameMode.SPECTATOR || allowFlight || flying;
+    }
+
+    public GameMode gameMode() {
+        return gameMode;
+    }
+
+    public boolean allowFlight() {
+        return allowFlight;
+    }
+
+    public boolean flying() {
+        return flying;
+    }
+
+    public boolean insideVehicle() {
+        return insideVehicle;
+    }
+
+    public boolean dead() {
+        return dead;
+    }
+
+    public int speed() {
+        return speed;
+    }
+
+    public int slowness() {
+        return slowness;
+    }
+
+    public int jump() {
+        return jump;
+    }
+
+    public int blindness() {
+        return blindness;
+    }
+
+    public float fallDistance() {
+        return fallDistance;
+    }
+
+    public double eyeHeight() {
+        return eyeHeight;
+    }
+
+    public float walkSpeed() {
+        return walkSpeed;
+    }
+
+    public float flySpeed() {
+        return flySpeed;
+    }
+
+}
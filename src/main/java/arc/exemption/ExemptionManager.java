@@ -1,16 +1,17 @@
 package arc.exemption;
 
+import arc.Arc;
 import arc.check.CheckSubType;
 import arc.check.CheckType;
+import arc.data.PlayerContext;
 import arc.exemption.type.ExemptionType;
+import arc.heartbeat.Heartbeat;
 import arc.permissions.Permissions;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 
 import java.io.Closeable;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages player exemptions
@@ -18,40 +19,71 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class ExemptionManager implements Closeable {
 
     /**
-     * Exemptions by player
+     * How often bypass permissions are resolved again, in ticks.
+     * Permission plugins do not tell us when permissions change.
      */
-    private final Map<UUID, Exemptions> exemptions = new ConcurrentHashMap<>();
+    private static final long BYPASS_REFRESH_INTERVAL = 100;
+
+    /**
+     * The bypass refresh task
+     */
+    private Heartbeat.Registration refresh;
+
+    /**
+     * Initialize
+     *
+     * @param heartbeat the heartbeat
+     */
+    public void initialize(Heartbeat heartbeat) {
+        refresh = heartbeat.register(null, BYPASS_REFRESH_INTERVAL, this::refreshBypass);
+    }
 
     /**
      * Invoked when a player joins
      *
-     * @param player the player
+     * @param context the player context
+     */
+    public void onPlayerJoin(PlayerContext context) {
+        refreshBypass(context);
+        doJoinExemptions(context);
+    }
+
+    /**
+     * Resolve the bypass permissions of a player again.
+     * Exemption queries only test bits, so this is the only place permissions are looked up.
+     *
+     * @param context the player context
      */
-    public void onPlayerJoin(Player player) {
-        exemptions.put(player.getUniqueId(), new Exemptions());
-        doJoinExemptions(player);
+    public void refreshBypass(PlayerContext context) {
+        context.bypass(Permissions.bypassMask(context.player()));
+    }
+
+    /**
+     * Resolve the bypass permissions of every player again.
+     */
+    public void reload() {
+        PlayerContext.all().forEach(this::refreshBypass);
     }
 
     /**
      * Exempt players when joining.
-     * MORE_PACKETS because sometimes when joining their is client lag that will batch and spam packets.
+     * MORE_PACKETS and TIMER because sometimes when joining their is client lag that will batch and spam packets.
      *
-     * @param player player
+     * @param context the player context
      */
-    private void doJoinExemptions(Player player) {
-        addExemption(player, CheckType.MORE_PACKETS, 500);
-        addExemption(player, CheckType.NOFALL, 500);
+    private void doJoinExemptions(PlayerContext context) {
+        addExemption(context, CheckType.MORE_PACKETS, 500);
+        addExemption(context, CheckType.TIMER, 500);
+        addExemption(context, CheckType.NOFALL, 500);
     }
 
     /**
      * Invoked when a player leaves
      *
-     * @param player the player
+     * @param context the player context
      */
-    public void onPlayerLeave(Player player) {
-        final Exemptions exemptions = this.exemptions.get(player.getUniqueId());
-        this.exemptions.remove(player.getUniqueId());
-        exemptions.clear();
+    public void onPlayerLeave(PlayerContext context) {
+        context.exemptions().clear();
     }
 
     /**
@@ -62,15 +94,25 @@ public final class ExemptionManager implements Closeable {
      * @return {@code true} if so
      */
     public boolean isPlayerExempt(Player player, CheckType check) {
+        final PlayerContext context = PlayerContext.get(player);
+        if (context == null) return isPlayerExemptFromCheck(player, check) || (isFlying(player) && isExemptWhenFlying(check));
+        return isPlayerExempt(context, check);
+    }
+
+    /**
+     * Check if a player is exempt
+     *
+     * @param context the player context
+     * @param check   the check
+     * @return {@code true} if so
+     */
+    public boolean isPlayerExempt(PlayerContext context, CheckType check) {
         // check general exemption
-        if (isPlayerExemptFromCheck(player, check)) return true;
+        if ((context.bypass() & Permissions.bit(check)) != 0) return true;
         // check flying status
-        if (isFlying(player) && isExemptWhenFlying(check)) return true;
+        if (context.snapshot().canFly() && isExemptWhenFlying(check)) return true;
         // check other added exemptions
-        final Exemptions exemptions = this.exemptions.get(player.getUniqueId());
-        if (exemptions == null) return false;
-
-        return exemptions.isExempt(check);
+        return context.exemptions().isExempt(check);
     }
 
     /**
@@ -81,7 +123,30 @@ public final class ExemptionManager implements Closeable {
      * @return {@code true} if so
      */
     public boolean isPlayerExempt(Player player, CheckSubType subType) {
-        return player.hasPermission(Permissions.ARC_BYPASS + "." + subType.from().category().name().toLowerCase() + "." + subType.from().getName() + "." + subType.getName());
+        final PlayerContext context = PlayerContext.get(player);
+        if (context == null) return Permissions.canBypassSubType(player, subType);
+        return isPlayerExempt(context, subType);
+    }
+
+    /**
+     * Check if a player is exempt
+     *
+     * @param context the player context
+     * @param subType the sub-type
+     * @return {@code true} if so
+     */
+    public boolean isPlayerExempt(PlayerContext context, CheckSubType subType) {
+        return (context.bypass() & Permissions.bit(subType)) != 0;
+    }
+
+    /**
+     * Check if a player can bypass every check
+     *
+     * @param context the player context
+     * @return {@code true} if so
+     */
+    public boolean isPlayerExemptFromAll(PlayerContext context) {
+        return (context.bypass() & Permissions.BYPASS_ALL) != 0;
     }
 
     /**
@@ -103,7 +168,19 @@ public final class ExemptionManager implements Closeable {
      * @return {@code true} if so
      */
     public boolean isPlayerExempt(Player player, ExemptionType type) {
-        return exemptions.get(player.getUniqueId()).isExempt(type);
+        final PlayerContext context = PlayerContext.get(player);
+        return context != null && isPlayerExempt(context, type);
+    }
+
+    /**
+     * Check if a player is exempt from a certain type
+     *
+     * @param context the player context
+     * @param type    the check
+     * @return {@code true} if so
+     */
+    public boolean isPlayerExempt(PlayerContext context, ExemptionType type) {
+        return context.exemptions().isExempt(type);
     }
 
     /**
@@ -111,11 +188,22 @@ public final class ExemptionManager implements Closeable {
      *
      * @param player   the player
      * @param check    the check
-     * @param duration the duration
+     * @param duration the duration in milliseconds
      */
     public void addExemption(Player player, CheckType check, long duration) {
-        final Exemptions exemptions = this.exemptions.get(player.getUniqueId());
-        exemptions.addExemption(check, System.currentTimeMillis() + duration);
+        final PlayerContext context = PlayerContext.get(player);
+        if (context != null) addExemption(context, check, duration);
+    }
+
+    /**
+     * Add an exemption
+     *
+     * @param context  the player context
+     * @param check    the check
+     * @param duration the duration in milliseconds
+     */
+    public void addExemption(PlayerContext context, CheckType check, long duration) {
+        context.exemptions().addExemption(check, TimeUnit.MILLISECONDS.toNanos(duration));
     }
 
     /**
@@ -125,7 +213,8 @@ public final class ExemptionManager implements Closeable {
      * @param type   the type
      */
     public void addExemption(Player player, ExemptionType type) {
-        exemptions.get(player.getUniqueId()).addExemption(type);
+        final PlayerContext context = PlayerContext.get(player);
+        if (context != null) context.exemptions().addExemption(type);
     }
 
     /**
@@ -135,11 +224,12 @@ public final class ExemptionManager implements Closeable {
      * @param type   the type
      */
     public void removeExemption(Player player, ExemptionType type) {
-        exemptions.get(player.getUniqueId()).removeExemption(type);
+        final PlayerContext context = PlayerContext.get(player);
+        if (context != null) context.exemptions().removeExemption(type);
     }
 
     /**
-     * Check if the player is flying
+     * Check if the player is flying, main thread only.
      *
      * @param player the player
      * @return {@code true}
@@ -163,7 +253,7 @@ public final class ExemptionManager implements Closeable {
 
     @Override
     public void close() {
-        exemptions.values().forEach(Exemptions::clear);
-        exemptions.clear();
+        if (refresh != null) Arc.arc().heartbeat().unregister(refresh);
+        refresh = null;
     }
 }
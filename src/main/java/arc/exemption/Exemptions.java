@@ -3,31 +3,43 @@ package arc.exemption;
 import arc.check.CheckType;
 import arc.exemption.type.ExemptionType;
 
-import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Player exemption data
+ * Timed exemptions are {@link System#nanoTime()} deadlines, so they are not affected by the wall clock.
+ * Lookups never modify anything, an expired deadline simply no longer applies.
  */
 public final class Exemptions {
 
     /**
-     * Exemption data
+     * No deadline
      */
-    private final Map<CheckType, Long> exemptions = new HashMap<>();
+    private static final long NONE = Long.MIN_VALUE;
 
     /**
-     * Set of exemption types
+     * Exemption deadlines, indexed by check ordinal.
      */
-    private final List<ExemptionType> exemptionTypes = new ArrayList<>();
+    private final AtomicLongArray deadlines = new AtomicLongArray(CheckType.values().length);
+
+    /**
+     * Exemption types, one bit per ordinal.
+     */
+    private final AtomicInteger types = new AtomicInteger();
+
+    public Exemptions() {
+        clear();
+    }
 
     /**
      * Add an exemption
      *
      * @param check    the check
-     * @param duration the duration
+     * @param duration the duration in nanoseconds
      */
     public void addExemption(CheckType check, long duration) {
-        exemptions.put(check, duration);
+        exempt(check.ordinal(), duration);
     }
 
     /**
@@ -36,7 +48,7 @@ public final class Exemptions {
      * @param type the type
      */
     public void addExemption(ExemptionType type) {
-        exemptionTypes.add(type);
+        types.accumulateAndGet(1 << type.ordinal(), (current, bit) -> current | bit);
     }
 
     /**
@@ -45,7 +57,7 @@ public final class Exemptions {
      * @param type the type
      */
     public void removeExemption(ExemptionType type) {
-        exemptionTypes.remove(type);
+        types.accumulateAndGet(1 << type.ordinal(), (current, bit) -> current & ~bit);
     }
 
     /**
@@ -55,12 +67,7 @@ public final class Exemptions {
      * @return {@code true} if so
      */
     public boolean isExempt(CheckType check) {
-        final long time = exemptions.getOrDefault(check, -1L);
-        if (time == -1) return false;
-
-        final boolean result = time == 0 || (System.currentTimeMillis() - time <= 0);
-        if (result) exemptions.remove(check);
-        return result;
+        return active(check.ordinal());
     }
 
     /**
@@ -70,15 +77,37 @@ public final class Exemptions {
      * @return {@code true} if so
      */
     public boolean isExempt(ExemptionType type) {
-        return exemptionTypes.contains(type);
+        return (types.get() & (1 << type.ordinal())) != 0;
     }
 
     /**
      * Clear these exemptions
      */
     public void clear() {
-        exemptions.clear();
-        exemptionTypes.clear();
+        for (int i = 0; i < deadlines.length(); i++) deadlines.set(i, NONE);
+        types.set(0);
+    }
+
+    /**
+     * Exempt an index, an existing later deadline is kept.
+     *
+     * @param index    the index
+     * @param duration the duration in nanoseconds
+     */
+    private void exempt(int index, long duration) {
+        deadlines.accumulateAndGet(index, System.nanoTime() + duration,
+                (current, deadline) -> current == NONE || deadline - current > 0 ? deadline : current);
+    }
+
+    /**
+     * Check if an index has a deadline that has not passed
+     *
+     * @param index the index
+     * @return {@code true} if so
+     */
+    private boolean active(int index) {
+        final long deadline = deadlines.get(index);
+        return deadline != NONE && deadline - System.nanoTime() > 0;
     }
 
 }
@@ -0,0 +1,192 @@
+package arc.heartbeat;
+
+import arc.Arc;
+import arc.check.Check;
+import arc.data.PlayerContext;
+import arc.data.player.PlayerSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs periodic per-player work for every check in a single task.
+ * Players are spread across {@link #SHARDS} shards and one shard is visited each tick,
+ * so every player is visited once per second without a spike on any single tick.
+ * Every tick the heartbeat also captures a {@link PlayerSnapshot} for each player.
+ * Everything here runs on, and must be called from, the main thread.
+ */
+public final class Heartbeat implements Closeable {
+
+    /**
+     * The amount of shards, one per tick of a heartbeat cycle.
+     */
+    public static final int SHARDS = 20;
+
+    /**
+     * The shards
+     */
+    private final List<List<PlayerContext>> shards = new ArrayList<>(SHARDS);
+
+    /**
+     * The registered tasks, replaced on every change.
+     */
+    private Registration[] tasks = new Registration[0];
+
+    /**
+     * The current tick
+     */
+    private long tick;
+
+    /**
+     * The heartbeat task
+     */
+    private BukkitTask task;
+
+    public Heartbeat() {
+        for (int i = 0; i < SHARDS; i++) shards.add(new ArrayList<>());
+    }
+
+    /**
+     * Initialize
+     */
+    public void initialize() {
+        task = Bukkit.getScheduler().runTaskTimer(Arc.plugin(), this::tick, 1, 1);
+    }
+
+    /**
+     * Add a player to the smallest shard
+     *
+     * @param context the player context
+     */
+    public void add(PlayerContext context) {
+        List<PlayerContext> smallest = shards.get(0);
+        for (List<PlayerContext> shard : shards) {
+            if (shard.size() < smallest.size()) smallest = shard;
+        }
+        smallest.add(context);
+    }
+
+    /**
+     * Remove a player
+     *
+     * @param context the player context
+     */
+    public void remove(PlayerContext context) {
+        for (List<PlayerContext> shard : shards) {
+            if (shard.remove(context)) return;
+        }
+    }
+
+    /**
+     * Register periodic work
+     * The period is rounded to whole heartbeat cycles, so the shortest period is one second.
+     *
+     * @param check the check the work belongs to, exempt players are skipped. May be {@code null}
+     * @param every the period in ticks
+     * @param work  the work, run once per player each period.
+     * @return the registration, pass to {@link #unregister(Registration)}
+     */
+    public Registration register(Check check, long every, Consumer<PlayerContext> work) {
+        final Registration registration = new Registration(check, Math.max(1, Math.round(every / (double) SHARDS)), work);
+        tasks = Arrays.copyOf(tasks, tasks.length + 1);
+        tasks[tasks.length - 1] = registration;
+        return registration;
+    }
+
+    /**
+     * Unregister periodic work
+     *
+     * @param registration the registration
+     */
+    public void unregister(Registration registration) {
+        tasks = Arrays.stream(tasks)
+                .filter(task -> task != registration)
+                .toArray(Registration[]::new);
+    }
+
+    /**
+     * Visit the current shard
+     */
+    private void tick() {
+        captureSnapshots();
+
+        final long current = tick++;
+        final Registration[] tasks = this.tasks;
+        if (tasks.length == 0) return;
+
+        final List<PlayerContext> shard = shards.get((int) (current % SHARDS));
+        if (shard.isEmpty()) return;
+
+        // one pass over the shard, every task that is due runs for each player in turn.
+        final long cycle = current / SHARDS;
+        for (int i = 0; i < shard.size(); i++) {
+            final PlayerContext context = shard.get(i);
+            for (Registration task : tasks) {
+                if (cycle % task.cycles == 0) task.run(context);
+            }
+        }
+    }
+
+    /**
+     * Capture a snapshot for every player, a new one is only published when the state changed.
+     */
+    private void captureSnapshots() {
+        for (int i = 0; i < SHARDS; i++) {
+            final List<PlayerContext> shard = shards.get(i);
+            for (int j = 0; j < shard.size(); j++) {
+                final PlayerContext context = shard.get(j);
+                context.snapshot(PlayerSnapshot.capture(context.player(), context.snapshot()));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (task != null) task.cancel();
+        task = null;
+        tasks = new Registration[0];
+        shards.forEach(List::clear);
+    }
+
+    /**
+     * Registered periodic work
+     */
+    public static final class Registration {
+
+        /**
+         * The check, may be {@code null}
+         */
+        private final Check check;
+
+        /**
+         * The period in heartbeat cycles
+         */
+        private final long cycles;
+
+        /**
+         * The work
+         */
+        private final Consumer<PlayerContext> work;
+
+        private Registration(Check check, long cycles, Consumer<PlayerContext> work) {
+            this.check = check;
+            this.cycles = cycles;
+            this.work = work;
+        }
+
+        /**
+         * Run for a player
+         *
+         * @param context the player context
+         */
+        private void run(PlayerContext context) {
+            if (check == null || !check.exempt(context)) work.accept(context);
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package arc.latency;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A player's latency, measured by the {@link LatencyService}
+ * Probes are sent from the main thread and answered on the network thread, so updates are synchronized.
+ * The estimates are published through volatile fields and can be read from any thread without locking.
+ */
+public final class Latency {
+
+    /**
+     * The amount of probes that can be outstanding at once.
+     * The amount of round trip samples kept.
+     */
+    private static final int PENDING = 8, SAMPLES = 16;
+
+    /**
+     * The outstanding probe ids
+     */
+    private final short[] pendingIds = new short[PENDING];
+
+    /**
+     * When each outstanding probe was sent, {@code 0} if the slot is free.
+     */
+    private final long[] pendingSent = new long[PENDING];
+
+    /**
+     * The round trip samples in nanoseconds
+     */
+    private final long[] samples = new long[SAMPLES];
+
+    /**
+     * The next pending slot
+     * The next sample slot
+     * The amount of samples
+     */
+    private int pendingIndex, sampleIndex, sampleCount;
+
+    /**
+     * The next probe id, always negative so it never matches an inventory transaction.
+     */
+    private short nextId = -1;
+
+    /**
+     * The average round trip time in nanoseconds, {@code 0} if unknown.
+     * The average deviation from the round trip time in nanoseconds.
+     */
+    private volatile long rtt, jitter;
+
+    /**
+     * A probe was sent
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the probe id
+     */
+    public synchronized short sent(long now) {
+        final short id = nextId;
+        nextId = id == Short.MIN_VALUE ? -1 : (short) (id - 1);
+
+        pendingIds[pendingIndex] = id;
+        pendingSent[pendingIndex] = now;
+        pendingIndex = (pendingIndex + 1) % PENDING;
+        return id;
+    }
+
+    /**
+     * A probe response was received
+     *
+     * @param id  the probe id
+     * @param now the current {@link System#nanoTime()}
+     * @return {@code true} if the id was an outstanding probe
+     */
+    public synchronized boolean received(short id, long now) {
+        for (int i = 0; i < PENDING; i++) {
+            if (pendingSent[i] != 0 && pendingIds[i] == id) {
+                sample(now - pendingSent[i]);
+                pendingSent[i] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add a round trip sample and update the estimates
+     *
+     * @param sample the sample in nanoseconds
+     */
+    private void sample(long sample) {
+        samples[sampleIndex] = sample;
+        sampleIndex = (sampleIndex + 1) % SAMPLES;
+        if (sampleCount < SAMPLES) sampleCount++;
+
+        long sum = 0;
+        for (int i = 0; i < sampleCount; i++) sum += samples[i];
+        final long average = sum / sampleCount;
+
+        long deviation = 0;
+        for (int i = 0; i < sampleCount; i++) deviation += Math.abs(samples[i] - average);
+
+        rtt = average;
+        jitter = deviation / sampleCount;
+    }
+
+    /**
+     * @return the average round trip time in nanoseconds, {@code 0} if unknown.
+     */
+    public long rtt() {
+        return rtt;
+    }
+
+    /**
+     * @return the average deviation from the round trip time in nanoseconds.
+     */
+    public long jitter() {
+        return jitter;
+    }
+
+    /**
+     * @return the average round trip time in milliseconds, {@code 0} if unknown.
+     */
+    public long rttMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(rtt);
+    }
+
+    /**
+     * @return the average deviation from the round trip time in milliseconds.
+     */
+    public long jitterMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(jitter);
+    }
+
+    /**
+     * The server time the client was seeing when it sent a packet that arrives now.
+     * What the server sent at that time reached the client half a round trip later,
+     * and the client's reaction took the other half to arrive.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the client's view as {@link System#nanoTime()}
+     */
+    public long clientTime(long now) {
+        return now - rtt;
+    }
+
+}
@@ -0,0 +1,108 @@
+package arc.latency;
+
+import arc.Arc;
+import arc.configuration.ArcConfiguration;
+import arc.configuration.Configurable;
+import arc.configuration.values.ConfigurationValues;
+import arc.data.PlayerContext;
+import arc.heartbeat.Heartbeat;
+import arc.packet.HandlerCost;
+import arc.packet.PacketDispatcher;
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.events.PacketEvent;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.logging.Level;
+
+/**
+ * Measures player latency with transaction probes.
+ * The client answers a transaction for its inventory that was not accepted immediately,
+ * so the time between sending one and the answer is the round trip time.
+ */
+public final class LatencyService extends Configurable implements Closeable {
+
+    /**
+     * If probes should be sent.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * The response handler
+     */
+    private PacketDispatcher.Registration<PacketContainer> responses;
+
+    /**
+     * The probe task
+     */
+    private Heartbeat.Registration probes;
+
+    /**
+     * Initialize
+     *
+     * @param configuration the configuration
+     * @param dispatcher    the packet dispatcher
+     * @param heartbeat     the heartbeat
+     */
+    public void initialize(ArcConfiguration configuration, PacketDispatcher dispatcher, Heartbeat heartbeat) {
+        read(configuration.fileConfiguration());
+        responses = dispatcher.register(PacketType.Play.Client.TRANSACTION, PacketContainer.class, HandlerCost.STATE, null, this::onTransaction);
+        probes = heartbeat.register(null, integer(configuration.fileConfiguration(), ConfigurationValues.LATENCY_PROBE_INTERVAL), this::probe);
+    }
+
+    @Override
+    public void reload(ArcConfiguration configuration) {
+        read(configuration.fileConfiguration());
+    }
+
+    @Override
+    public void read(FileConfiguration configuration) {
+        enabled = bool(configuration, ConfigurationValues.ENABLE_LATENCY_PROBES);
+    }
+
+    /**
+     * Send a probe to a player
+     *
+     * @param context the player context
+     */
+    private void probe(PlayerContext context) {
+        if (!enabled) return;
+
+        final Latency latency = context.latency();
+        final PacketContainer packet = new PacketContainer(PacketType.Play.Server.TRANSACTION);
+        packet.getIntegers().write(0, 0);
+        packet.getShorts().write(0, latency.sent(System.nanoTime()));
+        packet.getBooleans().write(0, false);
+
+        try {
+            Arc.arc().protocol().sendServerPacket(context.player(), packet);
+        } catch (InvocationTargetException exception) {
+            Arc.plugin().getLogger().log(Level.WARNING, "Failed to send a latency probe to " + context.player().getName(), exception);
+        }
+    }
+
+    /**
+     * Invoked when the client answers a transaction
+     * Answers to our probes are cancelled, the server has no window to apply them to.
+     *
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the packet
+     */
+    private void onTransaction(PacketEvent event, PlayerContext context, PacketContainer packet) {
+        if (packet.getIntegers().read(0) != 0) return;
+        if (context.latency().received(packet.getShorts().read(0), System.nanoTime())) event.setCancelled(true);
+    }
+
+    @Override
+    public void close() {
+        enabled = false;
+        if (responses != null) Arc.arc().packets().unregister(responses);
+        if (probes != null) Arc.arc().heartbeat().unregister(probes);
+        responses = null;
+        probes = null;
+    }
+
+}
@@ -1,13 +1,9 @@
 package arc.listener;
 
-import arc.Arc;
+import arc.packet.HandlerCost;
+import arc.packet.PacketDispatcher;
+import arc.packet.PacketHandler;
 import com.comphenix.protocol.PacketType;
-import com.comphenix.protocol.ProtocolManager;
-import com.comphenix.protocol.events.ListenerPriority;
-import com.comphenix.protocol.events.PacketAdapter;
-import com.comphenix.protocol.events.PacketEvent;
-
-import java.util.function.Consumer;
 
 /**
  * Represents a basic packet listener.
@@ -17,20 +13,19 @@ public abstract class AbstractPacketListener {
     /**
      * Register this packet listener.
      */
-    public abstract void register(ProtocolManager protocol);
+    public abstract void register(PacketDispatcher dispatcher);
 
     /**
      * Register a new listener
+     * Listeners track player state, so they run before any check handler of the same packet.
      *
-     * @param consumer the consumer
+     * @param dispatcher the dispatcher
+     * @param packetType the packet type
+     * @param packet     the decoded packet class
+     * @param handler    the handler
      */
-    protected void listener(ProtocolManager protocol, PacketType packetType, Consumer<PacketEvent> consumer) {
-        protocol.addPacketListener(new PacketAdapter(Arc.plugin(), ListenerPriority.HIGHEST, packetType) {
-            @Override
-            public void onPacketReceiving(PacketEvent event) {
-                consumer.accept(event);
-            }
-        });
+    protected <T> void listener(PacketDispatcher dispatcher, PacketType packetType, Class<T> packet, PacketHandler<T> handler) {
+        dispatcher.register(packetType, packet, HandlerCost.STATE, null, handler);
     }
 
 }
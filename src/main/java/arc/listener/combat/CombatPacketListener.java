@@ -6,17 +6,16 @@ import arc.check.combat.Criticals;
 import arc.check.combat.KillAura;
 import arc.check.combat.NoSwing;
 import arc.check.combat.Reach;
-import arc.data.combat.CombatData;
+import arc.data.PlayerContext;
 import arc.data.packet.PacketData;
 import arc.listener.AbstractPacketListener;
+import arc.packet.PacketDispatcher;
+import arc.tracking.EntityHistory;
+import com.comphenix.packetwrapper.WrapperPlayClientArmAnimation;
 import com.comphenix.packetwrapper.WrapperPlayClientUseEntity;
 import com.comphenix.protocol.PacketType;
-import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.events.PacketEvent;
 import com.comphenix.protocol.wrappers.EnumWrappers;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.LivingEntity;
-import org.bukkit.entity.Player;
 
 /**
  * Listens for combat related events
@@ -44,9 +43,9 @@ public final class CombatPacketListener extends AbstractPacketListener {
     private final KillAura killAura;
 
     @Override
-    public void register(ProtocolManager protocol) {
-        listener(protocol, PacketType.Play.Client.USE_ENTITY, this::onUseEntity);
-        listener(protocol, PacketType.Play.Client.ARM_ANIMATION, this::onArmSwing);
+    public void register(PacketDispatcher dispatcher) {
+        listener(dispatcher, PacketType.Play.Client.USE_ENTITY, WrapperPlayClientUseEntity.class, this::onUseEntity);
+        listener(dispatcher, PacketType.Play.Client.ARM_ANIMATION, WrapperPlayClientArmAnimation.class, this::onArmSwing);
     }
 
     public CombatPacketListener() {
@@ -59,43 +58,81 @@ public final class CombatPacketListener extends AbstractPacketListener {
     /**
      * Invoked when the player tries to use an entity.
      *
-     * @param event the event
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the packet
      */
-    private void onUseEntity(PacketEvent event) {
-        final WrapperPlayClientUseEntity packet = new WrapperPlayClientUseEntity(event.getPacket());
+    private void onUseEntity(PacketEvent event, PlayerContext context, WrapperPlayClientUseEntity packet) {
         if (packet.getType() == EnumWrappers.EntityUseAction.ATTACK) {
-            // the player attacked an entity, run checks.
-            final Player player = event.getPlayer();
-            final Entity entity = packet.getTarget(player.getWorld());
-            if (entity instanceof LivingEntity) {
-                boolean checkKillAura = false, checkCriticals = false, checkReach = false, checkNoSwing = false;
-                if (killAura.enabled()) checkKillAura = killAura.check(player, entity);
-                if (reach.enabled()) checkReach = reach.check(player, entity);
-                if (noSwing.enabled()) checkNoSwing = noSwing.check(player);
-                if (criticals.enabled()) checkCriticals = criticals.check(player);
-
-                if (checkKillAura || checkCriticals || checkReach || checkNoSwing) event.setCancelled(true);
-            }
+            // the player attacked an entity, run checks if it is a tracked living entity.
+            final EntityHistory entity = Arc.arc().tracker().resolve(packet.getTargetID());
+            if (entity != null && handleAttack(context, entity)) event.setCancelled(true);
         }
     }
 
     /**
      * Invoked when the player swings their arm
      *
-     * @param event the event
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the packet
      */
-    private void onArmSwing(PacketEvent event) {
-        final Player player = event.getPlayer();
-        final PacketData data = PacketData.get(player);
-        data.incrementSwingPacketCount();
+    private void onArmSwing(PacketEvent event, PlayerContext context, WrapperPlayClientArmAnimation packet) {
+        if (handleSwing(context)) event.setCancelled(true);
+    }
+
+    /**
+     * Handle the player attacking an entity
+     * Checks run cheapest first and stop at the first one that cancels the attack.
+     *
+     * @param context the player context
+     * @param entity  the entity
+     * @return {@code true} if the attack should be cancelled.
+     */
+    public boolean handleAttack(PlayerContext context, EntityHistory entity) {
+        if (noSwing.enabled()) {
+            final long start = noSwing.startTiming();
+            final boolean cancel = noSwing.check(context);
+            noSwing.stopTiming(start);
+            if (cancel) return true;
+        }
+
+        if (criticals.enabled()) {
+            final long start = criticals.startTiming();
+            final boolean cancel = criticals.check(context);
+            criticals.stopTiming(start);
+            if (cancel) return true;
+        }
 
-        if (data.cancelSwingPackets()) {
-            event.setCancelled(true);
-            return;
+        if (killAura.enabled()) {
+            final long start = killAura.startTiming();
+            final boolean cancel = killAura.check(context, entity);
+            killAura.stopTiming(start);
+            if (cancel) return true;
         }
 
-        final CombatData combatData = CombatData.get(player);
-        combatData.lastSwingTime(System.currentTimeMillis());
+        if (reach.enabled()) {
+            final long start = reach.startTiming();
+            final boolean cancel = reach.check(context, entity);
+            reach.stopTiming(start);
+            return cancel;
+        }
+        return false;
+    }
+
+    /**
+     * Handle the player swinging their arm
+     *
+     * @param context the player context
+     * @return {@code true} if the swing should be cancelled.
+     */
+    public boolean handleSwing(PlayerContext context) {
+        final PacketData data = context.packets();
+        data.incrementSwingPacketCount();
+        if (data.cancelSwingPackets()) return true;
+
+        context.combat().lastSwingTime(System.currentTimeMillis());
+        return false;
     }
 
 }
@@ -1,9 +1,11 @@
 package arc.listener.connection;
 
 import arc.Arc;
-import arc.data.Data;
+import arc.data.PlayerContext;
 import arc.data.moving.MovingData;
 import arc.utility.MovingUtil;
+import bridge.BoundingBox;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -16,35 +18,55 @@ import org.bukkit.event.player.PlayerQuitEvent;
  */
 public final class PlayerConnectionListener implements Listener {
 
-    @EventHandler(priority = EventPriority.HIGHEST)
+    @EventHandler(priority = EventPriority.LOWEST)
     private void onPlayerJoin(PlayerJoinEvent event) {
-        final Player player = event.getPlayer();
-        Arc.arc().violations().onPlayerJoin(player);
-        Arc.arc().exemptions().onPlayerJoin(player);
-
-        initializePlayerData(player);
+        initializePlayer(event.getPlayer());
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST)
+    @EventHandler(priority = EventPriority.MONITOR)
     private void onPlayerLeave(PlayerQuitEvent event) {
-        final Player player = event.getPlayer();
-        Arc.arc().violations().onPlayerLeave(player);
-        Arc.arc().exemptions().onPlayerLeave(player);
-        Data.removeAll(player);
+        final PlayerContext context = PlayerContext.get(event.getPlayer());
+        if (context == null) return;
+
+        // unregister first so packets still in flight are ignored.
+        PlayerContext.unregister(context);
+        Arc.arc().heartbeat().remove(context);
+        Arc.arc().violations().onPlayerLeave(context);
+        Arc.arc().exemptions().onPlayerLeave(context);
+    }
+
+    /**
+     * Create and register the context for a player.
+     *
+     * @param player the player
+     */
+    public void initializePlayer(Player player) {
+        final PlayerContext context = new PlayerContext(player, Arc.arc().violations().onPlayerJoin(player));
+        Arc.arc().exemptions().onPlayerJoin(context);
+        initializePlayerData(player, context.moving());
+
+        // register last so packets are only handled once everything is ready.
+        PlayerContext.register(context);
+        Arc.arc().heartbeat().add(context);
+        Arc.arc().tracker().onEntitySpawn(player);
     }
 
     /**
      * Initialize player data.
      *
      * @param player the player
+     * @param data   their moving data
      */
-    private void initializePlayerData(Player player) {
-        final MovingData data = MovingData.get(player);
+    private void initializePlayerData(Player player, MovingData data) {
+        final Location location = player.getLocation();
+        data.position(location.getX(), location.getY(), location.getZ());
+        data.rotation(location.getYaw(), location.getPitch());
+
+        final BoundingBox box = Arc.bridge().entities().getBoundingBox(player);
+        data.boxHalfWidth((box.maxX() - box.minX()) / 2.0);
 
         // calculate player movement
-        MovingUtil.calculateMovement(data, player.getLocation(), player.getLocation());
-        data.from(player.getLocation());
-        data.to(player.getLocation());
+        MovingUtil.calculateMovement(data, player.getWorld());
     }
 
 }
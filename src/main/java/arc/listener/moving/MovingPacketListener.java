@@ -3,15 +3,16 @@ package arc.listener.moving;
 import arc.Arc;
 import arc.check.CheckType;
 import arc.check.moving.*;
+import arc.data.PlayerContext;
 import arc.data.moving.MovingData;
 import arc.listener.AbstractPacketListener;
-import arc.permissions.Permissions;
+import arc.packet.PacketDispatcher;
 import arc.utility.MovingUtil;
-import com.comphenix.packetwrapper.*;
+import bridge.packets.PacketsBridge;
+import com.comphenix.packetwrapper.WrapperPlayClientEntityAction;
 import com.comphenix.protocol.PacketType;
-import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.events.PacketEvent;
-import org.bukkit.Location;
+import com.comphenix.protocol.wrappers.EnumWrappers;
 import org.bukkit.entity.Player;
 import org.bukkit.util.NumberConversions;
 
@@ -40,6 +41,11 @@ public final class MovingPacketListener extends AbstractPacketListener {
      */
     private final MorePackets morePackets;
 
+    /**
+     * The Timer check
+     */
+    private final Timer timer;
+
     /**
      * The NoFall check
      */
@@ -50,134 +56,199 @@ public final class MovingPacketListener extends AbstractPacketListener {
      */
     private final Speed speed;
 
+    /**
+     * Reads flying packets
+     */
+    private final PacketsBridge packets = Arc.bridge().packets();
+
     public MovingPacketListener() {
         flight = (Flight) Arc.arc().checks().getCheck(CheckType.FLIGHT);
         jesus = (Jesus) Arc.arc().checks().getCheck(CheckType.JESUS);
         morePackets = (MorePackets) Arc.arc().checks().getCheck(CheckType.MORE_PACKETS);
+        timer = (Timer) Arc.arc().checks().getCheck(CheckType.TIMER);
         noFall = (NoFall) Arc.arc().checks().getCheck(CheckType.NOFALL);
         speed = (Speed) Arc.arc().checks().getCheck(CheckType.SPEED);
     }
 
     @Override
-    public void register(ProtocolManager protocol) {
-        listener(protocol, PacketType.Play.Client.LOOK, this::onLook);
-        listener(protocol, PacketType.Play.Client.FLYING, this::onFlying);
-        listener(protocol, PacketType.Play.Client.POSITION, this::onPosition);
-        listener(protocol, PacketType.Play.Client.POSITION_LOOK, this::onPositionLook);
-        listener(protocol, PacketType.Play.Client.ENTITY_ACTION, this::onEntityAction);
+    public void register(PacketDispatcher dispatcher) {
+        listener(dispatcher, PacketType.Play.Client.LOOK, Object.class, this::onLook);
+        listener(dispatcher, PacketType.Play.Client.FLYING, Object.class, this::onFlying);
+        listener(dispatcher, PacketType.Play.Client.POSITION, Object.class, this::onPosition);
+        listener(dispatcher, PacketType.Play.Client.POSITION_LOOK, Object.class, this::onPositionLook);
+        listener(dispatcher, PacketType.Play.Client.ENTITY_ACTION, WrapperPlayClientEntityAction.class, this::onEntityAction);
     }
 
     /**
      * Invoked when a flying packet is received.
      *
-     * @param event the event
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the NMS packet
      */
-    private void onFlying(PacketEvent event) {
-        final Player player = event.getPlayer();
-        if (!player.isOnline()) {
-            event.setCancelled(true);
-            return;
-        }
-
-        final MovingData data = MovingData.get(player);
-        final WrapperPlayClientFlying packet = new WrapperPlayClientFlying(event.getPacket());
-        data.lastFlyingPacket(System.currentTimeMillis());
-        data.flyingPackets(data.flyingPackets() + 1);
-        // do not update ground if this packet is cancelled.
-        if (morePackets.cancelPacket(data, true, false, false)) {
+    private void onFlying(PacketEvent event, PlayerContext context, Object packet) {
+        if (!context.player().isOnline()) {
             event.setCancelled(true);
             return;
         }
 
-        updateClientGround(data, packet.getOnGround(), true, false);
+        if (handleFlying(context, packets.onGround(packet))) event.setCancelled(true);
     }
 
     /**
      * Invoked when a position packet is received.
      *
-     * @param event the event
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the NMS packet
      */
-    private void onPosition(PacketEvent event) {
-        final Player player = event.getPlayer();
-        if (!player.isOnline()) {
-            event.setCancelled(true);
-            return;
-        }
-
-        final MovingData data = MovingData.get(player);
-        final WrapperPlayClientPosition packet = new WrapperPlayClientPosition(event.getPacket());
-        data.positionPackets(data.positionPackets() + 1);
-
-        // do not update ground/pos if this packet is cancelled.
-        if (morePackets.cancelPacket(data, false, true, false)) {
+    private void onPosition(PacketEvent event, PlayerContext context, Object packet) {
+        if (!context.player().isOnline()) {
             event.setCancelled(true);
             return;
         }
 
-        updateMovement(player, data, player.getLocation(), packet.getX(), packet.getY(), packet.getZ());
-        updateClientGround(data, packet.getOnGround(), false, false);
+        if (handlePosition(context, packets.x(packet), packets.y(packet), packets.z(packet), packets.onGround(packet))) event.setCancelled(true);
     }
 
     /**
      * Invoked when a position look packet is received
      *
-     * @param event the event
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the NMS packet
      */
-    private void onPositionLook(PacketEvent event) {
-        final Player player = event.getPlayer();
-        if (!player.isOnline()) {
+    private void onPositionLook(PacketEvent event, PlayerContext context, Object packet) {
+        if (!context.player().isOnline()) {
             event.setCancelled(true);
             return;
         }
 
-        final MovingData data = MovingData.get(player);
-        final WrapperPlayClientPositionLook packet = new WrapperPlayClientPositionLook(event.getPacket());
-        data.positionLookPackets(data.positionLookPackets() + 1);
-
-        // do not update ground/pos if this packet is cancelled.
-        if (morePackets.cancelPacket(data, false, true, false)) {
+        if (handlePositionLook(context, packets.x(packet), packets.y(packet), packets.z(packet),
+                packets.yaw(packet), packets.pitch(packet), packets.onGround(packet))) {
             event.setCancelled(true);
-            return;
         }
-
-        updateMovement(player, data, player.getLocation(), packet.getX(), packet.getY(), packet.getZ());
-        updateClientGround(data, packet.getOnGround(), false, false);
     }
 
     /**
      * Invoked when a look packet is received
      *
-     * @param event the event
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the NMS packet
      */
-    private void onLook(PacketEvent event) {
-        final Player player = event.getPlayer();
-        if (!player.isOnline()) {
+    private void onLook(PacketEvent event, PlayerContext context, Object packet) {
+        if (!context.player().isOnline()) {
             event.setCancelled(true);
             return;
         }
 
-        final MovingData data = MovingData.get(player);
-        final WrapperPlayClientLook packet = new WrapperPlayClientLook(event.getPacket());
-        data.lookPackets(data.lookPackets() + 1);
+        if (handleLook(context, packets.yaw(packet), packets.pitch(packet), packets.onGround(packet))) event.setCancelled(true);
+    }
 
+    /**
+     * Invoked when the client sends ENTITY_ACTION
+     *
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the packet
+     */
+    private void onEntityAction(PacketEvent event, PlayerContext context, WrapperPlayClientEntityAction packet) {
+        handleEntityAction(context, packet.getAction());
+    }
+
+    /**
+     * Handle a flying packet
+     *
+     * @param context  the player context
+     * @param onGround the client ground state
+     * @return {@code true} if the packet should be cancelled.
+     */
+    public boolean handleFlying(PlayerContext context, boolean onGround) {
+        final MovingData data = context.moving();
+        data.lastFlyingPacket(System.currentTimeMillis());
+        data.flyingPackets(data.flyingPackets() + 1);
         // do not update ground if this packet is cancelled.
-        if (morePackets.cancelPacket(data, false, false, true)) {
-            event.setCancelled(true);
-            return;
-        }
-        updateClientGround(data, packet.getOnGround(), false, true);
+        if (checkTimer(context, data) || morePackets.cancelPacket(data, true, false, false)) return true;
+
+        updateClientGround(data, onGround, true, false);
+        return false;
     }
 
     /**
-     * Invoked when the client sends ENTITY_ACTION
+     * Handle a position packet
+     *
+     * @param context  the player context
+     * @param x        X
+     * @param y        Y
+     * @param z        Z
+     * @param onGround the client ground state
+     * @return {@code true} if the packet should be cancelled.
+     */
+    public boolean handlePosition(PlayerContext context, double x, double y, double z, boolean onGround) {
+        final MovingData data = context.moving();
+        data.positionPackets(data.positionPackets() + 1);
+        // do not update ground/pos if this packet is cancelled.
+        if (checkTimer(context, data) || morePackets.cancelPacket(data, false, true, false)) return true;
+
+        updateMovement(context, data, x, y, z);
+        updateClientGround(data, onGround, false, false);
+        return false;
+    }
+
+    /**
+     * Handle a position look packet
+     *
+     * @param context  the player context
+     * @param x        X
+     * @param y        Y
+     * @param z        Z
+     * @param yaw      yaw
+     * @param pitch    pitch
+     * @param onGround the client ground state
+     * @return {@code true} if the packet should be cancelled.
+     */
+    public boolean handlePositionLook(PlayerContext context, double x, double y, double z, float yaw, float pitch, boolean onGround) {
+        final MovingData data = context.moving();
+        data.positionLookPackets(data.positionLookPackets() + 1);
+        // do not update ground/pos if this packet is cancelled.
+        if (checkTimer(context, data) || morePackets.cancelPacket(data, false, true, false)) return true;
+
+        data.rotation(yaw, pitch);
+        updateMovement(context, data, x, y, z);
+        updateClientGround(data, onGround, false, false);
+        return false;
+    }
+
+    /**
+     * Handle a look packet
      *
-     * @param event the event
+     * @param context  the player context
+     * @param yaw      yaw
+     * @param pitch    pitch
+     * @param onGround the client ground state
+     * @return {@code true} if the packet should be cancelled.
      */
-    private void onEntityAction(PacketEvent event) {
-        final WrapperPlayClientEntityAction packet = new WrapperPlayClientEntityAction(event.getPacket());
-        final MovingData data = MovingData.get(event.getPlayer());
+    public boolean handleLook(PlayerContext context, float yaw, float pitch, boolean onGround) {
+        final MovingData data = context.moving();
+        data.lookPackets(data.lookPackets() + 1);
+        // do not update ground if this packet is cancelled.
+        if (checkTimer(context, data) || morePackets.cancelPacket(data, false, false, true)) return true;
+
+        data.rotation(yaw, pitch);
+        updateClientGround(data, onGround, false, true);
+        return false;
+    }
 
-        switch (packet.getAction()) {
+    /**
+     * Handle an entity action
+     *
+     * @param context the player context
+     * @param action  the action
+     */
+    public void handleEntityAction(PlayerContext context, EnumWrappers.PlayerAction action) {
+        final MovingData data = context.moving();
+        switch (action) {
             case START_SNEAKING:
                 data.sneaking(true);
                 break;
@@ -193,53 +264,76 @@ public final class MovingPacketListener extends AbstractPacketListener {
         }
     }
 
+    /**
+     * Run the Timer check, every movement packet is one client tick.
+     *
+     * @param context the player context
+     * @param data    their data
+     * @return {@code true} if the packet should be cancelled.
+     */
+    private boolean checkTimer(PlayerContext context, MovingData data) {
+        if (!timer.enabled()) return false;
+
+        final long start = timer.startTiming();
+        final boolean cancel = timer.check(context, data, System.nanoTime());
+        timer.stopTiming(start);
+        return cancel;
+    }
+
     /**
      * Check if the player has moved at all.
      *
-     * @param location the player location
-     * @param newX     new X
-     * @param newY     new Y
-     * @param newZ     new Z
+     * @param data their data
+     * @param newX new X
+     * @param newY new Y
+     * @param newZ new Z
      * @return {@code true} if so
      */
-    private boolean hasMoved(Location location, double newX, double newY, double newZ) {
-        return location.getX() != newX || location.getY() != newY || location.getZ() != newZ;
+    private boolean hasMoved(MovingData data, double newX, double newY, double newZ) {
+        return !data.hasPosition() || data.toX() != newX || data.toY() != newY || data.toZ() != newZ;
     }
 
     /**
      * Update player movement
      *
-     * @param player   the player
-     * @param data     their data
-     * @param location the location
-     * @param newX     new X
-     * @param newY     new Y
-     * @param newZ     new Z
+     * @param context the player context
+     * @param data    their data
+     * @param newX    new X
+     * @param newY    new Y
+     * @param newZ    new Z
      */
-    private void updateMovement(Player player, MovingData data, Location location, double newX, double newY, double newZ) {
-        if (!NumberConversions.isFinite(newX) || !NumberConversions.isFinite(newY) || !NumberConversions.isFinite(newZ) || (Permissions.canBypassChecks(player)))
+    private void updateMovement(PlayerContext context, MovingData data, double newX, double newY, double newZ) {
+        final Player player = context.player();
+        if (!NumberConversions.isFinite(newX) || !NumberConversions.isFinite(newY) || !NumberConversions.isFinite(newZ) || Arc.arc().exemptions().isPlayerExemptFromAll(context))
             return;
 
-        if (hasMoved(location, newX, newY, newZ)) {
+        if (hasMoved(data, newX, newY, newZ)) {
             // we have moved, check delta first.
-            final double delta = Math.pow(location.getX() - newX, 2) + Math.pow(location.getY() - newY, 2) + Math.pow(location.getZ() - newZ, 2);
-            if (delta > DELTA) { // 0.002 ish, 1/ 256 was too high of a number
-                // retrieve from and to locations
-                final Location from = data.to() != null ? data.to().clone() : new Location(player.getWorld(), newX, newY, newZ);
-                final Location to = new Location(player.getWorld(), newX, newY, newZ);
+            final double dx = data.toX() - newX, dy = data.toY() - newY, dz = data.toZ() - newZ;
+            final double delta = dx * dx + dy * dy + dz * dz;
+            if (!data.hasPosition() || delta > DELTA) { // 0.002 ish, 1/ 256 was too high of a number
                 // calculate if this move was from one block to another
-                final boolean wasBlockMovement = from.getBlockX() != to.getBlockX() || from.getBlockY() != to.getBlockY() || from.getBlockZ() != to.getBlockZ();
+                final boolean wasBlockMovement = !data.hasPosition()
+                        || NumberConversions.floor(data.toX()) != NumberConversions.floor(newX)
+                        || NumberConversions.floor(data.toY()) != NumberConversions.floor(newY)
+                        || NumberConversions.floor(data.toZ()) != NumberConversions.floor(newZ);
 
-                data.from(from);
-                data.to(to);
+                data.position(newX, newY, newZ);
 
                 // calc player movement
-                MovingUtil.calculateMovement(data, from, to);
+                MovingUtil.calculateMovement(data, player.getWorld());
+                // the environment is not known, exempt from checks.
+                if (data.unknownEnvironment()) return;
+
+                // while the server is lagging only every few moves are evaluated, state is still updated every move.
+                final int moves = data.moves() + 1;
+                data.moves(moves);
+                final boolean evaluate = Arc.arc().tps().sample(moves);
 
                 // run checks
-                runChecks(player, data);
+                runChecks(context, data, evaluate);
 
-                if (wasBlockMovement) runBlockChecks(player, data);
+                if (wasBlockMovement) runBlockChecks(context, data, evaluate);
             }
         }
     }
@@ -270,23 +364,31 @@ public final class MovingPacketListener extends AbstractPacketListener {
     /**
      * Run movement related checks
      *
-     * @param player the player
-     * @param data   their data
+     * @param context  the player context
+     * @param data     their data
+     * @param evaluate if this move should be evaluated
      */
-    private void runChecks(Player player, MovingData data) {
+    private void runChecks(PlayerContext context, MovingData data, boolean evaluate) {
         if (noFall.enabled()) {
-            noFall.check(player, data);
+            final long start = noFall.startTiming();
+            noFall.check(context, data, evaluate);
+            noFall.stopTiming(start);
         }
     }
 
     /**
      * Run movement - but block restricted checks
      *
-     * @param player the player
-     * @param data   their data
+     * @param context  the player context
+     * @param data     their data
+     * @param evaluate if this move should be evaluated
      */
-    private void runBlockChecks(Player player, MovingData data) {
-        if (jesus.enabled()) jesus.check(player, data);
+    private void runBlockChecks(PlayerContext context, MovingData data, boolean evaluate) {
+        if (jesus.enabled()) {
+            final long start = jesus.startTiming();
+            jesus.check(context, data, evaluate);
+            jesus.stopTiming(start);
+        }
     }
 
 }
@@ -4,6 +4,7 @@ import arc.Arc;
 import arc.check.CheckType;
 import arc.check.player.FastUse;
 import arc.check.player.Regeneration;
+import arc.data.PlayerContext;
 import arc.data.player.PlayerData;
 import arc.exemption.type.ExemptionType;
 import org.bukkit.entity.Arrow;
@@ -14,6 +15,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityRegainHealthEvent;
 import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerItemConsumeEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
@@ -51,10 +53,14 @@ public final class PlayerListener implements Listener {
 
         // only check if we have regained health from being satisfied.
         if (event.getRegainReason() == EntityRegainHealthEvent.RegainReason.SATIATED) {
-            final Player player = (Player) event.getEntity();
-            final PlayerData data = PlayerData.get(player);
+            final PlayerContext context = PlayerContext.get((Player) event.getEntity());
+            if (context == null) return;
+
+            final PlayerData data = context.data();
             if (data.lastHealthRegain() != 0) {
-                final boolean check = regeneration.check(player, data);
+                final long start = regeneration.startTiming();
+                final boolean check = regeneration.check(context, data);
+                regeneration.stopTiming(start);
                 event.setCancelled(check);
             }
 
@@ -74,14 +80,18 @@ public final class PlayerListener implements Listener {
 
         if (event.getEntity() instanceof Player
                 && event.getProjectile() instanceof Arrow) {
-            final Player player = (Player) event.getEntity();
-            final PlayerData data = PlayerData.get(player);
+            final PlayerContext context = PlayerContext.get((Player) event.getEntity());
+            if (context == null) return;
+
+            final PlayerData data = context.data();
             if (data.lastBowShoot() == 0) {
                 data.lastBowShoot(System.currentTimeMillis());
                 return;
             }
 
-            final boolean result = fastUse.checkFastBow(player, data);
+            final long start = fastUse.startTiming();
+            final boolean result = fastUse.checkFastBow(context, data);
+            fastUse.stopTiming(start);
             event.setCancelled(result);
 
             data.lastBowShoot(System.currentTimeMillis());
@@ -96,9 +106,13 @@ public final class PlayerListener implements Listener {
      */
     @EventHandler(priority = EventPriority.LOWEST)
     private void onConsumeItem(PlayerItemConsumeEvent event) {
-        final Player player = event.getPlayer();
-        final PlayerData data = PlayerData.get(player);
-        final boolean result = fastUse.checkFastConsume(player, data);
+        final PlayerContext context = PlayerContext.get(event.getPlayer());
+        if (context == null) return;
+
+        final PlayerData data = context.data();
+        final long start = fastUse.startTiming();
+        final boolean result = fastUse.checkFastConsume(context, data);
+        fastUse.stopTiming(start);
         event.setCancelled(result);
     }
 
@@ -123,10 +137,28 @@ public final class PlayerListener implements Listener {
         Arc.arc().exemptions().addExemption(player, ExemptionType.DEATH);
     }
 
+    /**
+     * Monitor when the player respawns.
+     * Remove the death exemption and make sure the player is tracked again.
+     *
+     * @param event the event
+     */
     @EventHandler(priority = EventPriority.HIGHEST)
     private void onRespawn(PlayerRespawnEvent event) {
         final Player player = event.getPlayer();
         Arc.arc().exemptions().removeExemption(player, ExemptionType.DEATH);
+        Arc.arc().tracker().onEntitySpawn(player);
+    }
+
+    /**
+     * Permissions can be per world, resolve bypass permissions again.
+     *
+     * @param event the event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onChangedWorld(PlayerChangedWorldEvent event) {
+        final PlayerContext context = PlayerContext.get(event.getPlayer());
+        if (context != null) Arc.arc().exemptions().refreshBypass(context);
     }
 
 }
@@ -0,0 +1,61 @@
+package arc.listener.world;
+
+import arc.Arc;
+import arc.tracking.EntityTracker;
+import arc.world.ChunkManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Listens for world, chunk and spawn events to keep the {@link ChunkManager} and {@link EntityTracker} populated.
+ */
+public final class WorldListener implements Listener {
+
+    /**
+     * The chunk manager
+     */
+    private final ChunkManager chunkManager;
+
+    /**
+     * The entity tracker
+     */
+    private final EntityTracker entityTracker;
+
+    public WorldListener() {
+        chunkManager = Arc.arc().chunks();
+        entityTracker = Arc.arc().tracker();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onChunkLoad(ChunkLoadEvent event) {
+        chunkManager.onChunkLoad(event.getChunk());
+        entityTracker.onChunkLoad(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onCreatureSpawn(CreatureSpawnEvent event) {
+        entityTracker.onEntitySpawn(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onChunkUnload(ChunkUnloadEvent event) {
+        chunkManager.onChunkUnload(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onWorldLoad(WorldLoadEvent event) {
+        chunkManager.onWorldLoad(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onWorldUnload(WorldUnloadEvent event) {
+        chunkManager.onWorldUnload(event.getWorld());
+    }
+
+}
@@ -0,0 +1,24 @@
+package arc.packet;
+
+/**
+ * The relative cost of a packet handler.
+ * Handlers run cheapest first, once a handler cancels the packet the rest are skipped.
+ */
+public enum HandlerCost {
+
+    /**
+     * Tracks player state, always runs first.
+     */
+    STATE,
+
+    /**
+     * Counters and simple comparisons.
+     */
+    CHEAP,
+
+    /**
+     * World lookups, ray tracing or anything else heavy.
+     */
+    EXPENSIVE
+
+}
@@ -0,0 +1,336 @@
+package arc.packet;
+
+import arc.Arc;
+import arc.bridge.packets.BridgePlayClientBlockPlace;
+import arc.check.Check;
+import arc.data.PlayerContext;
+import arc.packet.limiter.PacketClass;
+import arc.packet.limiter.PacketLimiter;
+import arc.replay.RecordedPacket;
+import arc.replay.ReplayManager;
+import com.comphenix.packetwrapper.*;
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.PacketAdapter;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.events.PacketEvent;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Registers exactly one ProtocolLib adapter per packet type and fans packets out to every handler.
+ * The player context is looked up and the packet is decoded once, then passed to each handler in order of cost.
+ * Handlers are held in copy-on-write arrays, so dispatching never locks.
+ * Packets over the {@link PacketLimiter} budget are cancelled before any handler runs.
+ * Handlers can be registered before {@link #initialize(ProtocolManager, PacketLimiter)}, their adapters are added once initialized.
+ */
+public final class PacketDispatcher implements Closeable {
+
+    /**
+     * Orders handlers by cost, then registration order.
+     */
+    private static final Comparator<Registration<?>> ORDER = Comparator.<Registration<?>, HandlerCost>comparing(registration -> registration.cost)
+            .thenComparingLong(registration -> registration.order);
+
+    /**
+     * Packet decoders
+     */
+    private final Map<PacketType, Decoder<?>> decoders = new HashMap<>();
+
+    /**
+     * Routes by packet type
+     */
+    private final Map<PacketType, Route> routes = new HashMap<>();
+
+    /**
+     * The protocol manager
+     */
+    private ProtocolManager protocol;
+
+    /**
+     * The packet limiter
+     */
+    private PacketLimiter limiter;
+
+    /**
+     * The registration counter
+     */
+    private long registrations;
+
+    public PacketDispatcher() {
+        // flying packets are read through the bridge, see PacketsBridge
+        decoder(PacketType.Play.Client.FLYING, Object.class, PacketContainer::getHandle);
+        decoder(PacketType.Play.Client.POSITION, Object.class, PacketContainer::getHandle);
+        decoder(PacketType.Play.Client.POSITION_LOOK, Object.class, PacketContainer::getHandle);
+        decoder(PacketType.Play.Client.LOOK, Object.class, PacketContainer::getHandle);
+        decoder(PacketType.Play.Client.ENTITY_ACTION, WrapperPlayClientEntityAction.class, WrapperPlayClientEntityAction::new);
+        decoder(PacketType.Play.Client.USE_ENTITY, WrapperPlayClientUseEntity.class, WrapperPlayClientUseEntity::new);
+        decoder(PacketType.Play.Client.ARM_ANIMATION, WrapperPlayClientArmAnimation.class, WrapperPlayClientArmAnimation::new);
+        decoder(PacketType.Play.Client.CUSTOM_PAYLOAD, WrapperPlayClientCustomPayload.class, WrapperPlayClientCustomPayload::new);
+        decoder(PacketType.Play.Client.BLOCK_PLACE, BridgePlayClientBlockPlace.class, BridgePlayClientBlockPlace::new);
+    }
+
+    /**
+     * Initialize
+     * Every limited packet is listened for, even if nothing handles it.
+     *
+     * @param protocol the protocol manager
+     * @param limiter  the packet limiter
+     */
+    public synchronized void initialize(ProtocolManager protocol, PacketLimiter limiter) {
+        this.protocol = protocol;
+        this.limiter = limiter;
+        routes.values().forEach(route -> protocol.addPacketListener(route.adapter));
+        for (PacketClass packetClass : PacketClass.values()) {
+            for (PacketType type : packetClass.packets()) route(type);
+        }
+    }
+
+    /**
+     * Set the decoder for a packet type
+     * Packet types without a decoder are passed to handlers as the raw {@link PacketContainer}
+     *
+     * @param type    the type
+     * @param packet  the decoded class
+     * @param decoder the decoder
+     * @param <T>     the decoded type
+     */
+    public synchronized <T> void decoder(PacketType type, Class<T> packet, Function<PacketContainer, T> decoder) {
+        if (routes.containsKey(type)) throw new IllegalStateException("Packet " + type + " already has handlers.");
+        decoders.put(type, new Decoder<>(packet, decoder));
+    }
+
+    /**
+     * Register a handler
+     *
+     * @param type    the packet type
+     * @param packet  the decoded class, must match the decoder for the type
+     * @param cost    the handler cost
+     * @param check   the check this handler belongs to, exempt players are skipped and handling is timed. May be {@code null}
+     * @param handler the handler
+     * @param <T>     the decoded type
+     * @return the registration, pass to {@link #unregister(Registration)}
+     */
+    public synchronized <T> Registration<T> register(PacketType type, Class<T> packet, HandlerCost cost, Check check, PacketHandler<T> handler) {
+        final Route route = route(type);
+        if (!packet.isAssignableFrom(route.decoder.type)) {
+            throw new IllegalArgumentException("Packet " + type + " is decoded as " + route.decoder.type.getSimpleName() + ", not " + packet.getSimpleName());
+        }
+
+        final Registration<T> registration = new Registration<>(type, cost, check, handler, registrations++);
+        final Registration<?>[] handlers = Arrays.copyOf(route.handlers, route.handlers.length + 1);
+        handlers[handlers.length - 1] = registration;
+        Arrays.sort(handlers, ORDER);
+        route.handlers = handlers;
+        return registration;
+    }
+
+    /**
+     * Get or create the route for a packet type
+     *
+     * @param type the type
+     * @return the route
+     */
+    private Route route(PacketType type) {
+        final Route existing = routes.get(type);
+        if (existing != null) return existing;
+
+        final Route route = new Route(type, decoders.getOrDefault(type, Decoder.RAW));
+        routes.put(type, route);
+        // not initialized yet, the adapter is added by initialize.
+        if (protocol != null) protocol.addPacketListener(route.adapter);
+        return route;
+    }
+
+    /**
+     * Unregister a handler
+     *
+     * @param registration the registration
+     */
+    public synchronized void unregister(Registration<?> registration) {
+        final Route route = routes.get(registration.type);
+        if (route == null) return;
+
+        route.handlers = Arrays.stream(route.handlers)
+                .filter(handler -> handler != registration)
+                .toArray(Registration<?>[]::new);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (protocol != null) routes.values().forEach(route -> protocol.removePacketListener(route.adapter));
+        routes.clear();
+    }
+
+    /**
+     * A packet decoder
+     *
+     * @param <T> the decoded type
+     */
+    private static final class Decoder<T> {
+
+        /**
+         * Passes the container through
+         */
+        private static final Decoder<PacketContainer> RAW = new Decoder<>(PacketContainer.class, Function.identity());
+
+        /**
+         * The decoded type
+         */
+        private final Class<T> type;
+
+        /**
+         * The decode function
+         */
+        private final Function<PacketContainer, T> function;
+
+        private Decoder(Class<T> type, Function<PacketContainer, T> function) {
+            this.type = type;
+            this.function = function;
+        }
+    }
+
+    /**
+     * A registered handler
+     *
+     * @param <T> the decoded type
+     */
+    public static final class Registration<T> {
+
+        /**
+         * The packet type
+         */
+        private final PacketType type;
+
+        /**
+         * The cost
+         */
+        private final HandlerCost cost;
+
+        /**
+         * The check, may be {@code null}
+         */
+        private final Check check;
+
+        /**
+         * The handler
+         */
+        private final PacketHandler<T> handler;
+
+        /**
+         * The registration order
+         */
+        private final long order;
+
+        private Registration(PacketType type, HandlerCost cost, Check check, PacketHandler<T> handler, long order) {
+            this.type = type;
+            this.cost = cost;
+            this.check = check;
+            this.handler = handler;
+            this.order = order;
+        }
+
+        /**
+         * Handle a packet
+         *
+         * @param event   the event
+         * @param context the context
+         * @param packet  the decoded packet
+         */
+        @SuppressWarnings("unchecked")
+        private void handle(PacketEvent event, PlayerContext context, Object packet) {
+            if (check == null) {
+                handler.handle(event, context, (T) packet);
+            } else if (!check.exempt(context)) {
+                final long start = check.startTiming();
+                handler.handle(event, context, (T) packet);
+                check.stopTiming(start);
+            }
+        }
+    }
+
+    /**
+     * The adapter and handlers for a packet type
+     */
+    private final class Route {
+
+        /**
+         * The adapter
+         */
+        private final PacketAdapter adapter;
+
+        /**
+         * The decoder
+         */
+        private final Decoder<?> decoder;
+
+        /**
+         * The packet recorded, if any.
+         */
+        private final RecordedPacket recorded;
+
+        /**
+         * The packet limit class, if any.
+         */
+        private final PacketClass limit;
+
+        /**
+         * The handlers, sorted by cost. Replaced on every change.
+         */
+        private volatile Registration<?>[] handlers = new Registration<?>[0];
+
+        private Route(PacketType type, Decoder<?> decoder) {
+            this.decoder = decoder;
+            this.recorded = RecordedPacket.of(type);
+            this.limit = PacketClass.of(type);
+            this.adapter = new PacketAdapter(Arc.plugin(), ListenerPriority.HIGHEST, type) {
+                @Override
+                public void onPacketReceiving(PacketEvent event) {
+                    dispatch(event);
+                }
+
+                @Override
+                public void onPacketSending(PacketEvent event) {
+                    dispatch(event);
+                }
+            };
+        }
+
+        /**
+         * Dispatch a packet to each handler
+         * Packets from players without a {@link PlayerContext} are ignored.
+         *
+         * @param event the event
+         */
+        private void dispatch(PacketEvent event) {
+            final PlayerContext context = PlayerContext.get(event.getPlayer());
+            if (context == null) return;
+
+            final ReplayManager replays = Arc.arc().replays();
+            if (recorded != null) replays.record(context, recorded, event);
+            // over budget, cancel this packet before any state is updated, the limiter still counts it for the rate checks.
+            if (limit != null && !limiter.allow(context, limit, event.getPacketType())) {
+                event.setCancelled(true);
+                return;
+            }
+
+            final Registration<?>[] handlers = this.handlers;
+            if (handlers.length == 0) return;
+
+            final Object packet = decoder.function.apply(event.getPacket());
+            final boolean cancelled = event.isCancelled();
+            for (Registration<?> handler : handlers) {
+                handler.handle(event, context, packet);
+                // only short-circuit if we cancelled it.
+                if (!cancelled && event.isCancelled()) return;
+            }
+        }
+    }
+
+}
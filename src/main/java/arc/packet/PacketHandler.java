@@ -0,0 +1,23 @@
+package arc.packet;
+
+import arc.data.PlayerContext;
+import com.comphenix.protocol.events.PacketEvent;
+
+/**
+ * Handles a decoded packet
+ *
+ * @param <T> the decoded packet type
+ */
+@FunctionalInterface
+public interface PacketHandler<T> {
+
+    /**
+     * Handle a packet
+     *
+     * @param event   the event
+     * @param context the player context
+     * @param packet  the decoded packet, shared with every other handler of this packet.
+     */
+    void handle(PacketEvent event, PlayerContext context, T packet);
+
+}
@@ -0,0 +1,41 @@
+package arc.packet.limiter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A player's packet buckets, one per {@link PacketClass}
+ * Each bucket is a single theoretical arrival time (GCRA), which is equivalent to a token bucket
+ * but needs no separate token count, so it can be updated with one compare-and-set.
+ */
+public final class PacketBuckets {
+
+    /**
+     * Theoretical arrival times in nanoseconds, indexed by {@link PacketClass} ordinal.
+     * {@link Long#MIN_VALUE} if nothing has arrived yet.
+     */
+    private final AtomicLongArray arrivals = new AtomicLongArray(PacketClass.values().length);
+
+    public PacketBuckets() {
+        for (int i = 0; i < arrivals.length(); i++) arrivals.set(i, Long.MIN_VALUE);
+    }
+
+    /**
+     * Take a packet from a bucket
+     *
+     * @param packetClass the class
+     * @param now         the current {@link System#nanoTime()}
+     * @param interval    the time one packet refills, in nanoseconds
+     * @param tolerance   how far ahead of the rate a player can be, in nanoseconds
+     * @return {@code true} if the packet is allowed, {@code false} if the bucket is empty.
+     */
+    public boolean take(PacketClass packetClass, long now, long interval, long tolerance) {
+        final int index = packetClass.ordinal();
+        while (true) {
+            final long arrival = arrivals.get(index);
+            final long start = Math.max(arrival, now);
+            if (start - now > tolerance) return false;
+            if (arrivals.compareAndSet(index, arrival, start + interval)) return true;
+        }
+    }
+
+}
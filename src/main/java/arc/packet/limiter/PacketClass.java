@@ -0,0 +1,71 @@
+package arc.packet.limiter;
+
+import arc.configuration.values.ConfigurationValues;
+import com.comphenix.protocol.PacketType;
+
+/**
+ * The classes of packets limited by the {@link PacketLimiter}
+ * Each class has its own bucket per player.
+ */
+public enum PacketClass {
+
+    MOVEMENT(ConfigurationValues.PACKET_LIMITER_MOVEMENT_RATE, ConfigurationValues.PACKET_LIMITER_MOVEMENT_BURST,
+            PacketType.Play.Client.FLYING, PacketType.Play.Client.POSITION, PacketType.Play.Client.POSITION_LOOK, PacketType.Play.Client.LOOK),
+    SWING(ConfigurationValues.PACKET_LIMITER_SWING_RATE, ConfigurationValues.PACKET_LIMITER_SWING_BURST, PacketType.Play.Client.ARM_ANIMATION),
+    PAYLOAD(ConfigurationValues.PACKET_LIMITER_PAYLOAD_RATE, ConfigurationValues.PACKET_LIMITER_PAYLOAD_BURST, PacketType.Play.Client.CUSTOM_PAYLOAD),
+    USE_ENTITY(ConfigurationValues.PACKET_LIMITER_USE_ENTITY_RATE, ConfigurationValues.PACKET_LIMITER_USE_ENTITY_BURST, PacketType.Play.Client.USE_ENTITY),
+    WINDOW_CLICK(ConfigurationValues.PACKET_LIMITER_WINDOW_CLICK_RATE, ConfigurationValues.PACKET_LIMITER_WINDOW_CLICK_BURST, PacketType.Play.Client.WINDOW_CLICK);
+
+    /**
+     * The rate and burst configuration values
+     */
+    private final ConfigurationValues rate, burst;
+
+    /**
+     * The packets in this class
+     */
+    private final PacketType[] packets;
+
+    PacketClass(ConfigurationValues rate, ConfigurationValues burst, PacketType... packets) {
+        this.rate = rate;
+        this.burst = burst;
+        this.packets = packets;
+    }
+
+    /**
+     * @return the packets allowed per second
+     */
+    public ConfigurationValues rate() {
+        return rate;
+    }
+
+    /**
+     * @return the packets allowed at once, on top of the rate.
+     */
+    public ConfigurationValues burst() {
+        return burst;
+    }
+
+    /**
+     * @return the packets in this class
+     */
+    public PacketType[] packets() {
+        return packets;
+    }
+
+    /**
+     * Get the class of a packet
+     *
+     * @param packetType the packet type
+     * @return the class or {@code null} if the packet is not limited.
+     */
+    public static PacketClass of(PacketType packetType) {
+        for (PacketClass packetClass : values()) {
+            for (PacketType packet : packetClass.packets) {
+                if (packet == packetType) return packetClass;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,150 @@
+package arc.packet.limiter;
+
+import arc.configuration.ArcConfiguration;
+import arc.configuration.Configurable;
+import arc.configuration.values.ConfigurationValues;
+import arc.data.PlayerContext;
+import arc.data.moving.MovingData;
+import com.comphenix.protocol.PacketType;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many packets of each {@link PacketClass} a player can send.
+ * Checked inline by the packet dispatcher, so the packet that exceeds the budget is the one cancelled.
+ * Cancelled packets never reach their handlers, so they are counted here for the packet rate checks.
+ */
+public final class PacketLimiter extends Configurable implements Closeable {
+
+    /**
+     * The limits
+     */
+    private volatile Limits limits = new Limits(false, new long[0], new long[0]);
+
+    /**
+     * Packets cancelled, indexed by {@link PacketClass} ordinal.
+     */
+    private final LongAdder[] cancelled = new LongAdder[PacketClass.values().length];
+
+    public PacketLimiter() {
+        for (int i = 0; i < cancelled.length; i++) cancelled[i] = new LongAdder();
+    }
+
+    /**
+     * Initialize
+     *
+     * @param configuration the configuration
+     */
+    public void initialize(ArcConfiguration configuration) {
+        read(configuration.fileConfiguration());
+    }
+
+    @Override
+    public void reload(ArcConfiguration configuration) {
+        read(configuration.fileConfiguration());
+    }
+
+    @Override
+    public void read(FileConfiguration configuration) {
+        final PacketClass[] classes = PacketClass.values();
+        final long[] intervals = new long[classes.length];
+        final long[] tolerances = new long[classes.length];
+        for (PacketClass packetClass : classes) {
+            final int rate = Math.max(1, integer(configuration, packetClass.rate()));
+            final int burst = Math.max(1, integer(configuration, packetClass.burst()));
+            intervals[packetClass.ordinal()] = TimeUnit.SECONDS.toNanos(1) / rate;
+            tolerances[packetClass.ordinal()] = intervals[packetClass.ordinal()] * (burst - 1);
+        }
+        limits = new Limits(bool(configuration, ConfigurationValues.ENABLE_PACKET_LIMITER), intervals, tolerances);
+    }
+
+    /**
+     * Check if a player can send a packet
+     *
+     * @param context     the player context
+     * @param packetClass the packet class
+     * @param packetType  the packet type
+     * @return {@code true} if so, {@code false} if the packet should be cancelled.
+     */
+    public boolean allow(PlayerContext context, PacketClass packetClass, PacketType packetType) {
+        final Limits limits = this.limits;
+        if (!limits.enabled) return true;
+
+        final int index = packetClass.ordinal();
+        if (context.buckets().take(packetClass, System.nanoTime(), limits.intervals[index], limits.tolerances[index])) return true;
+        cancelled[index].increment();
+        count(context, packetClass, packetType);
+        return false;
+    }
+
+    /**
+     * Count a cancelled packet towards the counters MorePackets and SwingFrequency check.
+     *
+     * @param context     the player context
+     * @param packetClass the packet class
+     * @param packetType  the packet type
+     */
+    private void count(PlayerContext context, PacketClass packetClass, PacketType packetType) {
+        if (packetClass == PacketClass.SWING) {
+            context.packets().incrementSwingPacketCount();
+        } else if (packetClass == PacketClass.MOVEMENT) {
+            final MovingData data = context.moving();
+            if (packetType == PacketType.Play.Client.FLYING) {
+                data.flyingPackets(data.flyingPackets() + 1);
+            } else if (packetType == PacketType.Play.Client.POSITION) {
+                data.positionPackets(data.positionPackets() + 1);
+            } else if (packetType == PacketType.Play.Client.POSITION_LOOK) {
+                data.positionLookPackets(data.positionLookPackets() + 1);
+            } else if (packetType == PacketType.Play.Client.LOOK) {
+                data.lookPackets(data.lookPackets() + 1);
+            }
+        }
+    }
+
+    /**
+     * @param packetClass the packet class
+     * @return the amount of packets cancelled
+     */
+    public long cancelled(PacketClass packetClass) {
+        return cancelled[packetClass.ordinal()].sum();
+    }
+
+    /**
+     * Reset the cancelled packet counts
+     */
+    public void resetMetrics() {
+        for (LongAdder adder : cancelled) adder.reset();
+    }
+
+    @Override
+    public void close() {
+        limits = new Limits(false, new long[0], new long[0]);
+    }
+
+    /**
+     * The limits, replaced as a whole on reload.
+     */
+    private static final class Limits {
+
+        /**
+         * If limiting is enabled.
+         */
+        private final boolean enabled;
+
+        /**
+         * The time one packet refills, in nanoseconds.
+         * How far ahead of the rate a player can be, in nanoseconds.
+         */
+        private final long[] intervals, tolerances;
+
+        private Limits(boolean enabled, long[] intervals, long[] tolerances) {
+            this.enabled = enabled;
+            this.intervals = intervals;
+            this.tolerances = tolerances;
+        }
+    }
+
+}
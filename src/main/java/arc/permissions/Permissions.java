@@ -1,6 +1,7 @@
 package arc.permissions;
 
 import arc.check.CheckCategory;
+import arc.check.CheckSubType;
 import arc.check.CheckType;
 import org.bukkit.entity.Player;
 
@@ -59,6 +60,44 @@ public final class Permissions {
      */
     public static final String ARC_COMMANDS_TIMINGS = "arc.commands.timings";
 
+    /**
+     * The permission to view replays
+     */
+    public static final String ARC_COMMANDS_REPLAY = "arc.commands.replay";
+
+    /**
+     * The bypass bit for all checks, see {@link #bypassMask(Player)}
+     */
+    public static final long BYPASS_ALL = 1L << 63;
+
+    /**
+     * The amount of checks, sub-type bits follow the check bits.
+     */
+    private static final int CHECKS = CheckType.values().length;
+
+    /**
+     * The bypass permissions for each category, check and sub-type, indexed by ordinal.
+     */
+    private static final String[] CATEGORY_BYPASS = new String[CheckCategory.values().length],
+            CHECK_BYPASS = new String[CheckType.values().length],
+            SUB_TYPE_BYPASS = new String[CheckSubType.values().length];
+
+    static {
+        if (CHECKS + CheckSubType.values().length > 63) {
+            throw new IllegalStateException("Too many checks and sub-types for the bypass mask.");
+        }
+
+        for (CheckCategory category : CheckCategory.values()) {
+            CATEGORY_BYPASS[category.ordinal()] = ARC_BYPASS + "." + category.name().toLowerCase();
+        }
+        for (CheckType check : CheckType.values()) {
+            CHECK_BYPASS[check.ordinal()] = CATEGORY_BYPASS[check.category().ordinal()] + "." + check.getName().toLowerCase();
+        }
+        for (CheckSubType subType : CheckSubType.values()) {
+            SUB_TYPE_BYPASS[subType.ordinal()] = CHECK_BYPASS[subType.from().ordinal()] + "." + subType.getName();
+        }
+    }
+
     /**
      * Check if the player can view violations
      *
@@ -87,7 +126,7 @@ public final class Permissions {
      * @return {@code true} if so
      */
     public static boolean canBypassCategory(Player player, CheckCategory category) {
-        return player.hasPermission(ARC_BYPASS + "." + category.name().toLowerCase());
+        return player.hasPermission(CATEGORY_BYPASS[category.ordinal()]);
     }
 
     /**
@@ -102,10 +141,55 @@ public final class Permissions {
 
         for (CheckType check : checks) {
             if (canBypassCategory(player, check.category())) return true;
-            if (player.hasPermission(ARC_BYPASS + "." + check.category().name().toLowerCase() + "." + check.getName().toLowerCase()))
-                return true;
-
+            if (player.hasPermission(CHECK_BYPASS[check.ordinal()])) return true;
         }
         return false;
     }
+
+    /**
+     * Check if the player can bypass a check sub-type
+     *
+     * @param player  the player
+     * @param subType the sub-type
+     * @return {@code true} if so
+     */
+    public static boolean canBypassSubType(Player player, CheckSubType subType) {
+        return player.hasPermission(SUB_TYPE_BYPASS[subType.ordinal()]);
+    }
+
+    /**
+     * Resolve every bypass permission of a player into one mask
+     * Bypassing a check also bypasses its sub-types.
+     *
+     * @param player the player
+     * @return the mask, test with {@link #bit(CheckType)} and {@link #bit(CheckSubType)}
+     */
+    public static long bypassMask(Player player) {
+        if (canBypassAllChecks(player)) return -1L;
+
+        long mask = 0;
+        for (CheckType check : CheckType.values()) {
+            if (canBypassChecks(player, check)) mask |= bit(check);
+        }
+        for (CheckSubType subType : CheckSubType.values()) {
+            if ((mask & bit(subType.from())) != 0 || canBypassSubType(player, subType)) mask |= bit(subType);
+        }
+        return mask;
+    }
+
+    /**
+     * @param check the check
+     * @return the bypass bit for the check
+     */
+    public static long bit(CheckType check) {
+        return 1L << check.ordinal();
+    }
+
+    /**
+     * @param subType the sub-type
+     * @return the bypass bit for the sub-type
+     */
+    public static long bit(CheckSubType subType) {
+        return 1L << (CHECKS + subType.ordinal());
+    }
 }
@@ -11,12 +11,10 @@ import arc.configuration.types.BanLengthType;
 import arc.configuration.types.ConfigurationString;
 import arc.configuration.types.Placeholders;
 import arc.permissions.Permissions;
-import bridge.Version;
 import org.apache.commons.lang3.time.DateUtils;
 import org.bukkit.BanList;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.event.Event;
 
 import java.io.Closeable;
 import java.util.Date;
@@ -51,9 +49,9 @@ public final class PunishmentManager extends Configurable implements Closeable {
     private KickConfiguration kickConfiguration;
 
     /**
-     * Event related
+     * If the event API is enabled.
      */
-    private boolean useSyncEvents, enableEventApi;
+    private boolean enableEventApi;
 
     /**
      * Initialize
@@ -78,7 +76,6 @@ public final class PunishmentManager extends Configurable implements Closeable {
         this.banConfiguration = configuration.banConfiguration();
         this.kickConfiguration = configuration.kickConfiguration();
 
-        useSyncEvents = Arc.version().isNewerThan(Version.VERSION_1_8);
         enableEventApi = Arc.arc().configuration().enableEventApi();
     }
 
@@ -158,16 +155,17 @@ public final class PunishmentManager extends Configurable implements Closeable {
 
         if (enableEventApi) {
             final PlayerBanEvent event = new PlayerBanEvent(player, check, finalDate, banConfiguration.globalBanDelay());
-            triggerEvent(event);
-
-            if (event.isCancelled()) {
-                pendingPlayerBans.remove(player);
-                return;
-            }
-
-            final Date eventDate = event.date();
-            final int eventDelay = event.delay();
-            Bukkit.getScheduler().runTaskLater(Arc.plugin(), () -> ban(player, check, eventDate, length), eventDelay * 20L);
+            // schedule the ban once the event has been processed.
+            Arc.arc().events().dispatch(event, processed -> {
+                if (processed.isCancelled()) {
+                    pendingPlayerBans.remove(player);
+                    return;
+                }
+
+                final Date eventDate = processed.date();
+                final int eventDelay = processed.delay();
+                Bukkit.getScheduler().runTaskLater(Arc.plugin(), () -> ban(player, check, eventDate, length), eventDelay * 20L);
+            });
         } else {
             Bukkit.getScheduler().runTaskLater(Arc.plugin(), () -> ban(player, check, finalDate, length), banConfiguration.globalBanDelay() * 20L);
         }
@@ -248,19 +246,6 @@ public final class PunishmentManager extends Configurable implements Closeable {
     }
 
 
-    /**
-     * Trigger a bukkit event
-     *
-     * @param event the event
-     */
-    private void triggerEvent(Event event) {
-        if (useSyncEvents) {
-            Bukkit.getScheduler().runTask(Arc.arc(), () -> Bukkit.getServer().getPluginManager().callEvent(event));
-        } else {
-            Bukkit.getServer().getPluginManager().callEvent(event);
-        }
-    }
-
     @Override
     public void close() {
         pendingPlayerBans.clear();
@@ -0,0 +1,110 @@
+package arc.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A fixed size ring buffer of recorded packets for a single player.
+ * Records are stored off-heap with a fixed layout, once full the oldest records are overwritten.
+ * <p>
+ * Layout, {@link #RECORD_SIZE} bytes:
+ * time (nanos, long), packet (byte), flags (byte), action (short), value (int), x, y, z (double), yaw, pitch (float)
+ */
+public final class PacketRecording {
+
+    /**
+     * The size of a single record
+     */
+    public static final int RECORD_SIZE = 48;
+
+    /**
+     * Record flags
+     */
+    public static final int ON_GROUND = 1;
+
+    /**
+     * Field offsets
+     */
+    public static final int TIME = 0, PACKET = 8, FLAGS = 9, ACTION = 10, VALUE = 12, X = 16, Y = 24, Z = 32, YAW = 40, PITCH = 44;
+
+    /**
+     * The buffer
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The max amount of records
+     */
+    private final int capacity;
+
+    /**
+     * The total amount of records written
+     */
+    private long written;
+
+    /**
+     * Initialize
+     *
+     * @param capacity the max amount of records
+     */
+    public PacketRecording(int capacity) {
+        this.capacity = capacity;
+        this.buffer = ByteBuffer.allocateDirect(capacity * RECORD_SIZE);
+    }
+
+    /**
+     * Record a packet
+     *
+     * @param time     the time in nanoseconds
+     * @param packet   the packet
+     * @param onGround the client ground state
+     * @param action   the action ordinal, or {@code 0}
+     * @param value    the packet value, such as an entity ID, or {@code 0}
+     * @param x        X
+     * @param y        Y
+     * @param z        Z
+     * @param yaw      yaw
+     * @param pitch    pitch
+     */
+    public synchronized void record(long time, RecordedPacket packet, boolean onGround, int action, int value,
+                                    double x, double y, double z, float yaw, float pitch) {
+        final int offset = (int) (written++ % capacity) * RECORD_SIZE;
+        buffer.putLong(offset + TIME, time);
+        buffer.put(offset + PACKET, (byte) packet.ordinal());
+        buffer.put(offset + FLAGS, (byte) (onGround ? ON_GROUND : 0));
+        buffer.putShort(offset + ACTION, (short) action);
+        buffer.putInt(offset + VALUE, value);
+        buffer.putDouble(offset + X, x);
+        buffer.putDouble(offset + Y, y);
+        buffer.putDouble(offset + Z, z);
+        buffer.putFloat(offset + YAW, yaw);
+        buffer.putFloat(offset + PITCH, pitch);
+    }
+
+    /**
+     * Copy all records, oldest first.
+     *
+     * @return the records
+     */
+    public synchronized byte[] snapshot() {
+        final int count = (int) Math.min(written, capacity);
+        final byte[] records = new byte[count * RECORD_SIZE];
+        final int start = (int) (written <= capacity ? 0 : written % capacity);
+
+        // the oldest records are from start to the end, then from the beginning to start.
+        final ByteBuffer view = buffer.duplicate();
+        final int tail = (count - start) * RECORD_SIZE;
+        view.position(start * RECORD_SIZE);
+        view.get(records, 0, tail);
+        view.position(0);
+        view.get(records, tail, start * RECORD_SIZE);
+        return records;
+    }
+
+    /**
+     * @return the max amount of records
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+}
@@ -0,0 +1,77 @@
+package arc.replay;
+
+import com.comphenix.protocol.PacketType;
+
+/**
+ * The packets that can be recorded.
+ * The ordinal is written to replay files, only append new values.
+ */
+public enum RecordedPacket {
+
+    FLYING(PacketType.Play.Client.FLYING),
+    POSITION(PacketType.Play.Client.POSITION),
+    POSITION_LOOK(PacketType.Play.Client.POSITION_LOOK),
+    LOOK(PacketType.Play.Client.LOOK),
+    USE_ENTITY(PacketType.Play.Client.USE_ENTITY),
+    ARM_ANIMATION(PacketType.Play.Client.ARM_ANIMATION),
+    ENTITY_ACTION(PacketType.Play.Client.ENTITY_ACTION);
+
+    /**
+     * Values, cached.
+     */
+    private static final RecordedPacket[] VALUES = values();
+
+    /**
+     * The packet type
+     */
+    private final PacketType type;
+
+    RecordedPacket(PacketType type) {
+        this.type = type;
+    }
+
+    /**
+     * @return {@code true} if this packet has a position.
+     */
+    public boolean hasPosition() {
+        return this == POSITION || this == POSITION_LOOK;
+    }
+
+    /**
+     * @return {@code true} if this packet has a rotation.
+     */
+    public boolean hasLook() {
+        return this == LOOK || this == POSITION_LOOK;
+    }
+
+    /**
+     * @return {@code true} if this packet is a flying packet or one of its sub-types
+     */
+    public boolean isFlying() {
+        return this == FLYING || hasPosition() || hasLook();
+    }
+
+    /**
+     * Get the recorded packet for a packet type
+     *
+     * @param type the type
+     * @return the recorded packet or {@code null} if the type is not recorded.
+     */
+    public static RecordedPacket of(PacketType type) {
+        for (RecordedPacket packet : VALUES) {
+            if (packet.type == type) return packet;
+        }
+        return null;
+    }
+
+    /**
+     * Get the recorded packet by ordinal
+     *
+     * @param ordinal the ordinal
+     * @return the recorded packet or {@code null} if unknown.
+     */
+    public static RecordedPacket of(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+    }
+
+}
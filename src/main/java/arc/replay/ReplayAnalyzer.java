@@ -0,0 +1,224 @@
+package arc.replay;
+
+import arc.check.CheckManager;
+import arc.check.CheckType;
+import arc.check.combat.NoSwing;
+import arc.check.moving.MorePackets;
+import arc.data.PlayerContext;
+import arc.data.moving.MovingData;
+import arc.violation.Violations;
+import com.comphenix.protocol.wrappers.EnumWrappers;
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds a replay through the checks that only depend on packets, using the current check configuration.
+ * The checks are run with a simulated {@link PlayerContext} so the player is never notified or punished.
+ * Checks that need the world, such as NoFall or Jesus, cannot be replayed offline,
+ * for those the movement statistics are reported instead.
+ */
+public final class ReplayAnalyzer {
+
+    /**
+     * One second, in nanoseconds.
+     */
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The MorePackets check, {@code null} if disabled.
+     */
+    private final MorePackets morePackets;
+
+    /**
+     * The NoSwing check, {@code null} if disabled.
+     */
+    private final NoSwing noSwing;
+
+    /**
+     * The simulated context the checks are run with
+     */
+    private final PlayerContext context;
+
+    /**
+     * Packet counts, indexed by {@link RecordedPacket} ordinal.
+     */
+    private final int[] packets = new int[RecordedPacket.values().length];
+
+    /**
+     * The most flying packets within a second
+     */
+    private int maxFlyingPackets;
+
+    /**
+     * The time between the first and last record
+     */
+    private long duration;
+
+    /**
+     * The largest horizontal and vertical distance between two positions.
+     */
+    private double maxHorizontal, maxVertical;
+
+    /**
+     * Initialize, main thread only.
+     *
+     * @param checks the check manager
+     * @param player the player to simulate
+     */
+    public ReplayAnalyzer(CheckManager checks, Player player) {
+        final MorePackets morePackets = (MorePackets) checks.getCheck(CheckType.MORE_PACKETS);
+        final NoSwing noSwing = (NoSwing) checks.getCheck(CheckType.NO_SWING);
+        this.morePackets = morePackets != null && morePackets.enabled() ? morePackets : null;
+        this.noSwing = noSwing != null && noSwing.enabled() ? noSwing : null;
+        this.context = new PlayerContext(player, new Violations(), true);
+    }
+
+    /**
+     * Analyze a replay
+     *
+     * @param replay the replay
+     */
+    public void analyze(ReplayFile replay) {
+        final int count = replay.count();
+        if (count == 0) return;
+
+        final long start = replay.time(0);
+        duration = replay.time(count - 1) - start;
+
+        final MovingData data = context.moving();
+        final int attack = EnumWrappers.EntityUseAction.ATTACK.ordinal();
+        long window = 0;
+        boolean hasPosition = false;
+        double lastX = 0, lastY = 0, lastZ = 0;
+        for (int i = 0; i < count; i++) {
+            final RecordedPacket packet = replay.packet(i);
+            if (packet == null) continue;
+            packets[packet.ordinal()]++;
+
+            final long time = replay.time(i);
+            // MorePackets checks the counts every second.
+            final long current = (time - start) / SECOND;
+            if (current != window) {
+                checkMorePackets(data);
+                window = current;
+            }
+
+            switch (packet) {
+                case FLYING:
+                    data.flyingPackets(data.flyingPackets() + 1);
+                    break;
+                case POSITION:
+                    data.positionPackets(data.positionPackets() + 1);
+                    break;
+                case POSITION_LOOK:
+                    data.positionLookPackets(data.positionLookPackets() + 1);
+                    break;
+                case LOOK:
+                    data.lookPackets(data.lookPackets() + 1);
+                    break;
+                case ARM_ANIMATION:
+                    context.combat().lastSwingTime(TimeUnit.NANOSECONDS.toMillis(time));
+                    break;
+                case USE_ENTITY:
+                    if (noSwing != null && replay.action(i) == attack) noSwing.check(context, TimeUnit.NANOSECONDS.toMillis(time));
+                    break;
+            }
+
+            if (packet.hasPosition()) {
+                final double x = replay.x(i), y = replay.y(i), z = replay.z(i);
+                if (hasPosition) {
+                    maxHorizontal = Math.max(maxHorizontal, Math.hypot(x - lastX, z - lastZ));
+                    maxVertical = Math.max(maxVertical, Math.abs(y - lastY));
+                }
+                lastX = x;
+                lastY = y;
+                lastZ = z;
+                hasPosition = true;
+            }
+        }
+        checkMorePackets(data);
+    }
+
+    /**
+     * Run MorePackets for the last second of packets, this resets the counts.
+     *
+     * @param data the moving data
+     */
+    private void checkMorePackets(MovingData data) {
+        maxFlyingPackets = Math.max(maxFlyingPackets, data.flyingPackets());
+        if (morePackets != null) {
+            morePackets.check(context);
+        } else {
+            data.flyingPackets(0);
+            data.positionPackets(0);
+            data.positionLookPackets(0);
+            data.lookPackets(0);
+        }
+    }
+
+    /**
+     * @param packet the packet
+     * @return the amount of the packet recorded
+     */
+    public int packets(RecordedPacket packet) {
+        return packets[packet.ordinal()];
+    }
+
+    /**
+     * @return the amount of MorePackets violations
+     */
+    public int morePacketsViolations() {
+        return context.violations().getViolationLevel(CheckType.MORE_PACKETS, 0);
+    }
+
+    /**
+     * @return the amount of NoSwing violations
+     */
+    public int noSwingViolations() {
+        return context.violations().getViolationLevel(CheckType.NO_SWING, 0);
+    }
+
+    /**
+     * @return the most flying packets within a second
+     */
+    public int maxFlyingPackets() {
+        return maxFlyingPackets;
+    }
+
+    /**
+     * @return the time between the first and last record in nanoseconds
+     */
+    public long duration() {
+        return duration;
+    }
+
+    /**
+     * @return the largest horizontal distance between two positions
+     */
+    public double maxHorizontal() {
+        return maxHorizontal;
+    }
+
+    /**
+     * @return the largest vertical distance between two positions
+     */
+    public double maxVertical() {
+        return maxVertical;
+    }
+
+    /**
+     * @return {@code true} if MorePackets was replayed
+     */
+    public boolean checkedMorePackets() {
+        return morePackets != null;
+    }
+
+    /**
+     * @return {@code true} if NoSwing was replayed
+     */
+    public boolean checkedNoSwing() {
+        return noSwing != null;
+    }
+
+}
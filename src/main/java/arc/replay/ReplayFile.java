@@ -0,0 +1,233 @@
+package arc.replay;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * A replay file, the recorded packets of a player when they reached a violation level.
+ * <p>
+ * Format: magic (int), version (short), record size (short), created (long),
+ * player (UTF), check (UTF), level (int), record count (int), records.
+ */
+public final class ReplayFile {
+
+    /**
+     * The file extension
+     */
+    public static final String EXTENSION = ".replay";
+
+    /**
+     * File magic, "ARCR"
+     */
+    private static final int MAGIC = 0x41524352;
+
+    /**
+     * The current version
+     */
+    private static final short VERSION = 1;
+
+    /**
+     * The player name
+     */
+    private final String player;
+
+    /**
+     * The check name
+     */
+    private final String check;
+
+    /**
+     * The violation level
+     */
+    private final int level;
+
+    /**
+     * When this file was created
+     */
+    private final long created;
+
+    /**
+     * The records
+     */
+    private final ByteBuffer records;
+
+    /**
+     * Initialize
+     *
+     * @param player  the player name
+     * @param check   the check name
+     * @param level   the violation level
+     * @param created when the file was created
+     * @param records the records, see {@link PacketRecording}
+     */
+    public ReplayFile(String player, String check, int level, long created, byte[] records) {
+        this.player = player;
+        this.check = check;
+        this.level = level;
+        this.created = created;
+        this.records = ByteBuffer.wrap(records);
+    }
+
+    /**
+     * Write this replay
+     *
+     * @param file the file
+     * @throws IOException if an IO error occurs
+     */
+    public void write(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeShort(PacketRecording.RECORD_SIZE);
+            output.writeLong(created);
+            output.writeUTF(player);
+            output.writeUTF(check);
+            output.writeInt(level);
+            output.writeInt(count());
+            output.write(records.array());
+        }
+    }
+
+    /**
+     * Read a replay
+     *
+     * @param file the file
+     * @return the replay
+     * @throws IOException if an IO error occurs or the file is not a replay.
+     */
+    public static ReplayFile read(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC) throw new IOException("Not a replay file");
+            final short version = input.readShort();
+            if (version != VERSION) throw new IOException("Unsupported replay version " + version);
+            if (input.readShort() != PacketRecording.RECORD_SIZE) throw new IOException("Unsupported record size");
+
+            final long created = input.readLong();
+            final String player = input.readUTF();
+            final String check = input.readUTF();
+            final int level = input.readInt();
+            final int count = input.readInt();
+            if (count < 0) throw new IOException("Invalid record count " + count);
+
+            final byte[] records = new byte[count * PacketRecording.RECORD_SIZE];
+            input.readFully(records);
+            return new ReplayFile(player, check, level, created, records);
+        }
+    }
+
+    /**
+     * @return the player name
+     */
+    public String player() {
+        return player;
+    }
+
+    /**
+     * @return the check name
+     */
+    public String check() {
+        return check;
+    }
+
+    /**
+     * @return the violation level
+     */
+    public int level() {
+        return level;
+    }
+
+    /**
+     * @return when this file was created
+     */
+    public long created() {
+        return created;
+    }
+
+    /**
+     * @return the amount of records
+     */
+    public int count() {
+        return records.capacity() / PacketRecording.RECORD_SIZE;
+    }
+
+    /**
+     * @param index the record index
+     * @return the packet of the record or {@code null} if unknown
+     */
+    public RecordedPacket packet(int index) {
+        return RecordedPacket.of(records.get(index * PacketRecording.RECORD_SIZE + PacketRecording.PACKET));
+    }
+
+    /**
+     * @param index the record index
+     * @return the time of the record in nanoseconds
+     */
+    public long time(int index) {
+        return records.getLong(index * PacketRecording.RECORD_SIZE + PacketRecording.TIME);
+    }
+
+    /**
+     * @param index the record index
+     * @return the client ground state of the record
+     */
+    public boolean onGround(int index) {
+        return (records.get(index * PacketRecording.RECORD_SIZE + PacketRecording.FLAGS) & PacketRecording.ON_GROUND) != 0;
+    }
+
+    /**
+     * @param index the record index
+     * @return the action of the record
+     */
+    public int action(int index) {
+        return records.getShort(index * PacketRecording.RECORD_SIZE + PacketRecording.ACTION);
+    }
+
+    /**
+     * @param index the record index
+     * @return the value of the record
+     */
+    public int value(int index) {
+        return records.getInt(index * PacketRecording.RECORD_SIZE + PacketRecording.VALUE);
+    }
+
+    /**
+     * @param index the record index
+     * @return X
+     */
+    public double x(int index) {
+        return records.getDouble(index * PacketRecording.RECORD_SIZE + PacketRecording.X);
+    }
+
+    /**
+     * @param index the record index
+     * @return Y
+     */
+    public double y(int index) {
+        return records.getDouble(index * PacketRecording.RECORD_SIZE + PacketRecording.Y);
+    }
+
+    /**
+     * @param index the record index
+     * @return Z
+     */
+    public double z(int index) {
+        return records.getDouble(index * PacketRecording.RECORD_SIZE + PacketRecording.Z);
+    }
+
+    /**
+     * @param index the record index
+     * @return yaw
+     */
+    public float yaw(int index) {
+        return records.getFloat(index * PacketRecording.RECORD_SIZE + PacketRecording.YAW);
+    }
+
+    /**
+     * @param index the record index
+     * @return pitch
+     */
+    public float pitch(int index) {
+        return records.getFloat(index * PacketRecording.RECORD_SIZE + PacketRecording.PITCH);
+    }
+
+}
@@ -0,0 +1,183 @@
+package arc.replay;
+
+import arc.Arc;
+import arc.check.Check;
+import arc.configuration.ArcConfiguration;
+import arc.configuration.Configurable;
+import arc.data.PlayerContext;
+import bridge.packets.PacketsBridge;
+import com.comphenix.packetwrapper.WrapperPlayClientEntityAction;
+import com.comphenix.packetwrapper.WrapperPlayClientUseEntity;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.events.PacketEvent;
+import org.bukkit.Bukkit;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Level;
+
+/**
+ * Records inbound packets per player and dumps them to a replay file when a violation level is reached.
+ * Recording is opt-in, see {@link ArcConfiguration#enablePacketRecorder()}
+ */
+public final class ReplayManager extends Configurable implements Closeable {
+
+    /**
+     * The folder replays are saved in
+     */
+    private File folder;
+
+    /**
+     * If recording is enabled.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * The amount of packets recorded per player
+     */
+    private int capacity;
+
+    /**
+     * The violation level that will dump a replay
+     */
+    private int dumpLevel;
+
+    /**
+     * Initialize
+     *
+     * @param configuration the configuration
+     */
+    public void initialize(ArcConfiguration configuration) {
+        folder = new File(Arc.plugin().getDataFolder(), "replays");
+        read(configuration);
+    }
+
+    @Override
+    public void reload(ArcConfiguration configuration) {
+        read(configuration);
+    }
+
+    /**
+     * Read
+     *
+     * @param configuration the configuration
+     */
+    private void read(ArcConfiguration configuration) {
+        capacity = Math.max(1, configuration.packetRecorderSize());
+        dumpLevel = configuration.packetRecorderDumpLevel();
+        enabled = configuration.enablePacketRecorder();
+    }
+
+    /**
+     * Record a packet
+     *
+     * @param context the player context
+     * @param packet  the packet
+     * @param event   the event
+     */
+    public void record(PlayerContext context, RecordedPacket packet, PacketEvent event) {
+        if (!enabled) return;
+
+        PacketRecording recording = context.recording();
+        if (recording == null || recording.capacity() != capacity) {
+            recording = new PacketRecording(capacity);
+            context.recording(recording);
+        }
+
+        final PacketContainer container = event.getPacket();
+        double x = 0, y = 0, z = 0;
+        float yaw = 0, pitch = 0;
+        boolean onGround = false;
+        int action = 0, value = 0;
+        if (packet.isFlying()) {
+            final PacketsBridge packets = Arc.bridge().packets();
+            final Object handle = container.getHandle();
+            onGround = packets.onGround(handle);
+            if (packet.hasPosition()) {
+                x = packets.x(handle);
+                y = packets.y(handle);
+                z = packets.z(handle);
+            }
+
+            if (packet.hasLook()) {
+                yaw = packets.yaw(handle);
+                pitch = packets.pitch(handle);
+            }
+        } else if (packet == RecordedPacket.USE_ENTITY) {
+            final WrapperPlayClientUseEntity wrapper = new WrapperPlayClientUseEntity(container);
+            value = wrapper.getTargetID();
+            action = wrapper.getType().ordinal();
+        } else if (packet == RecordedPacket.ENTITY_ACTION) {
+            action = new WrapperPlayClientEntityAction(container).getAction().ordinal();
+        }
+
+        recording.record(System.nanoTime(), packet, onGround, action, value, x, y, z, yaw, pitch);
+    }
+
+    /**
+     * Invoked when a player violates a check.
+     * Dumps their recording the first time a level reaches the dump level this session.
+     *
+     * @param context the player context
+     * @param check   the check
+     * @param level   the new violation level
+     */
+    public void onViolation(PlayerContext context, Check check, int level) {
+        if (!enabled || level < dumpLevel) return;
+
+        final PacketRecording recording = context.recording();
+        if (recording == null || !context.markReplayDumped()) return;
+
+        final String player = context.player().getName();
+        final long now = System.currentTimeMillis();
+        final ReplayFile replay = new ReplayFile(player, check.getName(), level, now, recording.snapshot());
+        final File file = new File(folder, player + "-" + check.getName() + "-" + now + ReplayFile.EXTENSION);
+        Bukkit.getScheduler().runTaskAsynchronously(Arc.plugin(), () -> {
+            try {
+                if (!folder.exists() && !folder.mkdirs()) throw new IOException("Could not create " + folder);
+                replay.write(file);
+            } catch (IOException exception) {
+                Arc.arc().getLogger().log(Level.WARNING, "Failed to save replay " + file.getName(), exception);
+            }
+        });
+    }
+
+    /**
+     * Find a replay file
+     *
+     * @param name the file name, the extension is optional.
+     * @return the file or {@code null} if the name is not a file within the replay folder.
+     */
+    public File file(String name) {
+        if (name.isEmpty() || name.contains("..") || name.indexOf('/') != -1 || name.indexOf('\\') != -1) return null;
+
+        final File file = new File(folder, name.endsWith(ReplayFile.EXTENSION) ? name : name + ReplayFile.EXTENSION);
+        try {
+            return file.getCanonicalFile().getParentFile().equals(folder.getCanonicalFile()) ? file : null;
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * @return all replay files
+     */
+    public File[] files() {
+        final File[] files = folder.listFiles((dir, name) -> name.endsWith(ReplayFile.EXTENSION));
+        return files == null ? new File[0] : files;
+    }
+
+    /**
+     * @return {@code true} if recording is enabled
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void close() {
+        enabled = false;
+    }
+
+}
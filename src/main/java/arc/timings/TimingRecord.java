@@ -0,0 +1,151 @@
+package arc.timings;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, log-linear histogram of check execution times in nanoseconds.
+ * Each power of two is split into 16 linear sub-buckets, so every recorded value is within ~6% of its bucket.
+ */
+public final class TimingRecord {
+
+    /**
+     * The amount of bits used for sub-buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The amount of sub-buckets within each power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The highest power of two tracked, anything above is clamped. (~18 minutes)
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * The total amount of buckets.
+     */
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /**
+     * The bucket counts
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * The amount of samples
+     * The total time of all samples
+     */
+    private final LongAdder count = new LongAdder(), total = new LongAdder();
+
+    /**
+     * The highest sample
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a sample
+     *
+     * @param nanos the time taken in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(indexOf(nanos));
+        count.increment();
+        total.add(nanos);
+
+        long current;
+        while (nanos > (current = max.get())) {
+            if (max.compareAndSet(current, nanos)) break;
+        }
+    }
+
+    /**
+     * Get the value at the provided percentile
+     *
+     * @param percentile the percentile, 0.0 to 100.0
+     * @return the value in nanoseconds, {@code 0} if there are no samples.
+     */
+    public long percentile(double percentile) {
+        final long[] snapshot = new long[BUCKETS];
+        long samples = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            samples += snapshot[i];
+        }
+        if (samples == 0) return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil((percentile / 100.0) * samples));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(highestValueAt(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * @return the amount of samples
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return the total time of all samples in nanoseconds
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * @return the highest sample in nanoseconds
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Reset this record
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    /**
+     * Get the bucket index for a value
+     *
+     * @param value the value
+     * @return the index
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && (value >>> MAX_EXPONENT) > 1) return BUCKETS - 1;
+
+        final int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Get the highest value a bucket can hold
+     *
+     * @param index the index
+     * @return the value
+     */
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) return index;
+
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long lowest = ((long) SUB_BUCKETS + (index % SUB_BUCKETS)) << (exponent - SUB_BUCKET_BITS);
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+}
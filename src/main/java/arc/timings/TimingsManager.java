@@ -0,0 +1,148 @@
+package arc.timings;
+
+import arc.Arc;
+import arc.check.CheckType;
+import arc.configuration.ArcConfiguration;
+import arc.configuration.Configurable;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+
+/**
+ * Records how long each check takes to execute.
+ */
+public final class TimingsManager extends Configurable implements Closeable {
+
+    /**
+     * Returned by {@link #start()} while timings are disabled, never a {@link System#nanoTime()} we record.
+     */
+    public static final long DISABLED = Long.MIN_VALUE;
+
+    /**
+     * Timing records, indexed by {@link CheckType} ordinal.
+     */
+    private final TimingRecord[] records = new TimingRecord[CheckType.values().length];
+
+    /**
+     * If timings are enabled.
+     */
+    private volatile boolean enabled;
+
+    /**
+     * The amount of ticks since the last reset.
+     */
+    private volatile long ticks;
+
+    /**
+     * The time of the last reset.
+     */
+    private volatile long resetTime;
+
+    /**
+     * Counts ticks
+     */
+    private BukkitTask tickTask;
+
+    public TimingsManager() {
+        for (int i = 0; i < records.length; i++) records[i] = new TimingRecord();
+    }
+
+    /**
+     * Initialize
+     *
+     * @param configuration the configuration
+     */
+    public void initialize(ArcConfiguration configuration) {
+        read(configuration);
+    }
+
+    @Override
+    public void reload(ArcConfiguration configuration) {
+        read(configuration);
+    }
+
+    /**
+     * Read
+     *
+     * @param configuration the configuration
+     */
+    private void read(ArcConfiguration configuration) {
+        enabled = configuration.enableCheckTimings();
+        if (enabled && tickTask == null) {
+            reset();
+            tickTask = Bukkit.getScheduler().runTaskTimer(Arc.plugin(), () -> ticks++, 1, 1);
+        } else if (!enabled && tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    /**
+     * Start timing
+     *
+     * @return the start time or {@link #DISABLED} if timings are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Stop timing
+     *
+     * @param type  the check type
+     * @param start the time returned from {@link #start()}
+     */
+    public void stop(CheckType type, long start) {
+        if (start == DISABLED) return;
+        records[type.ordinal()].record(System.nanoTime() - start);
+    }
+
+    /**
+     * Get the record for a check
+     *
+     * @param type the type
+     * @return the record
+     */
+    public TimingRecord record(CheckType type) {
+        return records[type.ordinal()];
+    }
+
+    /**
+     * Reset all records
+     */
+    public void reset() {
+        for (TimingRecord record : records) record.reset();
+        ticks = 0;
+        resetTime = System.nanoTime();
+    }
+
+    /**
+     * @return the amount of ticks since the last reset
+     */
+    public long ticks() {
+        return Math.max(1, ticks);
+    }
+
+    /**
+     * @return the amount of seconds since the last reset
+     */
+    public double elapsedSeconds() {
+        return Math.max(1, System.nanoTime() - resetTime) / 1_000_000_000.0;
+    }
+
+    /**
+     * @return {@code true} if timings are enabled.
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void close() {
+        if (tickTask != null) tickTask.cancel();
+        tickTask = null;
+        enabled = false;
+    }
+
+}
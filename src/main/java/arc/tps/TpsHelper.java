@@ -0,0 +1,247 @@
+package arc.tps;
+
+import arc.Arc;
+import arc.configuration.ArcConfiguration;
+import arc.configuration.Configurable;
+import arc.configuration.values.ConfigurationValues;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the server TPS over a rolling window and degrades checks while it is below the configured limit.
+ * The further the TPS drops, the fewer moves expensive checks sample and the more thresholds are relaxed,
+ * setbacks are suspended entirely. Full fidelity returns once the TPS recovers past the limit.
+ * Measured on the main thread, read from any thread.
+ */
+public final class TpsHelper extends Configurable implements Closeable {
+
+    /**
+     * The amount of ticks measured, five seconds.
+     */
+    private static final int WINDOW = 100;
+
+    /**
+     * The length of a tick in nanoseconds.
+     */
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * The TPS below the limit where checks are fully degraded.
+     * The TPS above the limit required to recover, so the helper does not flap around the limit.
+     */
+    private static final double FULL_DEGRADATION = 5.0, RECOVERY_MARGIN = 1.0;
+
+    /**
+     * Tick durations in nanoseconds
+     */
+    private final long[] ticks = new long[WINDOW];
+
+    /**
+     * The sum of the tick durations
+     * The last tick as {@link System#nanoTime()}
+     */
+    private long sum, last;
+
+    /**
+     * The next tick slot
+     * The amount of ticks measured
+     */
+    private int index, count;
+
+    /**
+     * If the helper is enabled
+     */
+    private boolean enabled;
+
+    /**
+     * The TPS limit
+     * The highest sample interval
+     * The most thresholds are relaxed by, in percent.
+     */
+    private int limit, maxSampleInterval, maxRelaxPercent;
+
+    /**
+     * The measured TPS
+     */
+    private volatile double tps = 20.0;
+
+    /**
+     * If checks are currently degraded
+     */
+    private volatile boolean engaged;
+
+    /**
+     * Expensive checks run every this many moves
+     */
+    private volatile int sampleInterval = 1;
+
+    /**
+     * Thresholds are multiplied by this
+     */
+    private volatile double relaxFactor = 1.0;
+
+    /**
+     * The measure task
+     */
+    private BukkitTask task;
+
+    /**
+     * Initialize
+     *
+     * @param configuration the configuration
+     */
+    public void initialize(ArcConfiguration configuration) {
+        read(configuration.fileConfiguration());
+        task = Bukkit.getScheduler().runTaskTimer(Arc.plugin(), this::tick, 1, 1);
+    }
+
+    @Override
+    public void reload(ArcConfiguration configuration) {
+        read(configuration.fileConfiguration());
+    }
+
+    @Override
+    public void read(FileConfiguration configuration) {
+        enabled = bool(configuration, ConfigurationValues.ENABLE_TPS_HELPER);
+        limit = integer(configuration, ConfigurationValues.TPS_HELPER_LIMIT);
+        maxSampleInterval = Math.max(1, integer(configuration, ConfigurationValues.TPS_HELPER_MAX_SAMPLE_INTERVAL));
+        maxRelaxPercent = Math.max(0, integer(configuration, ConfigurationValues.TPS_HELPER_MAX_RELAX_PERCENT));
+        if (!enabled) recover();
+    }
+
+    /**
+     * Measure the last tick
+     */
+    private void tick() {
+        final long now = System.nanoTime();
+        final long previous = last;
+        last = now;
+        if (previous == 0) return;
+
+        sum += (now - previous) - ticks[index];
+        ticks[index] = now - previous;
+        index = (index + 1) % WINDOW;
+        if (count < WINDOW) count++;
+
+        final double tps = Math.min(20.0, count * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(sum, count * TICK / 2));
+        this.tps = tps;
+        if (enabled) update(tps);
+    }
+
+    /**
+     * Engage, adjust or recover
+     *
+     * @param tps the TPS
+     */
+    private void update(double tps) {
+        if (tps >= limit + RECOVERY_MARGIN || (!engaged && tps >= limit)) {
+            if (engaged) recover();
+            return;
+        }
+
+        // how far below the limit we are, from 0 at the limit to 1 when fully degraded.
+        final double severity = Math.min(1.0, Math.max(0.0, (limit - tps) / FULL_DEGRADATION));
+        sampleInterval = Math.max(maxSampleInterval > 1 ? 2 : 1, 1 + (int) Math.round(severity * (maxSampleInterval - 1)));
+        relaxFactor = 1.0 + severity * maxRelaxPercent / 100.0;
+        engaged = true;
+    }
+
+    /**
+     * Return to full fidelity
+     */
+    private void recover() {
+        engaged = false;
+        sampleInterval = 1;
+        relaxFactor = 1.0;
+    }
+
+    /**
+     * Check if an expensive check should run for a move
+     *
+     * @param move a counter increased every move
+     * @return {@code true} if so
+     */
+    public boolean sample(int move) {
+        final int interval = sampleInterval;
+        return interval == 1 || move % interval == 0;
+    }
+
+    /**
+     * Relax a threshold, higher is more lenient.
+     *
+     * @param threshold the threshold
+     * @return the relaxed threshold
+     */
+    public double relax(double threshold) {
+        return threshold * relaxFactor;
+    }
+
+    /**
+     * Relax a threshold, higher is more lenient.
+     *
+     * @param threshold the threshold
+     * @return the relaxed threshold
+     */
+    public long relax(long threshold) {
+        final double factor = relaxFactor;
+        return factor == 1.0 ? threshold : (long) (threshold * factor);
+    }
+
+    /**
+     * Relax a threshold, higher is more lenient.
+     *
+     * @param threshold the threshold
+     * @return the relaxed threshold
+     */
+    public int relax(int threshold) {
+        final double factor = relaxFactor;
+        return factor == 1.0 ? threshold : (int) Math.round(threshold * factor);
+    }
+
+    /**
+     * @return {@code true} if setbacks should not be applied.
+     */
+    public boolean setbacksSuspended() {
+        return engaged;
+    }
+
+    /**
+     * @return if checks are currently degraded
+     */
+    public boolean engaged() {
+        return engaged;
+    }
+
+    /**
+     * @return the TPS over the last five seconds
+     */
+    public double tps() {
+        return tps;
+    }
+
+    /**
+     * @return expensive checks run every this many moves
+     */
+    public int sampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * @return thresholds are multiplied by this
+     */
+    public double relaxFactor() {
+        return relaxFactor;
+    }
+
+    @Override
+    public void close() {
+        if (task != null) task.cancel();
+        task = null;
+        recover();
+    }
+
+}
@@ -0,0 +1,170 @@
+package arc.tracking;
+
+import org.bukkit.entity.EntityType;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The recent positions and bounding box sizes of an entity, one sample per tick.
+ * Written by the main thread and read by packet threads, readers retry instead of blocking the writer.
+ */
+public final class EntityHistory {
+
+    /**
+     * The amount of samples kept, one second of ticks.
+     */
+    public static final int SAMPLES = 20;
+
+    /**
+     * The sample times as {@link System#nanoTime()}
+     */
+    private final long[] times = new long[SAMPLES];
+
+    /**
+     * The sampled positions
+     * The sampled bounding box half widths and heights
+     */
+    private final double[] x = new double[SAMPLES], y = new double[SAMPLES], z = new double[SAMPLES],
+            halfWidth = new double[SAMPLES], height = new double[SAMPLES];
+
+    /**
+     * Guards the samples
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * The entity id
+     */
+    private final int entityId;
+
+    /**
+     * The entity type
+     */
+    private final EntityType type;
+
+    /**
+     * The entity eye height, written by the main thread.
+     */
+    private volatile double eyeHeight;
+
+    /**
+     * The next sample slot
+     * The amount of samples
+     */
+    private int index, count;
+
+    public EntityHistory(int entityId, EntityType type) {
+        this.entityId = entityId;
+        this.type = type;
+    }
+
+    /**
+     * Add a sample, main thread only.
+     *
+     * @param now       the current {@link System#nanoTime()}
+     * @param x         X
+     * @param y         Y
+     * @param z         Z
+     * @param halfWidth half the bounding box width
+     * @param height    the bounding box height
+     * @param eyeHeight the eye height
+     */
+    public void sample(long now, double x, double y, double z, double halfWidth, double height, double eyeHeight) {
+        final long stamp = lock.writeLock();
+        try {
+            times[index] = now;
+            this.x[index] = x;
+            this.y[index] = y;
+            this.z[index] = z;
+            this.halfWidth[index] = halfWidth;
+            this.height[index] = height;
+            index = (index + 1) % SAMPLES;
+            if (count < SAMPLES) count++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        this.eyeHeight = eyeHeight;
+    }
+
+    /**
+     * Get the position at a time, interpolated between the two nearest samples.
+     * Times outside of the history are clamped to the oldest or newest sample.
+     *
+     * @param time the time as {@link System#nanoTime()}
+     * @return the position or {@code null} if nothing was sampled yet.
+     */
+    public EntityPosition at(long time) {
+        long stamp = lock.tryOptimisticRead();
+        EntityPosition position = interpolate(time);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                position = interpolate(time);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Interpolate the samples, may observe a partial write when reading optimistically.
+     *
+     * @param time the time
+     * @return the position or {@code null} if nothing was sampled yet.
+     */
+    private EntityPosition interpolate(long time) {
+        final int count = this.count;
+        if (count == 0) return null;
+
+        // walk from newest to oldest until we pass the time.
+        final int newest = Math.floorMod(index - 1, SAMPLES);
+        int after = newest;
+        for (int i = 1; i < count; i++) {
+            final int before = Math.floorMod(newest - i, SAMPLES);
+            if (times[before] <= time) {
+                final long span = times[after] - times[before];
+                final double t = span <= 0 ? 1.0 : Math.min(1.0, (time - times[before]) / (double) span);
+                return new EntityPosition(
+                        lerp(x, before, after, t),
+                        lerp(y, before, after, t),
+                        lerp(z, before, after, t),
+                        lerp(halfWidth, before, after, t),
+                        lerp(height, before, after, t),
+                        eyeHeight);
+            }
+            after = before;
+        }
+
+        // older than the history, use the oldest sample.
+        return new EntityPosition(x[after], y[after], z[after], halfWidth[after], height[after], eyeHeight);
+    }
+
+    /**
+     * Interpolate between two samples
+     *
+     * @param values the values
+     * @param before the older slot
+     * @param after  the newer slot
+     * @param t      the progress from the older to the newer
+     * @return the value
+     */
+    private static double lerp(double[] values, int before, int after, double t) {
+        return values[before] + (values[after] - values[before]) * t;
+    }
+
+    /**
+     * @return the entity id
+     */
+    public int entityId() {
+        return entityId;
+    }
+
+    /**
+     * @return the entity type
+     */
+    public EntityType type() {
+        return type;
+    }
+
+}
@@ -0,0 +1,178 @@
+package arc.tracking;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Entity histories by entity id, an open-addressing table with linear probing.
+ * Written only by the main thread, read from any thread without locking or boxing.
+ * A lookup racing the removal of another entity may miss, lookups never return the wrong entity.
+ */
+public final class EntityIndex {
+
+    /**
+     * An empty slot, entity ids are never negative.
+     */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    /**
+     * The initial capacity
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * The table, replaced when it grows.
+     */
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    /**
+     * The amount of entries, writer only.
+     */
+    private int size;
+
+    /**
+     * Get the history of an entity
+     *
+     * @param entityId the entity id
+     * @return the history or {@code null}
+     */
+    public EntityHistory get(int entityId) {
+        final Table table = this.table;
+        final int mask = table.mask;
+        for (int slot = hash(entityId) & mask; ; slot = (slot + 1) & mask) {
+            final int key = table.keys.get(slot);
+            if (key == EMPTY) return null;
+            if (key == entityId) {
+                // the slot may have been re-used between reading the key and the value.
+                final EntityHistory history = table.values.get(slot);
+                return history != null && history.entityId() == entityId ? history : null;
+            }
+        }
+    }
+
+    /**
+     * Add or replace a history, main thread only.
+     *
+     * @param history the history
+     */
+    public void put(EntityHistory history) {
+        if ((size + 1) * 2 > table.keys.length()) grow();
+        if (insert(table, history)) size++;
+    }
+
+    /**
+     * Remove a history, main thread only.
+     *
+     * @param entityId the entity id
+     */
+    public void remove(int entityId) {
+        final Table table = this.table;
+        final int mask = table.mask;
+        int slot = hash(entityId) & mask;
+        while (true) {
+            final int key = table.keys.get(slot);
+            if (key == EMPTY) return;
+            if (key == entityId) break;
+            slot = (slot + 1) & mask;
+        }
+
+        // shift following entries back so no probe sequence is broken.
+        int hole = slot;
+        for (int next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+            final int key = table.keys.get(next);
+            if (key == EMPTY) break;
+
+            final int home = hash(key) & mask;
+            // move the entry if its home is not between the hole and its slot.
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table.values.set(hole, table.values.get(next));
+                table.keys.set(hole, key);
+                hole = next;
+            }
+        }
+        table.keys.set(hole, EMPTY);
+        table.values.set(hole, null);
+        size--;
+    }
+
+    /**
+     * Remove everything, main thread only.
+     */
+    public void clear() {
+        table = new Table(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Double the table size
+     */
+    private void grow() {
+        final Table old = table;
+        final Table grown = new Table(old.keys.length() * 2);
+        for (int i = 0; i < old.keys.length(); i++) {
+            if (old.keys.get(i) != EMPTY) insert(grown, old.values.get(i));
+        }
+        table = grown;
+    }
+
+    /**
+     * Insert into a table
+     *
+     * @param table   the table
+     * @param history the history
+     * @return {@code true} if the entity was not present yet.
+     */
+    private static boolean insert(Table table, EntityHistory history) {
+        final int entityId = history.entityId();
+        final int mask = table.mask;
+        for (int slot = hash(entityId) & mask; ; slot = (slot + 1) & mask) {
+            final int key = table.keys.get(slot);
+            if (key == entityId || key == EMPTY) {
+                // value first, so a reader that sees the key also sees the value.
+                table.values.set(slot, history);
+                table.keys.set(slot, entityId);
+                return key == EMPTY;
+            }
+        }
+    }
+
+    /**
+     * Spread sequential entity ids across the table
+     *
+     * @param entityId the entity id
+     * @return the hash
+     */
+    private static int hash(int entityId) {
+        final int hash = entityId * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * The keys and values
+     */
+    private static final class Table {
+
+        /**
+         * The entity ids
+         */
+        private final AtomicIntegerArray keys;
+
+        /**
+         * The histories
+         */
+        private final AtomicReferenceArray<EntityHistory> values;
+
+        /**
+         * The index mask
+         */
+        private final int mask;
+
+        private Table(int capacity) {
+            keys = new AtomicIntegerArray(capacity);
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) keys.set(i, EMPTY);
+        }
+    }
+
+}
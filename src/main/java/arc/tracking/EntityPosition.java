@@ -0,0 +1,48 @@
+package arc.tracking;
+
+/**
+ * An entity position and bounding box size from its {@link EntityHistory}
+ */
+public final class EntityPosition {
+
+    /**
+     * The position
+     * Half the bounding box width and the bounding box height
+     * The eye height
+     */
+    private final double x, y, z, halfWidth, height, eyeHeight;
+
+    public EntityPosition(double x, double y, double z, double halfWidth, double height, double eyeHeight) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.halfWidth = halfWidth;
+        this.height = height;
+        this.eyeHeight = eyeHeight;
+    }
+
+    public double x() {
+        return x;
+    }
+
+    public double y() {
+        return y;
+    }
+
+    public double z() {
+        return z;
+    }
+
+    public double halfWidth() {
+        return halfWidth;
+    }
+
+    public double height() {
+        return height;
+    }
+
+    public double eyeHeight() {
+        return eyeHeight;
+    }
+
+}
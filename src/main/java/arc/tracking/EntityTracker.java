@@ -0,0 +1,192 @@
+package arc.tracking;
+
+import arc.Arc;
+import arc.data.PlayerContext;
+import bridge.BoundingBox;
+import bridge.entities.EntitiesBridge;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps an {@link EntityHistory} of every living entity, sampled once per tick on the main thread.
+ * Combat checks resolve attacked entities and where they were from packet threads without touching the world.
+ * Entities are added when they spawn, when their chunk loads and when players join or respawn,
+ * they are removed once the sampler finds them no longer valid. Players are kept while they are online,
+ * a dead player is not valid but keeps their entity id when they respawn.
+ */
+public final class EntityTracker implements Closeable {
+
+    /**
+     * Histories by entity id, read from any thread.
+     */
+    private final EntityIndex index = new EntityIndex();
+
+    /**
+     * Tracked entities, main thread only.
+     */
+    private final List<Entity> tracked = new ArrayList<>();
+
+    /**
+     * Entities spawned or loaded this tick, added on the next tick once they are in the world.
+     */
+    private final List<Entity> pending = new ArrayList<>();
+
+    /**
+     * Location re-used while sampling
+     */
+    private final Location location = new Location(null, 0, 0, 0);
+
+    /**
+     * Reads entity bounding boxes
+     */
+    private EntitiesBridge entities;
+
+    /**
+     * The sample task
+     */
+    private BukkitTask task;
+
+    public EntityTracker() {
+    }
+
+    /**
+     * Initialize with a bridge, the tracker is sampled manually with {@link #tick()}
+     *
+     * @param entities the entities bridge
+     */
+    EntityTracker(EntitiesBridge entities) {
+        this.entities = entities;
+    }
+
+    /**
+     * Initialize and track all living entities.
+     */
+    public void initialize() {
+        if (entities == null) entities = Arc.bridge().entities();
+        for (World world : Bukkit.getWorlds()) world.getLivingEntities().forEach(this::add);
+        task = Bukkit.getScheduler().runTaskTimer(Arc.plugin(), this::tick, 1, 1);
+    }
+
+    /**
+     * Track an entity, main thread only.
+     * Entities that are not living are ignored.
+     *
+     * @param entity the entity
+     */
+    public void add(Entity entity) {
+        if (!(entity instanceof LivingEntity) || index.get(entity.getEntityId()) != null) return;
+
+        final EntityHistory history = new EntityHistory(entity.getEntityId(), entity.getType());
+        sample(entity, history, System.nanoTime());
+        index.put(history);
+        tracked.add(entity);
+    }
+
+    /**
+     * Invoked when an entity spawns
+     *
+     * @param entity the entity
+     */
+    public void onEntitySpawn(Entity entity) {
+        if (entity instanceof LivingEntity) pending.add(entity);
+    }
+
+    /**
+     * Invoked when a chunk is loaded
+     *
+     * @param chunk the chunk
+     */
+    public void onChunkLoad(Chunk chunk) {
+        for (Entity entity : chunk.getEntities()) onEntitySpawn(entity);
+    }
+
+    /**
+     * Resolve an entity
+     *
+     * @param entityId the entity id
+     * @return the history or {@code null} if the entity is not a tracked living entity.
+     */
+    public EntityHistory resolve(int entityId) {
+        return index.get(entityId);
+    }
+
+    /**
+     * Get where an entity was as the player saw it, based on their latency.
+     *
+     * @param context the player context
+     * @param entity  the entity
+     * @return the position or {@code null} if the entity has no samples.
+     */
+    public EntityPosition seenBy(PlayerContext context, EntityHistory entity) {
+        return entity.at(context.latency().clientTime(System.nanoTime()));
+    }
+
+    /**
+     * Check if an entity should still be tracked
+     *
+     * @param entity the entity
+     * @return {@code true} if the entity is valid or is a player that is still online.
+     */
+    private static boolean isTracked(Entity entity) {
+        return entity.isValid() || (entity instanceof Player && ((Player) entity).isOnline());
+    }
+
+    /**
+     * Sample every tracked entity
+     */
+    void tick() {
+        final long now = System.nanoTime();
+        for (Entity entity : pending) {
+            if (entity.isValid()) add(entity);
+        }
+        pending.clear();
+
+        for (int i = tracked.size() - 1; i >= 0; i--) {
+            final Entity entity = tracked.get(i);
+            final EntityHistory history = index.get(entity.getEntityId());
+            if (!isTracked(entity) || history == null) {
+                // swap with the last entity, order does not matter.
+                tracked.set(i, tracked.get(tracked.size() - 1));
+                tracked.remove(tracked.size() - 1);
+                index.remove(entity.getEntityId());
+                continue;
+            }
+
+            sample(entity, history, now);
+        }
+    }
+
+    /**
+     * Sample an entity
+     *
+     * @param entity  the entity
+     * @param history its history
+     * @param now     the current {@link System#nanoTime()}
+     */
+    private void sample(Entity entity, EntityHistory history, long now) {
+        entity.getLocation(location);
+        final BoundingBox box = entities.getBoundingBox(entity);
+        history.sample(now, location.getX(), location.getY(), location.getZ(),
+                (box.maxX() - box.minX()) / 2.0, box.maxY() - box.minY(), ((LivingEntity) entity).getEyeHeight());
+    }
+
+    @Override
+    public void close() {
+        if (task != null) task.cancel();
+        task = null;
+        tracked.clear();
+        pending.clear();
+        index.clear();
+    }
+
+}
@@ -1,68 +1,30 @@
 package arc.utility;
 
+import arc.Arc;
 import arc.data.moving.MovingData;
 import arc.utility.block.Blocks;
-import arc.utility.math.MathUtil;
+import arc.world.ChunkCache;
+import arc.world.ChunkManager;
+import bridge.materials.MaterialFlags;
 import org.bukkit.Location;
-import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
-
-import java.util.function.Predicate;
+import org.bukkit.World;
+import org.bukkit.util.NumberConversions;
 
 /**
  * Moving utility for calculating various things related to movement.
- * WARNING: Locations here are directly manipulated, you should clone before using any method.
+ * The primitive overloads should be preferred, they do not allocate.
  */
 public final class MovingUtil {
 
     /**
-     * Check if the location is on a solid block
-     * 0.5, 0.3, 0.1
-     *
-     * @param location the location
-     * @return {@code true} if so
+     * Chunks
      */
-    public static boolean onGround(Location location) {
-        final Block selfBlock = Blocks.getBlockSync(location.subtract(0, 0.5, 0));
-        location.add(0, 0.5, 0);
-        if (Blocks.isSolid(selfBlock)) return true;
-
-        return checkBlocksAround(location, 0.3, -0.1, 0.3, Blocks::isSolid);
-    }
-
-    /**
-     * Check if the player has a climbable block at this location
-     *
-     * @param location the location
-     * @return {@code true} if so
-     */
-    public static boolean hasClimbable(Location location) {
-        final Block selfBlock = Blocks.getBlockSync(location);
-        if (Blocks.isClimbable(selfBlock)) return true;
-        return checkBlocksAround(location, 0.1, -0.06, 0.1, Blocks::isClimbable);
-    }
-
-    /**
-     * @return if we are in or on liquid.
-     */
-    public static boolean isInOrOnLiquid(Location location) {
-        if (Blocks.isLiquid(Blocks.getBlockSync(location))) return true;
-        final boolean liquidRelative = Blocks.isLiquid(Blocks.getBlockSync(location, BlockFace.DOWN));
-        location.setY(location.getY() + 1);
-
-        return liquidRelative || checkBlocksAround(location, 0.3, -0.1, 0.3, Blocks::isLiquid);
-    }
+    private static final ChunkManager CHUNKS = Arc.arc().chunks();
 
     /**
-     * @param location the location
-     * @return {@code true} if the location is on ice
+     * Half the width probed for climbable blocks and ice.
      */
-    public static boolean isOnIce(Location location) {
-        if (Blocks.isIce(Blocks.getBlockSync(location))) return true;
-        final boolean iceRelative = Blocks.isIce(Blocks.getBlockSync(location, BlockFace.DOWN));
-        location.setY(location.getY() + 1);
-        return iceRelative || checkBlocksAround(location, 0.1, -0.01, 0.1, Blocks::isIce);
-    }
+    private static final double NARROW_HALF_WIDTH = 0.1;
 
     /**
      * Check if we are on ice with trapdoors.
@@ -76,99 +38,119 @@ public final class MovingUtil {
     }
 
     /**
-     * Check blocks around a location
+     * Sample the environment around a position in a single pass.
+     * The blocks within the bounding box footprint are gathered once at the feet level and the level below,
+     * at most 8 blocks, and every environment flag is computed from that sample.
+     * The probes match the individual block lookups this replaced:
+     * ground below the center at y - 0.5 and the footprint at y - 0.1,
+     * liquid at the center and the footprint at y - 0.1,
+     * climbable at the center and {@link #NARROW_HALF_WIDTH} around it at y - 0.06,
+     * ice at the center and {@link #NARROW_HALF_WIDTH} around it at y - 0.01.
      *
-     * @param location  the location
-     * @param xModifier the xModifier
-     * @param yModifier the yModifier
-     * @param zModifier the zModifier
-     * @param predicate the predicate to test against
-     * @return {@code true} if the predicate is successful.
+     * @param world        the world
+     * @param x            X
+     * @param y            Y
+     * @param z            Z
+     * @param boxHalfWidth half the width of the bounding box
+     * @param cache        the chunk cache of the player, may be {@code null}
+     * @return the {@link MovingData} environment flags
      */
-    public static boolean checkBlocksAround(Location location, double xModifier, double yModifier, double zModifier, Predicate<Block> predicate) {
-        final double originalX = location.getX();
-        final double originalY = location.getY();
-        final double originalZ = location.getZ();
-
-        if (predicate.test(getBlockFromModifier(location, xModifier, yModifier, -zModifier, originalX, originalY, originalZ)))
-            return true;
-        if (predicate.test(getBlockFromModifier(location, -xModifier, yModifier, zModifier, originalX, originalY, originalZ)))
-            return true;
-        if (predicate.test(getBlockFromModifier(location, -xModifier, yModifier, -zModifier, originalX, originalY, originalZ)))
-            return true;
-        return predicate.test(getBlockFromModifier(location, xModifier, yModifier, zModifier, originalX, originalY, originalZ));
-    }
+    public static int sampleEnvironment(World world, double x, double y, double z, double boxHalfWidth, ChunkCache cache) {
+        final double halfWidth = Math.max(boxHalfWidth, NARROW_HALF_WIDTH);
+        final int minX = NumberConversions.floor(x - halfWidth), maxX = NumberConversions.floor(x + halfWidth);
+        final int minZ = NumberConversions.floor(z - halfWidth), maxZ = NumberConversions.floor(z + halfWidth);
+        final int centerX = NumberConversions.floor(x), centerZ = NumberConversions.floor(z);
+        final int blockY = NumberConversions.floor(y);
+        final double offset = y - blockY;
+        final int maxHeight = world.getMaxHeight();
+
+        // flags of the level the feet are in, and the level below.
+        // for the footprint, the narrow footprint and the center block.
+        int upper = 0, lower = 0, narrowUpper = 0, narrowLower = 0, centerUpper = 0, centerLower = 0;
+        for (int blockX = minX; blockX <= maxX; blockX++) {
+            for (int blockZ = minZ; blockZ <= maxZ; blockZ++) {
+                final Object chunk = CHUNKS.getChunk(world, blockX >> 4, blockZ >> 4, cache);
+                if (chunk == null) return MovingData.UNKNOWN;
+
+                final int blockUpper = Blocks.flags(chunk, blockX & 15, blockY, blockZ & 15, maxHeight);
+                final int blockLower = Blocks.flags(chunk, blockX & 15, blockY - 1, blockZ & 15, maxHeight);
+                if (within(blockX, x, boxHalfWidth) && within(blockZ, z, boxHalfWidth)) {
+                    upper |= blockUpper;
+                    lower |= blockLower;
+                }
+
+                if (within(blockX, x, NARROW_HALF_WIDTH) && within(blockZ, z, NARROW_HALF_WIDTH)) {
+                    narrowUpper |= blockUpper;
+                    narrowLower |= blockLower;
+                }
+
+                if (blockX == centerX && blockZ == centerZ) {
+                    centerUpper = blockUpper;
+                    centerLower = blockLower;
+                }
+            }
+        }
 
-    /**
-     * Get a block from a modifier
-     *
-     * @param location  the location
-     * @param xModifier the xModifier
-     * @param yModifier the yModifier
-     * @param zModifier the zModifier
-     * @param originalX the original X
-     * @param originalY the original Y
-     * @param originalZ the original Z
-     * @return the block
-     */
-    public static Block getBlockFromModifier(Location location, double xModifier, double yModifier, double zModifier, double originalX, double originalY, double originalZ) {
-        location.add(xModifier, yModifier, zModifier);
-        final Block block = Blocks.getBlockSync(location);
-        reset(location, originalX, originalY, originalZ);
-        return block;
+        final int ground = (offset >= 0.5 ? centerUpper : centerLower) | (offset >= 0.1 ? upper : lower);
+        final int liquid = centerUpper | centerLower | (offset >= 0.1 ? upper : lower);
+        final int climbable = centerUpper | (offset >= 0.06 ? narrowUpper : narrowLower);
+        final int ice = centerUpper | centerLower | (offset >= 0.01 ? narrowUpper : narrowLower);
+
+        int environment = 0;
+        if (MaterialFlags.has(ground, MaterialFlags.SOLID)) environment |= MovingData.ON_GROUND;
+        if (MaterialFlags.has(ice, MaterialFlags.ICE)) environment |= MovingData.ON_ICE;
+        if (MaterialFlags.has(climbable, MaterialFlags.CLIMBABLE)) environment |= MovingData.CLIMBABLE;
+        if (MaterialFlags.has(liquid, MaterialFlags.LIQUID)) environment |= MovingData.IN_LIQUID;
+        return environment;
     }
 
     /**
-     * Reset the location
+     * Check if a block coordinate is within a footprint
      *
-     * @param location  the location
-     * @param originalX the original X
-     * @param originalY the original Y
-     * @param originalZ the original Z
+     * @param block     the block coordinate
+     * @param center    the center of the footprint
+     * @param halfWidth half the width of the footprint
+     * @return {@code true} if so
      */
-    public static void reset(Location location, double originalX, double originalY, double originalZ) {
-        location.setX(originalX);
-        location.setY(originalY);
-        location.setZ(originalZ);
+    private static boolean within(int block, double center, double halfWidth) {
+        return block >= NumberConversions.floor(center - halfWidth) && block <= NumberConversions.floor(center + halfWidth);
     }
 
     /**
-     * Calculate player movement
+     * Calculate player movement from the from and to positions within {@code data}
      *
-     * @param data their data
-     * @param from from
-     * @param to   to
+     * @param data  their data
+     * @param world the world they are in
      */
-    public static void calculateMovement(MovingData data, Location from, Location to) {
+    public static void calculateMovement(MovingData data, World world) {
         final long now = System.currentTimeMillis();
-        // prevent cloning multiple times to save performance
-        final Location cloneFrom = from.clone();
-        final Location cloneTo = to.clone();
+        final double fromY = data.fromY();
+        final double toY = data.toY();
 
-        // calculate ground
-        final boolean currentOnGround = data.onGround();
+        // sample the environment, if the chunk we moved into is not known do not calculate anything block related.
         final boolean previousOnGround = data.wasOnGround();
-        final boolean onGround = MovingUtil.onGround(cloneTo);
+        final boolean currentOnGround = data.onGround();
+        data.environment(sampleEnvironment(world, data.toX(), toY, data.toZ(), data.boxHalfWidth(), data.chunkCache()));
+        if (data.unknownEnvironment()) {
+            data.lastMovingUpdate(now);
+            return;
+        }
 
-        data.onGround(onGround);
+        // calculate ground
+        final boolean onGround = data.onGround();
         data.wasOnGround(!onGround || (currentOnGround && previousOnGround));
 
         // calculate ground stuff.
         if (onGround) {
-            data.ground(cloneTo);
+            data.groundToCurrent();
             data.incrementOnGroundTime();
 
-            final boolean isOnIce = MovingUtil.isOnIce(cloneTo);
-            final boolean wasOnIce = MovingUtil.isOnIce(cloneFrom);
-
-            data.onIce(isOnIce);
-
-            if (isOnIce) {
+            if (data.onIce()) {
                 data.incrementOnIceTime();
                 data.offIceTime(0);
             } else {
                 data.onIceTime(0);
-                if (!wasOnIce) data.incrementOffIceTime();
+                if (!data.wasOnIce()) data.incrementOffIceTime();
             }
 
         } else {
@@ -191,13 +173,13 @@ public final class MovingUtil {
         }
 
         // distance moved vertically.
-        final double distance = MathUtil.vertical(cloneFrom, cloneTo);
+        final double distance = Math.abs(toY - fromY);
         data.lastVertical(data.vertical());
         data.vertical(distance);
 
         // calculate ascending/descending
-        final boolean ascending = distance > 0.0 && to.getY() > from.getY();
-        final boolean descending = distance > 0.0 && to.getY() < from.getY();
+        final boolean ascending = distance > 0.0 && toY > fromY;
+        final boolean descending = distance > 0.0 && toY < fromY;
         data.ascending(ascending);
         data.descending(descending);
         if (ascending) {
@@ -213,14 +195,7 @@ public final class MovingUtil {
         }
 
         // calculate climbing
-        final boolean hasClimbable = MovingUtil.hasClimbable(cloneTo);
-        final boolean climbing = hasClimbable && (ascending || descending);
-        data.hasClimbable(hasClimbable);
-        data.climbing(climbing);
-
-        // calculate liquids
-        final boolean inLiquid = MovingUtil.isInOrOnLiquid(cloneTo);
-        data.inLiquid(inLiquid);
+        data.climbing(data.hasClimbable() && (ascending || descending));
         data.lastMovingUpdate(now);
     }
 
@@ -1,16 +1,13 @@
 package arc.utility.block;
 
 import arc.Arc;
+import arc.world.ChunkManager;
+import bridge.materials.MaterialFlags;
 import bridge.materials.MaterialsBridge;
-import org.bukkit.Bukkit;
-import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitScheduler;
-
-import java.util.Objects;
-import java.util.concurrent.ExecutionException;
+import org.bukkit.util.NumberConversions;
 
 /**
  * A basic block utility
@@ -18,153 +15,169 @@ import java.util.concurrent.ExecutionException;
 public final class Blocks {
 
     /**
-     * Scheduler
+     * Chunks
      */
-    private static final BukkitScheduler SCHEDULER = Bukkit.getScheduler();
+    private static final ChunkManager CHUNKS = Arc.arc().chunks();
 
     /**
-     * Plugin
+     * Materials bridge.
      */
-    private static final Plugin PLUGIN = Arc.plugin();
+    private static final MaterialsBridge MATERIALS = Arc.bridge().materials();
 
     /**
-     * Materials bridge.
+     * Get the {@link MaterialFlags} of the block at the position without loading chunks.
+     *
+     * @param world the world
+     * @param x     X
+     * @param y     Y
+     * @param z     Z
+     * @return the flags or {@code 0} if the chunk is not known.
      */
-    private static final MaterialsBridge MATERIALS = Arc.bridge().materials();
+    public static short flags(World world, double x, double y, double z) {
+        final int blockX = NumberConversions.floor(x), blockZ = NumberConversions.floor(z);
+        final Object chunk = CHUNKS.getChunk(world, blockX >> 4, blockZ >> 4, null);
+        if (chunk == null) return 0;
+        return flags(chunk, blockX & 15, NumberConversions.floor(y), blockZ & 15, world.getMaxHeight());
+    }
 
     /**
-     * Get a block sync
+     * Get the {@link MaterialFlags} of a block within a chunk.
      *
-     * @param location the location
-     * @param relative the relative
-     * @return the block
+     * @param chunk     the chunk handle from {@link ChunkManager#getChunk(World, int, int, arc.world.ChunkCache)}
+     * @param x         X within the chunk
+     * @param y         Y
+     * @param z         Z within the chunk
+     * @param maxHeight the max height of the world
+     * @return the flags or {@code 0} if {@code y} is out of bounds.
      */
-    public static Block getBlockSync(Location location, BlockFace relative) {
-        return getBlockSync(location.add(relative.getModX(), relative.getModY(), relative.getModZ()));
+    public static short flags(Object chunk, int x, int y, int z, int maxHeight) {
+        final Material type = CHUNKS.getType(chunk, x, y, z, maxHeight);
+        return type == null ? 0 : MATERIALS.flags(type);
     }
 
     /**
-     * Get a block sync.
-     * If the chunk is loaded, the block is returned.
-     * Otherwise, the chunk is loaded sync and the block is returned.
+     * Check if every chunk a box around the position covers is known
      *
-     * @param location the location
-     * @return the block
-     */
-    public static Block getBlockSync(Location location) {
-        if (Objects.requireNonNull(location.getWorld()).isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
-            return location.getBlock();
-        } else {
-            try {
-                return SCHEDULER.callSyncMethod(PLUGIN, () -> {
-                    location.getWorld().loadChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4);
-                    return location.getBlock();
-                }).get();
-            } catch (InterruptedException | ExecutionException exception) {
-                exception.printStackTrace();
-            }
-        }
-        return location.getBlock();
+     * @param world     the world
+     * @param x         X
+     * @param z         Z
+     * @param halfWidth half the width of the box
+     * @return {@code true} if so
+     */
+    public static boolean isKnown(World world, double x, double z, double halfWidth) {
+        return CHUNKS.isKnown(world, NumberConversions.floor(x - halfWidth), NumberConversions.floor(z - halfWidth),
+                NumberConversions.floor(x + halfWidth), NumberConversions.floor(z + halfWidth), null);
+    }
+
+    /**
+     * Get the {@link MaterialFlags} of a block.
+     * One lookup answers every predicate below.
+     *
+     * @param block the block, may be {@code null}
+     * @return the flags or {@code 0} if the block is {@code null}
+     */
+    public static short flags(Block block) {
+        return block == null ? 0 : MATERIALS.flags(block);
     }
 
     /**
      * Check if the block is a fence.
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isFence(Block block) {
-        return MATERIALS.isFence(block);
+        return block != null && MATERIALS.isFence(block);
     }
 
     /**
      * Check if the block is a slab
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isSlab(Block block) {
-        return MATERIALS.isSlab(block);
+        return block != null && MATERIALS.isSlab(block);
     }
 
     /**
      * Check if a block is a stair
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isStair(Block block) {
-        return MATERIALS.isStair(block);
+        return block != null && MATERIALS.isStair(block);
     }
 
     /**
      * Check if a block is a fence gate
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isFenceGate(Block block) {
-        return MATERIALS.isFenceGate(block);
+        return block != null && MATERIALS.isFenceGate(block);
     }
 
     /**
      * Check if a block is a climbable
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isClimbable(Block block) {
-        return MATERIALS.isClimbable(block);
+        return block != null && MATERIALS.isClimbable(block);
     }
 
     /**
      * Check if a block is a liquid
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isLiquid(Block block) {
-        return MATERIALS.isLiquid(block);
+        return block != null && MATERIALS.isLiquid(block);
     }
 
     /**
      * Check if a block is a trapdoor
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isTrapdoor(Block block) {
-        return MATERIALS.isTrapdoor(block);
+        return block != null && MATERIALS.isTrapdoor(block);
     }
 
     /**
      * Check if a block is ice
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isIce(Block block) {
-        return MATERIALS.isIce(block);
+        return block != null && MATERIALS.isIce(block);
     }
 
     /**
      * Do not make isWall part of the {@code isSolid} check
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if the block is a wall
      */
     public static boolean isWall(Block block) {
-        return MATERIALS.isWall(block);
+        return block != null && MATERIALS.isWall(block);
     }
 
     /**
      * Check if a block is considered solid
      *
-     * @param block the block
+     * @param block the block, may be {@code null}
      * @return {@code true} if so
      */
     public static boolean isSolid(Block block) {
-        return MATERIALS.isSolid(block);
+        return block != null && MATERIALS.isSolid(block);
     }
 
 }
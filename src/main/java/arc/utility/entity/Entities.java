@@ -80,11 +80,9 @@ public final class Entities {
      * @param playerLocation the player location
      * @param playerPitch    the players pitch
      * @param entityLocation the entity location
-     * @param player         the player
-     * @param entity         the entity
      * @return the pitch
      */
-    public static float getPitchToEntity(Location playerLocation, float playerPitch, Location entityLocation, Player player, Entity entity) {
+    public static float getPitchToEntity(Location playerLocation, float playerPitch, Location entityLocation) {
         final double deltaX = entityLocation.getX() - playerLocation.getX();
         final double deltaY = entityLocation.getY() - playerLocation.getY();
         final double deltaZ = entityLocation.getZ() - playerLocation.getZ();
@@ -46,6 +46,74 @@ public final class MathUtil {
         return Math.sqrt(dx * dx + dz * dz);
     }
 
+    /**
+     * Calculate the 3D distance
+     *
+     * @param fromX from X
+     * @param fromY from Y
+     * @param fromZ from Z
+     * @param toX   to X
+     * @param toY   to Y
+     * @param toZ   to Z
+     * @return the distance
+     */
+    public static double distance(double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        final double dx = toX - fromX;
+        final double dy = toY - fromY;
+        final double dz = toZ - fromZ;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Intersect a ray with a box
+     * Each axis narrows the range of the ray inside the box, the ray hits if the range is not empty.
+     *
+     * @param originX    the ray origin X
+     * @param originY    the ray origin Y
+     * @param originZ    the ray origin Z
+     * @param directionX the ray direction X, normalized
+     * @param directionY the ray direction Y, normalized
+     * @param directionZ the ray direction Z, normalized
+     * @param minX       box min X
+     * @param minY       box min Y
+     * @param minZ       box min Z
+     * @param maxX       box max X
+     * @param maxY       box max Y
+     * @param maxZ       box max Z
+     * @return the distance along the ray to the box, {@code 0} if the origin is inside or {@code -1} if the ray misses.
+     */
+    public static double intercept(double originX, double originY, double originZ,
+                                   double directionX, double directionY, double directionZ,
+                                   double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        double near = 0, far = Double.POSITIVE_INFINITY;
+
+        if (directionX == 0) {
+            if (originX < minX || originX > maxX) return -1;
+        } else {
+            final double a = (minX - originX) / directionX, b = (maxX - originX) / directionX;
+            near = Math.max(near, Math.min(a, b));
+            far = Math.min(far, Math.max(a, b));
+        }
+
+        if (directionY == 0) {
+            if (originY < minY || originY > maxY) return -1;
+        } else {
+            final double a = (minY - originY) / directionY, b = (maxY - originY) / directionY;
+            near = Math.max(near, Math.min(a, b));
+            far = Math.min(far, Math.max(a, b));
+        }
+
+        if (directionZ == 0) {
+            if (originZ < minZ || originZ > maxZ) return -1;
+        } else {
+            final double a = (minZ - originZ) / directionZ, b = (maxZ - originZ) / directionZ;
+            near = Math.max(near, Math.min(a, b));
+            far = Math.min(far, Math.max(a, b));
+        }
+
+        return near <= far ? near : -1;
+    }
+
     public static int clampInt(int value, int min, int max) {
         return Math.max(min, Math.min(max, value));
     }
@@ -0,0 +1,63 @@
+package arc.utility.math;
+
+/**
+ * Sums amounts added within a sliding window of time.
+ * The window is split into a ring of {@link #BUCKETS} buckets, so the sum is accurate to one bucket width.
+ * Not thread safe, meant to be updated by a single thread such as a player's network thread.
+ */
+public final class SlidingWindow {
+
+    /**
+     * The amount of buckets in the ring
+     */
+    public static final int BUCKETS = 10;
+
+    /**
+     * The amount in each bucket
+     */
+    private final long[] amounts = new long[BUCKETS];
+
+    /**
+     * The absolute bucket number each slot currently holds.
+     */
+    private final long[] numbers = new long[BUCKETS];
+
+    /**
+     * The width of a bucket in nanoseconds, 0 if nothing has been added yet.
+     */
+    private long width;
+
+    /**
+     * Add an amount
+     *
+     * @param now    the current {@link System#nanoTime()}
+     * @param amount the amount
+     * @param window the window length in nanoseconds, the window is cleared if this changes.
+     * @return the sum within the window, including this amount.
+     */
+    public long add(long now, long amount, long window) {
+        final long width = Math.max(1, window / BUCKETS);
+        if (this.width != width) {
+            this.width = width;
+            for (int i = 0; i < BUCKETS; i++) {
+                amounts[i] = 0;
+                numbers[i] = Long.MIN_VALUE;
+            }
+        }
+
+        final long number = Math.floorDiv(now, width);
+        final int slot = (int) Math.floorMod(number, (long) BUCKETS);
+        if (numbers[slot] != number) {
+            numbers[slot] = number;
+            amounts[slot] = 0;
+        }
+        amounts[slot] += amount;
+
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (number - numbers[i] < BUCKETS) sum += amounts[i];
+        }
+        return sum;
+    }
+
+}
@@ -1,27 +1,28 @@
 package arc.violation;
 
 import arc.Arc;
+import arc.api.dispatch.EventDispatcher;
+import arc.api.dispatch.PendingViolation;
 import arc.api.events.PlayerViolationEvent;
 import arc.api.events.PostPlayerViolationEvent;
 import arc.check.Check;
+import arc.check.CheckSubType;
 import arc.check.CheckType;
 import arc.check.result.CheckResult;
 import arc.configuration.ArcConfiguration;
 import arc.configuration.Configurable;
+import arc.data.PlayerContext;
 import arc.permissions.Permissions;
 import arc.punishment.PunishmentManager;
+import arc.replay.ReplayManager;
 import arc.violation.result.ViolationResult;
-import bridge.Version;
 import bridge.chat.ChatBridge;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import net.md_5.bungee.api.chat.TextComponent;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.event.Event;
 
 import java.io.Closeable;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,11 +33,6 @@ import java.util.concurrent.TimeUnit;
  */
 public final class ViolationManager extends Configurable implements Closeable {
 
-    /**
-     * Violation history
-     */
-    private final Map<UUID, Violations> history = new ConcurrentHashMap<>();
-
     /**
      * A list of players who can view violations/debug information
      */
@@ -48,9 +44,9 @@ public final class ViolationManager extends Configurable implements Closeable {
     private ChatBridge chatBridge;
 
     /**
-     * If sync events should be used.
+     * The event dispatcher
      */
-    private boolean useSyncEvents;
+    private EventDispatcher eventDispatcher;
 
     /**
      * Keeps track of when to expire history
@@ -62,11 +58,21 @@ public final class ViolationManager extends Configurable implements Closeable {
      */
     private ArcConfiguration configuration;
 
+    /**
+     * The violation level half-life, in milliseconds.
+     */
+    private long halfLife;
+
     /**
      * The punishment manager
      */
     private PunishmentManager punishmentManager;
 
+    /**
+     * The replay manager
+     */
+    private ReplayManager replayManager;
+
     /**
      * Initialize
      *
@@ -75,12 +81,14 @@ public final class ViolationManager extends Configurable implements Closeable {
     public void initialize(ArcConfiguration configuration) {
         this.configuration = configuration;
         this.punishmentManager = Arc.arc().punishment();
+        this.replayManager = Arc.arc().replays();
+        this.halfLife = TimeUnit.SECONDS.toMillis(configuration.violationDecayHalfLife());
 
         historyCache = CacheBuilder.newBuilder()
                 .expireAfterWrite(configuration.violationDataTimeout(), TimeUnit.MINUTES)
                 .build();
 
-        useSyncEvents = Arc.version().isNewerThan(Version.VERSION_1_8);
+        eventDispatcher = Arc.arc().events();
         chatBridge = Arc.bridge().chat();
     }
 
@@ -88,27 +96,25 @@ public final class ViolationManager extends Configurable implements Closeable {
      * Invoked when a player joins
      *
      * @param player the player
+     * @return their violations, cached from when they last left if not expired.
      */
-    public void onPlayerJoin(Player player) {
-        final Violations cached = historyCache.getIfPresent(player.getUniqueId());
-        if (cached != null) {
-            historyCache.invalidate(player.getUniqueId());
-            history.put(player.getUniqueId(), cached);
-        } else {
-            history.put(player.getUniqueId(), new Violations());
-        }
+    public Violations onPlayerJoin(Player player) {
         if (Permissions.canViewViolations(player)) violationViewers.add(player);
+
+        final Violations cached = historyCache.getIfPresent(player.getUniqueId());
+        if (cached == null) return new Violations();
+        historyCache.invalidate(player.getUniqueId());
+        return cached;
     }
 
     /**
      * Invoked when a player leaves
      *
-     * @param player the player
+     * @param context the player context
      */
-    public void onPlayerLeave(Player player) {
-        historyCache.put(player.getUniqueId(), history.get(player.getUniqueId()));
-        history.remove(player.getUniqueId());
-        violationViewers.remove(player);
+    public void onPlayerLeave(PlayerContext context) {
+        historyCache.put(context.player().getUniqueId(), context.violations());
+        violationViewers.remove(context.player());
     }
 
     /**
@@ -119,26 +125,107 @@ public final class ViolationManager extends Configurable implements Closeable {
      * @return the result
      */
     public ViolationResult violation(Player player, Check check, CheckResult result) {
-        final Violations violations = history.get(player.getUniqueId());
-        final int level = violations.incrementViolationLevel(check.type());
+        final PlayerContext context = PlayerContext.get(player);
+        if (context == null) return ViolationResult.EMPTY;
+        return violation(context, check, result);
+    }
+
+    /**
+     * Process a violation
+     *
+     * @param context the player context
+     * @param check   the check
+     * @param result  the result
+     * @return the result
+     */
+    public ViolationResult violation(PlayerContext context, Check check, CheckResult result) {
+        final Player player = context.player();
+        final Violations violations = context.violations();
+        final int level = violations.incrementViolationLevel(check.type(), halfLife);
+        if (result.hasSubType()) violations.incrementViolationLevel(result.subType(), halfLife);
+        // simulated contexts only count violations.
+        if (context.simulated()) return ViolationResult.EMPTY;
+        replayManager.onViolation(context, check, level);
 
         // call our violation event.
         if (configuration.enableEventApi()) {
+            if (!eventDispatcher.canCallInline()) {
+                // the event is dispatched on the main thread, the rest of the violation is handled after it.
+                // whether the packet is cancelled cannot wait for the event.
+                final ViolationResult violationResult = new ViolationResult();
+                if (check.configuration().shouldCancel(level)) violationResult.addResult(ViolationResult.Result.CANCEL);
+                eventDispatcher.dispatchViolation(player, check, result, level, this::onViolationEventDispatched);
+                return violationResult;
+            }
+
             final PlayerViolationEvent event = new PlayerViolationEvent(player, check.type(), level, result);
-            triggerEvent(event);
+            eventDispatcher.dispatch(event);
             // if the event is cancelled, remove the violation level and return no result.
             if (event.isCancelled()) {
                 // reverse.
-                violations.decreaseViolationLevel(check.type());
+                violations.decreaseViolationLevel(check.type(), 1, halfLife);
+                if (result.hasSubType()) violations.decreaseViolationLevel(result.subType(), 1, halfLife);
                 return ViolationResult.EMPTY;
             }
         }
 
-        // create a new result if we haven't cancelled.
         final ViolationResult violationResult = new ViolationResult();
+        if (check.configuration().shouldCancel(level)) violationResult.addResult(ViolationResult.Result.CANCEL);
+        handleViolation(player, check, result, level, level, violationResult);
+        return violationResult;
+    }
+
+    /**
+     * Kick a player for a check outside of its violation levels, such as a packet threshold.
+     * Simulated contexts are never kicked.
+     *
+     * @param context the player context
+     * @param check   the check
+     */
+    public void kick(PlayerContext context, Check check) {
+        if (context.simulated()) return;
+        final Player player = context.player();
+        if (!punishmentManager.hasPendingKick(player)) punishmentManager.kickPlayer(player, check);
+    }
+
+    /**
+     * Invoked once a queued {@link PlayerViolationEvent} has been dispatched.
+     *
+     * @param violation the violation
+     * @param cancelled if the event was cancelled
+     */
+    private void onViolationEventDispatched(PendingViolation violation, boolean cancelled) {
+        final Player player = violation.player();
+        final Check check = violation.check();
+        if (cancelled) {
+            // reverse every coalesced violation.
+            final PlayerContext context = PlayerContext.get(player);
+            if (context != null) {
+                final Violations violations = context.violations();
+                violations.decreaseViolationLevel(check.type(), violation.count(), halfLife);
+                if (violation.result().hasSubType()) violations.decreaseViolationLevel(violation.result().subType(), violation.count(), halfLife);
+            }
+            return;
+        }
+
+        final ViolationResult violationResult = new ViolationResult();
+        if (check.configuration().shouldCancel(violation.lastLevel())) violationResult.addResult(ViolationResult.Result.CANCEL);
+        handleViolation(player, check, violation.result(), violation.firstLevel(), violation.lastLevel(), violationResult);
+    }
 
+    /**
+     * Handle notifying, punishment and the post event for a range of violation levels.
+     *
+     * @param player          the player
+     * @param check           the check
+     * @param result          the latest result
+     * @param firstLevel      the first level
+     * @param lastLevel       the latest level
+     * @param violationResult the result to add to
+     */
+    private void handleViolation(Player player, Check check, CheckResult result, int firstLevel, int lastLevel, ViolationResult violationResult) {
         // handle violation
-        if (check.configuration().shouldNotify(level)) {
+        if (shouldNotify(check, firstLevel, lastLevel)) {
             // add that we are going to notify.
             violationResult.addResult(ViolationResult.Result.NOTIFY);
             // replace the place holders within the message
@@ -146,7 +233,7 @@ public final class ViolationManager extends Configurable implements Closeable {
             final String violationMessage = configuration.violationNotifyMessage()
                     .player(player)
                     .check(check, result.hasSubType() ? "(" + result.subType().prettyName() + ")" : null)
-                    .level(level)
+                    .level(lastLevel)
                     .prefix()
                     .value();
 
@@ -156,43 +243,38 @@ public final class ViolationManager extends Configurable implements Closeable {
             violationViewers.forEach(viewer -> viewer.spigot().sendMessage(component));
         }
 
-        // add a cancel result if this check should cancel.
-        if (check.configuration().shouldCancel(level)) violationResult.addResult(ViolationResult.Result.CANCEL);
-
         // ban the player if this check should ban
-        if (check.configuration().shouldBan(level) && !punishmentManager.hasPendingBan(player)) {
+        if (check.configuration().shouldBan(lastLevel) && !punishmentManager.hasPendingBan(player)) {
             violationResult.addResult(ViolationResult.Result.BAN);
             punishmentManager.banPlayer(player, check);
         }
 
         // kick the player if this check should kick.
-        if (check.configuration().shouldKick(level) && !punishmentManager.hasPendingKick(player)) {
+        if (check.configuration().shouldKick(lastLevel) && !punishmentManager.hasPendingKick(player)) {
             violationResult.addResult(ViolationResult.Result.KICK);
             punishmentManager.kickPlayer(player, check);
         }
 
         // fire the post event
         if (configuration.enableEventApi()) {
-            final PostPlayerViolationEvent postEvent = new PostPlayerViolationEvent(player, violationResult, check.type(), level, result.information());
-            triggerEvent(postEvent);
+            final PostPlayerViolationEvent postEvent = new PostPlayerViolationEvent(player, violationResult, check.type(), lastLevel, result.information());
+            eventDispatcher.dispatch(postEvent);
         }
-
-        return violationResult;
     }
 
     /**
-     * Trigger a bukkit event sync.
-     * TODO: Could cause a problem with a-lot of violations?
-     * TODO: Maybe move it into a queue with a thread constantly processing them.
+     * Check if any level within the range should notify
      *
-     * @param event the event
+     * @param check      the check
+     * @param firstLevel the first level
+     * @param lastLevel  the last level
+     * @return {@code true} if so
      */
-    private void triggerEvent(Event event) {
-        if (useSyncEvents) {
-            Bukkit.getScheduler().runTask(Arc.arc(), () -> Bukkit.getServer().getPluginManager().callEvent(event));
-        } else {
-            Bukkit.getServer().getPluginManager().callEvent(event);
+    private boolean shouldNotify(Check check, int firstLevel, int lastLevel) {
+        for (int level = firstLevel; level <= lastLevel; level++) {
+            if (check.configuration().shouldNotify(level)) return true;
         }
+        return false;
     }
 
     /**
@@ -229,12 +311,26 @@ public final class ViolationManager extends Configurable implements Closeable {
      * @return the level
      */
     public int getViolationLevel(Player player, CheckType check) {
-        return history.get(player.getUniqueId()).getViolationLevel(check);
+        final PlayerContext context = PlayerContext.get(player);
+        return context == null ? 0 : context.violations().getViolationLevel(check, halfLife);
+    }
+
+    /**
+     * Get the violation level of a sub-type
+     *
+     * @param player  the player
+     * @param subType the sub-type
+     * @return the level
+     */
+    public int getViolationLevel(Player player, CheckSubType subType) {
+        final PlayerContext context = PlayerContext.get(player);
+        return context == null ? 0 : context.violations().getViolationLevel(subType, halfLife);
     }
 
     @Override
     public void reload(ArcConfiguration configuration) {
         this.configuration = configuration;
+        this.halfLife = TimeUnit.SECONDS.toMillis(configuration.violationDecayHalfLife());
 
         historyCache.invalidateAll();
         historyCache = CacheBuilder.newBuilder()
@@ -244,7 +340,6 @@ public final class ViolationManager extends Configurable implements Closeable {
 
     @Override
     public void close() {
-        history.clear();
         violationViewers.clear();
         historyCache.invalidateAll();
     }
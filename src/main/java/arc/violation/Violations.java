@@ -1,48 +1,197 @@
 package arc.violation;
 
+import arc.check.CheckSubType;
 import arc.check.CheckType;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
 
 /**
  * Keeps track of player violations
+ * Each slot packs the level (high 32 bits) and the time it was last written (low 32 bits, in 100ms units)
+ * so both can be updated together without locking.
+ * Levels are stored in fixed-point with {@link #FRACTION_BITS} fractional bits and decay exponentially,
+ * the decay is computed when read so no timer is needed. Levels are rounded when read.
  */
 public final class Violations {
 
     /**
-     * Keeps track of violations by check type.
+     * The amount of check types, sub-type slots start after.
      */
-    private final Map<CheckType, Integer> violations = new HashMap<>();
+    private static final int CHECK_TYPES = CheckType.values().length;
+
+    /**
+     * The time unit of the stored timestamp, in milliseconds.
+     */
+    private static final long TIME_UNIT = 100;
+
+    /**
+     * The fractional bits of a stored level, so decay between writes is not lost to rounding.
+     */
+    private static final int FRACTION_BITS = 16;
+
+    /**
+     * A level of one in fixed-point
+     */
+    private static final int ONE = 1 << FRACTION_BITS;
+
+    /**
+     * Violation slots indexed by {@link CheckType} ordinal and then {@link CheckSubType} ordinal.
+     */
+    private final AtomicLongArray violations = new AtomicLongArray(CHECK_TYPES + CheckSubType.values().length);
+
+    /**
+     * The clock, in milliseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The base time for stored timestamps.
+     */
+    private final long created;
+
+    public Violations() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Initialize with a clock
+     *
+     * @param clock the clock, in milliseconds.
+     */
+    Violations(LongSupplier clock) {
+        this.clock = clock;
+        this.created = clock.getAsLong();
+    }
 
     /**
      * Get the violation level for a check
      *
-     * @param check the check
+     * @param check    the check
+     * @param halfLife the decay half-life in milliseconds, {@code 0} to disable.
      * @return the level
      */
-    public int getViolationLevel(CheckType check) {
-        return violations.getOrDefault(check, 0);
+    public int getViolationLevel(CheckType check, long halfLife) {
+        return level(decayed(violations.get(check.ordinal()), halfLife, now()));
+    }
+
+    /**
+     * Get the violation level for a sub-type
+     *
+     * @param subType  the sub-type
+     * @param halfLife the decay half-life in milliseconds, {@code 0} to disable.
+     * @return the level
+     */
+    public int getViolationLevel(CheckSubType subType, long halfLife) {
+        return level(decayed(violations.get(CHECK_TYPES + subType.ordinal()), halfLife, now()));
+    }
+
+    /**
+     * Increment the violation level
+     *
+     * @param check    the check
+     * @param halfLife the decay half-life in milliseconds, {@code 0} to disable.
+     * @return the new level
+     */
+    public int incrementViolationLevel(CheckType check, long halfLife) {
+        return add(check.ordinal(), 1, halfLife);
     }
 
     /**
      * Increment the violation level
      *
-     * @param check the check
+     * @param subType  the sub-type
+     * @param halfLife the decay half-life in milliseconds, {@code 0} to disable.
+     * @return the new level
+     */
+    public int incrementViolationLevel(CheckSubType subType, long halfLife) {
+        return add(CHECK_TYPES + subType.ordinal(), 1, halfLife);
+    }
+
+    /**
+     * Decrease the violation level
+     *
+     * @param check    the check
+     * @param amount   the amount to decrease by
+     * @param halfLife the decay half-life in milliseconds, {@code 0} to disable.
+     */
+    public void decreaseViolationLevel(CheckType check, int amount, long halfLife) {
+        add(check.ordinal(), -amount, halfLife);
+    }
+
+    /**
+     * Decrease the violation level
+     *
+     * @param subType  the sub-type
+     * @param amount   the amount to decrease by
+     * @param halfLife the decay half-life in milliseconds, {@code 0} to disable.
+     */
+    public void decreaseViolationLevel(CheckSubType subType, int amount, long halfLife) {
+        add(CHECK_TYPES + subType.ordinal(), -amount, halfLife);
+    }
+
+    /**
+     * Add to the level within a slot, applying decay first.
+     *
+     * @param slot     the slot
+     * @param amount   the amount
+     * @param halfLife the half-life
+     * @return the new level
      */
-    public int incrementViolationLevel(CheckType check) {
-        final int level = getViolationLevel(check) + 1;
-        violations.put(check, level);
-        return level;
+    private int add(int slot, int amount, long halfLife) {
+        final int now = now();
+        long current;
+        int level;
+        do {
+            current = violations.get(slot);
+            level = (int) Math.max(0, Math.min(Integer.MAX_VALUE, decayed(current, halfLife, now) + (long) amount * ONE));
+        } while (!violations.compareAndSet(slot, current, pack(level, now)));
+        return level(level);
     }
 
     /**
-     * Decrease the violation level by 1.
+     * Get the decayed level of a slot value
      *
-     * @param check the check
+     * @param value    the packed value
+     * @param halfLife the half-life in milliseconds
+     * @param now      the current time in time units
+     * @return the level in fixed-point
+     */
+    private static int decayed(long value, long halfLife, int now) {
+        final int level = (int) (value >>> 32);
+        if (halfLife <= 0 || level == 0) return level;
+
+        final long elapsed = ((now - (int) value) & 0xFFFFFFFFL) * TIME_UNIT;
+        if (elapsed <= 0) return level;
+        return (int) (level * Math.pow(0.5, (double) elapsed / halfLife));
+    }
+
+    /**
+     * Round a fixed-point level
+     *
+     * @param level the level in fixed-point
+     * @return the level
+     */
+    private static int level(int level) {
+        return (level + (ONE >> 1)) >> FRACTION_BITS;
+    }
+
+    /**
+     * Pack a level and time
+     *
+     * @param level the level in fixed-point
+     * @param time  the time in time units
+     * @return the packed value
+     */
+    private static long pack(int level, int time) {
+        return ((long) level << 32) | (time & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the current time in time units since this was created.
      */
-    public void decreaseViolationLevel(CheckType check) {
-        violations.put(check, getViolationLevel(check) - 1);
+    private int now() {
+        return (int) ((clock.getAsLong() - created) / TIME_UNIT);
     }
 
 }
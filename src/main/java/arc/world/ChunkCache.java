@@ -0,0 +1,27 @@
+package arc.world;
+
+import org.bukkit.World;
+
+/**
+ * The last chunk a player looked up, see {@link ChunkManager#getChunk(World, int, int, ChunkCache)}
+ * Only used by the thread handling the players packets, so nothing here is shared and a miss does not allocate.
+ */
+public final class ChunkCache {
+
+    /**
+     * The world of the chunk
+     */
+    World world;
+
+    /**
+     * The chunk X and Z
+     * The unload count of the world when the chunk was looked up
+     */
+    int chunkX, chunkZ, unloads;
+
+    /**
+     * The chunk handle or {@code null} if nothing is cached
+     */
+    Object chunk;
+
+}
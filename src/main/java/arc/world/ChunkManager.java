@@ -0,0 +1,184 @@
+package arc.world;
+
+import arc.Arc;
+import bridge.chunks.ChunksBridge;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of loaded chunks so packet threads can look up blocks without loading chunks.
+ * The main thread populates this on chunk load and removes on chunk unload.
+ * Reading is lock-free, a chunk that is not present is "not known" and should be treated as exempt.
+ * <p>
+ * The NMS handle of each chunk is resolved once on load and blocks are read from its sections through the {@link ChunksBridge}.
+ * Bukkit chunks go through the chunk provider which waits on the main thread on newer versions,
+ * and {@link org.bukkit.ChunkSnapshot}s copy the entire chunk and would become stale after every block change.
+ */
+public final class ChunkManager implements Closeable {
+
+    /**
+     * Loaded chunks per world
+     */
+    private final Map<UUID, WorldChunks> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * Chunks bridge
+     */
+    private ChunksBridge bridge;
+
+    /**
+     * Initialize and add all currently loaded chunks.
+     */
+    public void initialize() {
+        bridge = Arc.bridge().chunks();
+        Bukkit.getWorlds().forEach(this::onWorldLoad);
+    }
+
+    /**
+     * Invoked when a world is loaded.
+     *
+     * @param world the world
+     */
+    public void onWorldLoad(World world) {
+        final WorldChunks chunks = worlds.computeIfAbsent(world.getUID(), uuid -> new WorldChunks());
+        for (Chunk chunk : world.getLoadedChunks()) chunks.chunks.put(key(chunk.getX(), chunk.getZ()), bridge.handle(chunk));
+    }
+
+    /**
+     * Invoked when a world is unloaded
+     *
+     * @param world the world
+     */
+    public void onWorldUnload(World world) {
+        worlds.remove(world.getUID());
+    }
+
+    /**
+     * Invoked when a chunk is loaded
+     *
+     * @param chunk the chunk
+     */
+    public void onChunkLoad(Chunk chunk) {
+        worlds.computeIfAbsent(chunk.getWorld().getUID(), uuid -> new WorldChunks())
+                .chunks.put(key(chunk.getX(), chunk.getZ()), bridge.handle(chunk));
+    }
+
+    /**
+     * Invoked when a chunk is unloaded
+     *
+     * @param chunk the chunk
+     */
+    public void onChunkUnload(Chunk chunk) {
+        final WorldChunks chunks = worlds.get(chunk.getWorld().getUID());
+        if (chunks == null) return;
+        chunks.chunks.remove(key(chunk.getX(), chunk.getZ()));
+        // invalidate the cached chunk, after it is removed so a lookup racing this cannot cache it again.
+        chunks.unloads++;
+    }
+
+    /**
+     * Get a chunk handle
+     * A move usually probes the same chunk a few times in a row, so the last chunk is kept within {@code cache}
+     *
+     * @param world  the world
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @param cache  the cache of the player looking up the chunk, may be {@code null}
+     * @return the chunk handle or {@code null} if it is not known.
+     */
+    public Object getChunk(World world, int chunkX, int chunkZ, ChunkCache cache) {
+        final WorldChunks chunks = worlds.get(world.getUID());
+        if (chunks == null) return null;
+
+        // read the unload count first, a chunk unloaded after this is never cached.
+        final int unloads = chunks.unloads;
+        if (cache != null && cache.chunk != null && cache.world == world
+                && cache.chunkX == chunkX && cache.chunkZ == chunkZ && cache.unloads == unloads) return cache.chunk;
+
+        final Object chunk = chunks.chunks.get(key(chunkX, chunkZ));
+        if (chunk != null && cache != null) {
+            cache.world = world;
+            cache.chunkX = chunkX;
+            cache.chunkZ = chunkZ;
+            cache.unloads = unloads;
+            cache.chunk = chunk;
+        }
+        return chunk;
+    }
+
+    /**
+     * Get the type of a block within a chunk
+     *
+     * @param chunk     the chunk handle
+     * @param x         X within the chunk
+     * @param y         Y
+     * @param z         Z within the chunk
+     * @param maxHeight the max height of the world
+     * @return the type or {@code null} if {@code y} is out of bounds.
+     */
+    public Material getType(Object chunk, int x, int y, int z, int maxHeight) {
+        if (y < 0 || y >= maxHeight) return null;
+        return bridge.type(chunk, x, y, z);
+    }
+
+    /**
+     * Check if every chunk within an area is known
+     *
+     * @param world the world
+     * @param minX  the min block X
+     * @param minZ  the min block Z
+     * @param maxX  the max block X
+     * @param maxZ  the max block Z
+     * @param cache the cache of the player, may be {@code null}
+     * @return {@code true} if so
+     */
+    public boolean isKnown(World world, int minX, int minZ, int maxX, int maxZ, ChunkCache cache) {
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                if (getChunk(world, chunkX, chunkZ, cache) == null) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the key for a chunk
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return the key
+     */
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public void close() {
+        worlds.clear();
+    }
+
+    /**
+     * The loaded chunks of a world
+     */
+    private static final class WorldChunks {
+
+        /**
+         * Loaded chunk handles, keyed by chunk key.
+         */
+        private final Map<Long, Object> chunks = new ConcurrentHashMap<>();
+
+        /**
+         * The amount of chunks unloaded, only written by the main thread.
+         */
+        private volatile int unloads;
+
+    }
+
+}
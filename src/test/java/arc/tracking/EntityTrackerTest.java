@@ -0,0 +1,84 @@
+package arc.tracking;
+
+import bridge.BoundingBox;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public final class EntityTrackerTest {
+
+    /**
+     * A player that can die, respawn and quit.
+     */
+    private static final class TestPlayer {
+
+        private boolean valid = true, online = true;
+
+        private final Player player = (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, arguments) -> {
+                    switch (method.getName()) {
+                        case "getEntityId":
+                            return 42;
+                        case "getType":
+                            return EntityType.PLAYER;
+                        case "isValid":
+                            return valid;
+                        case "isOnline":
+                            return online;
+                        case "getLocation":
+                            return arguments == null ? new Location(null, 0, 64, 0) : arguments[0];
+                        case "getEyeHeight":
+                            return 1.62;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == arguments[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private final EntityTracker tracker = new EntityTracker(entity -> new BoundingBox(-0.3, 64, -0.3, 0.3, 65.8, 0.3));
+
+    @Test
+    public void playerCanBeAttackedAfterRespawning() {
+        final TestPlayer player = new TestPlayer();
+        tracker.add(player.player);
+        tracker.tick();
+        assertNotNull(tracker.resolve(42));
+
+        // dead players are not valid until they respawn.
+        player.valid = false;
+        tracker.tick();
+        assertNotNull(tracker.resolve(42));
+
+        player.valid = true;
+        tracker.onEntitySpawn(player.player);
+        tracker.tick();
+
+        // attacking resolves the target and where it was.
+        final EntityHistory history = tracker.resolve(42);
+        assertNotNull(history);
+        assertNotNull(history.at(System.nanoTime()));
+    }
+
+    @Test
+    public void playerIsRemovedAfterQuitting() {
+        final TestPlayer player = new TestPlayer();
+        tracker.add(player.player);
+        tracker.tick();
+
+        player.valid = false;
+        player.online = false;
+        tracker.tick();
+        assertNull(tracker.resolve(42));
+    }
+
+}
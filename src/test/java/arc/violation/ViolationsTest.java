@@ -0,0 +1,51 @@
+package arc.violation;
+
+import arc.check.CheckType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public final class ViolationsTest {
+
+    /**
+     * Ten seconds
+     */
+    private static final long HALF_LIFE = 10_000;
+
+    /**
+     * The current time
+     */
+    private long now = 1_000_000;
+
+    private final Violations violations = new Violations(() -> now);
+
+    @Test
+    public void spacedViolationsAccumulate() {
+        for (int i = 1; i <= 5; i++) {
+            now += 200;
+            violations.incrementViolationLevel(CheckType.NOFALL, HALF_LIFE);
+        }
+
+        assertEquals(5, violations.getViolationLevel(CheckType.NOFALL, HALF_LIFE));
+    }
+
+    @Test
+    public void levelHalvesEveryHalfLife() {
+        for (int i = 0; i < 8; i++) violations.incrementViolationLevel(CheckType.NOFALL, HALF_LIFE);
+
+        now += HALF_LIFE;
+        assertEquals(4, violations.getViolationLevel(CheckType.NOFALL, HALF_LIFE));
+        now += HALF_LIFE;
+        assertEquals(2, violations.getViolationLevel(CheckType.NOFALL, HALF_LIFE));
+    }
+
+    @Test
+    public void decreaseDoesNotGoBelowZero() {
+        violations.incrementViolationLevel(CheckType.NOFALL, HALF_LIFE);
+        violations.decreaseViolationLevel(CheckType.NOFALL, 5, HALF_LIFE);
+
+        assertEquals(0, violations.getViolationLevel(CheckType.NOFALL, HALF_LIFE));
+        assertEquals(1, violations.incrementViolationLevel(CheckType.NOFALL, HALF_LIFE));
+    }
+
+}